@@ -0,0 +1,94 @@
+package com.myshop.benchmark;
+
+import com.myshop.domain.value.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkout total and cart line totals, BigDecimal arithmetic against Money minor units.
+ * Run with {@code mvn -P benchmark test-compile exec:exec -Djmh.args="MoneyBenchmark -prof gc"};
+ * {@code gc.alloc.rate.norm} is the allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    @Param({"5", "50"})
+    private int lines;
+
+    private BigDecimal[] decimalPrices;
+    private Money[] moneyPrices;
+    private int[] quantities;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        decimalPrices = new BigDecimal[lines];
+        moneyPrices = new Money[lines];
+        quantities = new int[lines];
+        for (int i = 0; i < lines; i++) {
+            BigDecimal price = BigDecimal.valueOf(100 + random.nextInt(500_000), 2);
+            decimalPrices[i] = price;
+            moneyPrices[i] = Money.of(price);
+            quantities[i] = 1 + random.nextInt(20);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal checkoutTotalBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            total = total.add(decimalPrices[i].multiply(BigDecimal.valueOf(quantities[i])));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money checkoutTotalMoney() {
+        long total = 0;
+        for (int i = 0; i < lines; i++) {
+            total = Math.addExact(total, Money.lineTotal(moneyPrices[i].getMinorUnits(), quantities[i]));
+        }
+        return Money.ofMinor(total);
+    }
+
+    @Benchmark
+    public void cartLineTotalsBigDecimal(Blackhole blackhole) {
+        for (int i = 0; i < lines; i++) {
+            blackhole.consume(decimalPrices[i].multiply(BigDecimal.valueOf(quantities[i])));
+        }
+    }
+
+    @Benchmark
+    public void cartLineTotalsMoney(Blackhole blackhole) {
+        for (int i = 0; i < lines; i++) {
+            blackhole.consume(Money.lineTotal(moneyPrices[i].getMinorUnits(), quantities[i]));
+        }
+    }
+
+    // what DtoMapper.toCartItemResponse pays: one BigDecimal per line, built at the JSON edge
+    @Benchmark
+    public void cartLineTotalsMoneyToResponse(Blackhole blackhole) {
+        for (int i = 0; i < lines; i++) {
+            blackhole.consume(BigDecimal.valueOf(Money.lineTotal(moneyPrices[i].getMinorUnits(), quantities[i]), Money.SCALE));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.myshop.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * A small pool of its own for order exports: same database as the application, but its connections may
+ * carry driver settings only a long forward-only read wants (server-side cursors), and a download holding
+ * one for minutes never starves the request pool. None of these beans are default candidates, so the
+ * auto-configured DataSource, JdbcTemplate and transaction manager stay in place for everything else.
+ */
+@Configuration
+public class ExportDataSourceConfig {
+
+    public static final String EXPORT = "export";
+    public static final String TRANSACTION_MANAGER = "exportTransactionManager";
+
+    // rows per round trip once the driver reads through a cursor
+    private static final int FETCH_SIZE = 500;
+
+    @Bean(defaultCandidate = false)
+    @Qualifier(EXPORT)
+    @ConfigurationProperties("myshop.export.datasource")
+    public HikariDataSource exportDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("export");
+        return dataSource;
+    }
+
+    @Bean(defaultCandidate = false)
+    @Qualifier(EXPORT)
+    public JdbcTemplate exportJdbcTemplate(@Qualifier(EXPORT) DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(FETCH_SIZE);
+        return jdbcTemplate;
+    }
+
+    @Bean(name = TRANSACTION_MANAGER, defaultCandidate = false)
+    public DataSourceTransactionManager exportTransactionManager(@Qualifier(EXPORT) DataSource dataSource) {
+        return new DataSourceTransactionManager(dataSource);
+    }
+}
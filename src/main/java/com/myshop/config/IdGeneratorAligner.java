@@ -0,0 +1,73 @@
+package com.myshop.config;
+
+import com.myshop.domain.entity.IdGenerators;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Raises every {@link IdGenerators} segment past the highest id already stored for it (archive tables
+ * included) before the application handles traffic, so pooled ids never collide with rows written
+ * under the previous auto-increment ids. Only ever moves a segment forward, so concurrent startups are safe.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdGeneratorAligner implements SmartInitializingSingleton {
+
+    // segment -> "table.column" pairs whose ids it must stay above
+    private static final Map<String, List<String>> SEGMENTS = Map.of(
+            "orders", List.of("orders.order_id", "archived_orders.order_id"),
+            "order_items", List.of("order_items.order_item_id", "archived_order_items.order_item_id"),
+            "payments", List.of("payments.payment_id", "archived_orders.payment_id"),
+            "cart_items", List.of("cart_items.cart_item_id"),
+            "reviews", List.of("reviews.review_id"));
+
+    private static final String RAISE_SQL = "UPDATE %s SET %s = ? WHERE %s = ? AND %s < ?"
+            .formatted(IdGenerators.TABLE, IdGenerators.VALUE_COLUMN, IdGenerators.SEGMENT_COLUMN, IdGenerators.VALUE_COLUMN);
+
+    private static final String EXISTS_SQL = "SELECT COUNT(*) FROM %s WHERE %s = ?"
+            .formatted(IdGenerators.TABLE, IdGenerators.SEGMENT_COLUMN);
+
+    private static final String INSERT_SQL = "INSERT INTO %s (%s, %s) VALUES (?, ?)"
+            .formatted(IdGenerators.TABLE, IdGenerators.SEGMENT_COLUMN, IdGenerators.VALUE_COLUMN);
+
+    private final JdbcTemplate jdbcTemplate;
+    // injected so the schema, id_generators included, exists before the segments are aligned
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        SEGMENTS.forEach((segment, columns) -> align(segment, nextFreeId(columns)));
+    }
+
+    private long nextFreeId(List<String> columns) {
+        long max = 0;
+        for (String column : columns) {
+            String[] parts = column.split("\\.");
+            Long value = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(MAX(%s), 0) FROM %s".formatted(parts[1], parts[0]), Long.class);
+            max = Math.max(max, value != null ? value : 0);
+        }
+        return max + 1;
+    }
+
+    private void align(String segment, long nextId) {
+        jdbcTemplate.update(RAISE_SQL, nextId, segment, nextId);
+        Integer rows = jdbcTemplate.queryForObject(EXISTS_SQL, Integer.class, segment);
+        if (rows != null && rows > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(INSERT_SQL, segment, nextId);
+        } catch (DuplicateKeyException e) {
+            // another node created the row first
+            jdbcTemplate.update(RAISE_SQL, nextId, segment, nextId);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.myshop.config;
+
+import com.myshop.service.IdempotencyService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyService idempotencyService,
+            @Value("${myshop.idempotency.wait-timeout-ms:10000}") long waitTimeoutMs) {
+        FilterRegistrationBean<IdempotencyFilter> registration =
+                new FilterRegistrationBean<>(new IdempotencyFilter(idempotencyService, waitTimeoutMs));
+        registration.addUrlPatterns("/api/orders/checkout", "/api/payment/create-payment-intent");
+        return registration;
+    }
+}
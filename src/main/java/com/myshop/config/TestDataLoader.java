@@ -4,6 +4,7 @@ import com.myshop.domain.entity.Category;
 import com.myshop.domain.entity.Product;
 import com.myshop.domain.entity.User;
 import com.myshop.domain.enums.UserRole;
+import com.myshop.domain.value.Money;
 import com.myshop.repository.CategoryRepository;
 import com.myshop.repository.ProductRepository;
 import com.myshop.repository.UserRepository;
@@ -11,8 +12,6 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-
 @Component
 public class TestDataLoader implements CommandLineRunner {
 
@@ -63,7 +62,7 @@ public class TestDataLoader implements CommandLineRunner {
             Product product1 = Product.builder()
                     .name("Produit Test 1")
                     .description("Description du produit test 1")
-                    .price(new BigDecimal("100.00"))
+                    .price(Money.of("100.00"))
                     .stockQuantity(10)
                     .category(category) // ⚠️ Obligatoire
                     .build();
@@ -71,7 +70,7 @@ public class TestDataLoader implements CommandLineRunner {
             Product product2 = Product.builder()
                     .name("Produit Test 2")
                     .description("Description du produit test 2")
-                    .price(new BigDecimal("50.00"))
+                    .price(Money.of("50.00"))
                     .stockQuantity(20)
                     .category(category) // ⚠️ Obligatoire
                     .build();
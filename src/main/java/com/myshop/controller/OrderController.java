@@ -1,12 +1,39 @@
 package com.myshop.controller;
 
+import com.myshop.domain.enums.ExportFormat;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.dto.request.BulkOrderStatusUpdateRequest;
 import com.myshop.dto.request.CheckoutRequest;
+import com.myshop.dto.request.OrderSearchRequest;
 import com.myshop.dto.request.OrderStatusUpdateRequest;
+import com.myshop.dto.response.AdminOrderSummaryResponse;
+import com.myshop.dto.response.BulkOrderStatusUpdateResponse;
+import com.myshop.dto.response.CheckoutTicketResponse;
+import com.myshop.dto.response.OrderArchiveResponse;
+import com.myshop.dto.response.OrderAutoCancelResponse;
+import com.myshop.dto.response.OrderHistoryResponse;
+import com.myshop.dto.response.OrderItemSnapshotBackfillResponse;
 import com.myshop.dto.response.OrderResponse;
+import com.myshop.dto.response.OrderSummaryBackfillResponse;
+import com.myshop.dto.response.PageResponse;
+import com.myshop.service.AsyncCheckoutService;
+import com.myshop.service.CheckoutCoalescer;
+import com.myshop.service.OrderArchiveService;
+import com.myshop.service.OrderAutoCancelService;
+import com.myshop.service.OrderExportService;
+import com.myshop.service.OrderItemSnapshotService;
 import com.myshop.service.OrderService;
+import com.myshop.service.OrderStatusStreamService;
+import com.myshop.service.OrderSummaryService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -16,19 +43,63 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/orders")
 @RequiredArgsConstructor
 public class OrderController {
 
+    private static final Set<String> ADMIN_SORT_PROPERTIES = Set.of("createdAt", "totalAmount");
+    private static final int MAX_ADMIN_PAGE_SIZE = 200;
+    private static final String EXPORT_TIMEOUT_KEY = OrderController.class.getName() + ".exportTimeout";
+
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final CheckoutCoalescer checkoutCoalescer;
+    private final AsyncCheckoutService asyncCheckoutService;
+    private final OrderSummaryService orderSummaryService;
+    private final OrderArchiveService orderArchiveService;
+    private final OrderAutoCancelService orderAutoCancelService;
+    private final OrderItemSnapshotService orderItemSnapshotService;
+    private final OrderStatusStreamService orderStatusStreamService;
+
+    @Value("${myshop.export.timeout-ms:1800000}")
+    private long exportTimeoutMs = 1800000;
 
     @PostMapping("/checkout")
-    public ResponseEntity<OrderResponse> checkout(@Valid @RequestBody CheckoutRequest request) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(orderService.checkout(request));
+    public ResponseEntity<?> checkout(@Valid @RequestBody CheckoutRequest request) {
+        if (asyncCheckoutService.isEnabled()) {
+            CheckoutTicketResponse ticket = asyncCheckoutService.submit(request);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/orders/checkout/" + ticket.getToken()))
+                    .body(ticket);
+        }
+        OrderResponse order = checkoutCoalescer.isEnabled()
+                ? checkoutCoalescer.checkout(request)
+                : orderService.checkout(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(order);
+    }
+
+    @GetMapping("/checkout/{token}")
+    public CompletableFuture<ResponseEntity<CheckoutTicketResponse>> getCheckoutTicket(
+            @PathVariable String token,
+            @RequestParam(defaultValue = "0") long waitMs) {
+        return asyncCheckoutService.getTicket(token, waitMs).thenApply(ResponseEntity::ok);
     }
 
     @GetMapping("/{orderId}")
@@ -36,6 +107,11 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getOrder(orderId));
     }
 
+    @GetMapping(value = "/{orderId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderStatus(@PathVariable Long orderId) {
+        return orderStatusStreamService.subscribe(orderId);
+    }
+
     @GetMapping
     public ResponseEntity<List<OrderResponse>> listOrders(@RequestParam(required = false) Long userId) {
         if (userId != null) {
@@ -44,10 +120,94 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getAllOrders());
     }
 
+    @GetMapping("/history")
+    public ResponseEntity<OrderHistoryResponse> getOrderHistory(@RequestParam Long userId,
+                                                                @RequestParam(required = false) Instant beforeCreatedAt,
+                                                                @RequestParam(required = false) Long beforeId,
+                                                                @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(orderService.getOrderHistory(userId, beforeCreatedAt, beforeId, size));
+    }
+
+    @GetMapping("/admin")
+    public ResponseEntity<PageResponse<AdminOrderSummaryResponse>> searchOrders(
+            OrderSearchRequest criteria,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDirection) {
+
+        String property = ADMIN_SORT_PROPERTIES.contains(sortBy) ? sortBy : "createdAt";
+        Sort.Direction direction = "asc".equalsIgnoreCase(sortDirection)
+                ? Sort.Direction.ASC
+                : Sort.Direction.DESC;
+        Sort sort = Sort.by(direction, property).and(Sort.by(direction, "id"));
+        PageRequest pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_ADMIN_PAGE_SIZE), sort);
+
+        return ResponseEntity.ok(orderService.searchOrders(criteria, pageable));
+    }
+
+    @GetMapping("/admin/counts")
+    public ResponseEntity<Map<OrderStatus, Long>> countOrdersByStatus(
+            @RequestParam(required = false) Instant createdFrom,
+            @RequestParam(required = false) Instant createdTo) {
+        return ResponseEntity.ok(orderService.countOrdersByStatus(createdFrom, createdTo));
+    }
+
+    @PostMapping("/admin/summaries/backfill")
+    public ResponseEntity<OrderSummaryBackfillResponse> backfillSummaries() {
+        return ResponseEntity.ok(orderSummaryService.backfill());
+    }
+
+    @PostMapping("/admin/items/snapshots/backfill")
+    public ResponseEntity<OrderItemSnapshotBackfillResponse> backfillItemSnapshots() {
+        return ResponseEntity.ok(orderItemSnapshotService.backfill());
+    }
+
+    @PostMapping("/admin/archive")
+    public ResponseEntity<OrderArchiveResponse> archiveOrders() {
+        return ResponseEntity.ok(orderArchiveService.archive());
+    }
+
+    @PostMapping("/admin/auto-cancel")
+    public ResponseEntity<OrderAutoCancelResponse> cancelStaleOrders() {
+        return ResponseEntity.ok(orderAutoCancelService.cancelStaleOrders());
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam Instant createdFrom,
+                                                              @RequestParam Instant createdTo,
+                                                              @RequestParam(defaultValue = "CSV") ExportFormat format,
+                                                              HttpServletRequest request) {
+        if (!createdFrom.isBefore(createdTo)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "createdFrom must be before createdTo");
+        }
+        // the download lasts as long as the result set; only this request gets the long async timeout
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(EXPORT_TIMEOUT_KEY,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest asyncRequest, Callable<T> task) {
+                        ((AsyncWebRequest) asyncRequest).setTimeout(exportTimeoutMs);
+                    }
+                });
+        StreamingResponseBody body = out -> orderExportService.exportOrders(createdFrom, createdTo, format, out);
+        String extension = format == ExportFormat.NDJSON ? "ndjson" : "csv";
+        MediaType mediaType = format == ExportFormat.NDJSON
+                ? MediaType.parseMediaType("application/x-ndjson")
+                : MediaType.parseMediaType("text/csv");
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders." + extension + "\"")
+                .body(body);
+    }
+
     @PatchMapping("/{orderId}/status")
     public ResponseEntity<OrderResponse> updateStatus(@PathVariable Long orderId,
                                                       @Valid @RequestBody OrderStatusUpdateRequest request) {
         return ResponseEntity.ok(orderService.updateOrderStatus(orderId, request));
     }
-}
 
+    @PatchMapping("/status")
+    public ResponseEntity<BulkOrderStatusUpdateResponse> bulkUpdateStatus(@Valid @RequestBody BulkOrderStatusUpdateRequest request) {
+        return ResponseEntity.ok(orderService.bulkUpdateOrderStatus(request));
+    }
+}
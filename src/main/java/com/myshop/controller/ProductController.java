@@ -1,6 +1,7 @@
 package com.myshop.controller;
 
 import com.myshop.dto.request.CreateProductRequest;
+import com.myshop.dto.request.InventoryShardRequest;
 import com.myshop.dto.request.UpdateProductRequest;
 import com.myshop.dto.response.ProductResponse;
 import com.myshop.service.ProductService;
@@ -65,6 +66,12 @@ public class ProductController {
         return ResponseEntity.ok(productService.updateProduct(id, request));
     }
 
+    @PutMapping("/{id}/inventory-shards")
+    public ResponseEntity<ProductResponse> shardInventory(@PathVariable Long id,
+                                                          @Valid @RequestBody InventoryShardRequest request) {
+        return ResponseEntity.ok(productService.shardInventory(id, request));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
         productService.deleteProduct(id);
@@ -0,0 +1,47 @@
+package com.myshop.controller;
+
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.dto.response.SalesKpiResponse;
+import com.myshop.dto.response.SalesReportResponse;
+import com.myshop.dto.response.SalesRollupRebuildResponse;
+import com.myshop.service.SalesKpiService;
+import com.myshop.service.SalesRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final SalesRollupService salesRollupService;
+    private final SalesKpiService salesKpiService;
+
+    @GetMapping("/sales")
+    public ResponseEntity<SalesReportResponse> sales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) OrderPaymentMethod paymentMethod) {
+        return ResponseEntity.ok(salesRollupService.report(from, to, paymentMethod));
+    }
+
+    @PostMapping("/sales/rebuild")
+    public ResponseEntity<SalesRollupRebuildResponse> rebuildSales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(salesRollupService.rebuild(from, to));
+    }
+
+    @GetMapping("/kpis")
+    public ResponseEntity<SalesKpiResponse> kpis() {
+        return ResponseEntity.ok(salesKpiService.snapshot());
+    }
+}
@@ -0,0 +1,102 @@
+package com.myshop.domain.entity;
+
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentGateway;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.domain.value.Money;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A CANCELLED or paid DELIVERED order moved out of {@code orders} by the archival job, with its payment
+ * folded into the same row. Read-only once written.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "archived_orders", indexes = {
+        @Index(name = "idx_archived_orders_user_created", columnList = "user_id, created_at, order_id"),
+        @Index(name = "idx_archived_orders_created", columnList = "created_at")
+})
+public class ArchivedOrder {
+
+    @Id
+    @Column(name = "order_id")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
+    private Money totalAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_status", nullable = false, length = 20)
+    private OrderStatus orderStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_method", nullable = false, length = 30)
+    private OrderPaymentMethod paymentMethod;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_status", nullable = false, length = 20)
+    private PaymentStatus paymentStatus;
+
+    @Column(name = "shipping_name", nullable = false, length = 150)
+    private String shippingName;
+
+    @Column(name = "shipping_address", nullable = false, length = 255)
+    private String shippingAddress;
+
+    @Column(name = "shipping_phone", nullable = false, length = 20)
+    private String shippingPhone;
+
+    @Column(name = "shipping_email", nullable = false, length = 100)
+    private String shippingEmail;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    @Column(name = "payment_id")
+    private Long paymentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_gateway", length = 20)
+    private PaymentGateway paymentGateway;
+
+    @Column(name = "payment_amount", precision = 10, scale = 2)
+    private BigDecimal paymentAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_record_status", length = 20)
+    private PaymentStatus paymentRecordStatus;
+
+    @Column(name = "transaction_reference", length = 255)
+    private String transactionReference;
+
+    @Column(name = "payment_date")
+    private Instant paymentDate;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+}
@@ -0,0 +1,53 @@
+package com.myshop.domain.entity;
+
+import com.myshop.domain.value.Money;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "archived_order_items", indexes = {
+        @Index(name = "idx_archived_order_items_order", columnList = "order_id")
+})
+public class ArchivedOrderItem {
+
+    @Id
+    @Column(name = "order_item_id")
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(name = "unit_price", nullable = false, precision = 10, scale = 2)
+    private Money unitPrice;
+
+    @Column(name = "product_name", length = 150)
+    private String productName;
+
+    @Column(name = "product_image_url", length = 255)
+    private String productImageUrl;
+
+    @Column(name = "category_name", length = 100)
+    private String categoryName;
+
+    @Column(name = "category_id")
+    private Long categoryId;
+}
@@ -0,0 +1,77 @@
+package com.myshop.domain.entity;
+
+import com.myshop.domain.enums.CheckoutTicketStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "checkout_tickets",
+        uniqueConstraints = @UniqueConstraint(name = "uk_checkout_tickets_token", columnNames = "token"),
+        indexes = {
+                @Index(name = "idx_checkout_tickets_status_next_attempt", columnList = "status, next_attempt_at"),
+                @Index(name = "idx_checkout_tickets_completed", columnList = "completed_at")
+        })
+public class CheckoutTicket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ticket_id")
+    private Long id;
+
+    @Column(nullable = false, length = 36)
+    private String token;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private CheckoutTicketStatus status;
+
+    // the CheckoutRequest as JSON, so any node can place the order
+    @Column(name = "request", nullable = false, columnDefinition = "TEXT")
+    private String request;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // set by each claim; only the attempt holding it may record the outcome
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    // when the ticket is next due: the retry time while QUEUED, the claim expiry while PROCESSING
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "error_status")
+    private Integer errorStatus;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "submitted_at", nullable = false)
+    private Instant submittedAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+}
@@ -0,0 +1,70 @@
+package com.myshop.domain.entity;
+
+import com.myshop.domain.enums.OrderPaymentMethod;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Per-day sales rollup, bucketed by the UTC creation date of the orders it counts. Each day and
+ * payment method is striped over {@code slot} rows (order id modulo the slot count) so concurrent
+ * checkouts do not queue on one hot row; readers sum the slots.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "daily_sales",
+        uniqueConstraints = @UniqueConstraint(name = "uk_daily_sales_day_method_slot",
+                columnNames = {"sales_date", "payment_method", "slot"}))
+public class DailySales {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "daily_sales_id")
+    private Long id;
+
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_method", nullable = false, length = 30)
+    private OrderPaymentMethod paymentMethod;
+
+    @Column(nullable = false)
+    private Integer slot;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(name = "paid_order_count", nullable = false)
+    private Long paidOrderCount;
+
+    @Column(name = "paid_revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal paidRevenue;
+
+    @Column(name = "cancelled_order_count", nullable = false)
+    private Long cancelledOrderCount;
+
+    @Column(name = "cancelled_revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal cancelledRevenue;
+}
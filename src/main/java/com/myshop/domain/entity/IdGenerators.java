@@ -0,0 +1,17 @@
+package com.myshop.domain.entity;
+
+/**
+ * Table-backed pooled id generators shared by the high-volume entities (MySQL has no sequences).
+ * Each {@code sequence_name} row holds the next free id of one table; a node reserves
+ * {@link #ALLOCATION_SIZE} ids per round trip, so Hibernate knows ids before inserting and can batch.
+ */
+public final class IdGenerators {
+
+    public static final String TABLE = "id_generators";
+    public static final String SEGMENT_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {
+    }
+}
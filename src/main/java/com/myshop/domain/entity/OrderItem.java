@@ -1,33 +1,39 @@
 package com.myshop.domain.entity;
 
+import com.myshop.domain.value.Money;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.math.BigDecimal;
-
 @Getter
 @Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "order_items")
+@Table(name = "order_items", indexes = {
+        @Index(name = "idx_order_items_stock_pending", columnList = "stock_pending, product_id")
+})
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_item_ids")
+    @TableGenerator(name = "order_item_ids", table = IdGenerators.TABLE, pkColumnName = IdGenerators.SEGMENT_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "order_items",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "order_item_id")
     private Long id;
 
@@ -43,6 +49,25 @@ public class OrderItem {
     private Integer quantity;
 
     @Column(name = "unit_price", nullable = false, precision = 10, scale = 2)
-    private BigDecimal unitPrice;
+    private Money unitPrice;
+
+    // snapshot taken at checkout so order reads never join products and survive later renames
+    @Column(name = "product_name", length = 150)
+    private String productName;
+
+    @Column(name = "product_image_url", length = 255)
+    private String productImageUrl;
+
+    @Column(name = "category_name", length = 100)
+    private String categoryName;
+
+    // category the line sold under; sales rollups group by it, so moving a product does not rewrite history
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    // reserved from an in-memory hot-product counter and not yet subtracted from products.stock_quantity
+    @Column(name = "stock_pending", nullable = false, columnDefinition = "boolean default false")
+    @Builder.Default
+    private boolean stockPending = false;
 }
 
@@ -1,5 +1,6 @@
 package com.myshop.domain.entity;
 
+import com.myshop.domain.value.Money;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -16,10 +17,10 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -31,6 +32,7 @@ import java.util.List;
 @AllArgsConstructor
 @Entity
 @Table(name = "products")
+@BatchSize(size = 100)
 public class Product {
 
     @Id
@@ -49,11 +51,16 @@ public class Product {
     private String description;
 
     @Column(nullable = false, precision = 10, scale = 2)
-    private BigDecimal price;
+    private Money price;
 
     @Column(name = "stock_quantity", nullable = false)
     private Integer stockQuantity;
 
+    // > 0 when stock is split across product_inventory_shards; stock_quantity then holds only overflow
+    @Column(name = "inventory_shard_count", nullable = false, columnDefinition = "integer default 0")
+    @Builder.Default
+    private Integer inventoryShardCount = 0;
+
     @Column(name = "image_url", length = 255)
     private String imageUrl;
 
@@ -0,0 +1,42 @@
+package com.myshop.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "scheduler_leases",
+        uniqueConstraints = @UniqueConstraint(name = "uk_scheduler_leases_name", columnNames = "lease_name"))
+public class SchedulerLease {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "lease_id")
+    private Long id;
+
+    @Column(name = "lease_name", nullable = false, length = 64)
+    private String name;
+
+    // node that holds the lease until expires_at
+    @Column(nullable = false, length = 64)
+    private String holder;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
@@ -0,0 +1,8 @@
+package com.myshop.domain.enums;
+
+public enum CheckoutTicketStatus {
+    QUEUED,
+    PROCESSING,
+    COMPLETED,
+    FAILED
+}
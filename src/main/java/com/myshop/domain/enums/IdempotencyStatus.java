@@ -0,0 +1,6 @@
+package com.myshop.domain.enums;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
@@ -5,6 +5,26 @@ public enum OrderStatus {
     PROCESSING,
     PAID,
     DELIVERED,
-    CANCELLED
-}
+    CANCELLED;
+
+    /**
+     * The order state machine: whether an order in this status may move to {@code target}. Staying in
+     * the same status is a transition too, used to record a payment status.
+     */
+    public boolean canTransitionTo(OrderStatus target) {
+        return switch (this) {
+            case PENDING -> true;
+            case PROCESSING, PAID -> target != PENDING;
+            case DELIVERED -> target == DELIVERED;
+            case CANCELLED -> false;
+        };
+    }
 
+    /**
+     * Terminal orders accept no transition at all: cancelled ones, and deliveries whose payment succeeded.
+     * A delivery whose payment failed stays open so the payment can still be corrected.
+     */
+    public boolean isTerminal(PaymentStatus paymentStatus) {
+        return this == CANCELLED || (this == DELIVERED && paymentStatus == PaymentStatus.SUCCESS);
+    }
+}
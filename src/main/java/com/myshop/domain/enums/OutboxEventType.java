@@ -0,0 +1,6 @@
+package com.myshop.domain.enums;
+
+public enum OutboxEventType {
+    ORDER_PLACED,
+    ORDER_STATUS_CHANGED
+}
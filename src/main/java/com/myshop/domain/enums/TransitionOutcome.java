@@ -0,0 +1,8 @@
+package com.myshop.domain.enums;
+
+public enum TransitionOutcome {
+    UPDATED,
+    REJECTED,
+    NOT_FOUND,
+    CONFLICT
+}
@@ -0,0 +1,128 @@
+package com.myshop.domain.value;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * Immutable amount held as a {@code long} count of minor units (centimes). Loops that add up many
+ * amounts should work on {@link #getMinorUnits()} with the static helpers and build a {@code Money}
+ * once at the end; only the API edge converts back to {@link BigDecimal}.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("MAD");
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0, DEFAULT_CURRENCY);
+
+    private final long minorUnits;
+    private final Currency currency;
+
+    private Money(long minorUnits, Currency currency) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits, DEFAULT_CURRENCY);
+    }
+
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        if (currency.getDefaultFractionDigits() != SCALE) {
+            throw new IllegalArgumentException("Unsupported currency " + currency);
+        }
+        return new Money(minorUnits, currency);
+    }
+
+    /**
+     * @throws ArithmeticException if {@code amount} has more than two decimals or does not fit in a long
+     */
+    public static Money of(BigDecimal amount) {
+        return ofMinor(toMinorUnits(amount));
+    }
+
+    public static Money of(String amount) {
+        return of(new BigDecimal(amount));
+    }
+
+    /**
+     * Rounds an optional lower bound up to a whole centime, so {@code >=} keeps its meaning; null stays null.
+     */
+    public static Money ceiling(BigDecimal amount) {
+        return amount == null ? null : ofMinor(amount.setScale(SCALE, RoundingMode.CEILING).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Rounds an optional upper bound down to a whole centime, so {@code <=} keeps its meaning; null stays null.
+     */
+    public static Money floor(BigDecimal amount) {
+        return amount == null ? null : ofMinor(amount.setScale(SCALE, RoundingMode.FLOOR).unscaledValue().longValueExact());
+    }
+
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    public static long lineTotal(long unitMinorUnits, int quantity) {
+        return Math.multiplyExact(unitMinorUnits, quantity);
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money times(int quantity) {
+        return new Money(lineTotal(minorUnits, quantity), currency);
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Money other)) {
+            return false;
+        }
+        return minorUnits == other.minorUnits && currency.equals(other.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(minorUnits, currency);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency.getCurrencyCode();
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " vs " + other.currency);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.myshop.dto.request;
+
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class BulkOrderStatusUpdateRequest {
+
+    @Size(max = 5000)
+    private List<Long> orderIds;
+
+    @Valid
+    private OrderSearchRequest filter;
+
+    @NotNull
+    private OrderStatus orderStatus;
+
+    private PaymentStatus paymentStatus;
+}
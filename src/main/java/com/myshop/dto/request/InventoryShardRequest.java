@@ -0,0 +1,17 @@
+package com.myshop.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class InventoryShardRequest {
+
+    @NotNull
+    @Min(0)
+    @Max(64)
+    private Integer shardCount;
+}
@@ -0,0 +1,29 @@
+package com.myshop.dto.request;
+
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Getter
+@Setter
+public class OrderSearchRequest {
+
+    private OrderStatus orderStatus;
+
+    private PaymentStatus paymentStatus;
+
+    private OrderPaymentMethod paymentMethod;
+
+    private Instant createdFrom;
+
+    private Instant createdTo;
+
+    private BigDecimal minAmount;
+
+    private BigDecimal maxAmount;
+}
@@ -0,0 +1,24 @@
+package com.myshop.dto.response;
+
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Value
+@Builder
+public class AdminOrderSummaryResponse {
+    Long id;
+    Long userId;
+    OrderStatus orderStatus;
+    PaymentStatus paymentStatus;
+    OrderPaymentMethod paymentMethod;
+    BigDecimal totalAmount;
+    Long itemCount;
+    String firstItemName;
+    Instant createdAt;
+}
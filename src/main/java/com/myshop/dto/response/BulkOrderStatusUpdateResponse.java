@@ -0,0 +1,17 @@
+package com.myshop.dto.response;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class BulkOrderStatusUpdateResponse {
+    int requested;
+    int updated;
+    int rejected;
+    int notFound;
+    int conflicted;
+    List<OrderTransitionResult> results;
+}
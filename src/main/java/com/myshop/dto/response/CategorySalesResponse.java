@@ -0,0 +1,18 @@
+package com.myshop.dto.response;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+@Value
+@Builder
+public class CategorySalesResponse {
+    Long categoryId;
+    String categoryName;
+    long units;
+    BigDecimal revenue;
+    long cancelledUnits;
+    BigDecimal cancelledRevenue;
+    BigDecimal netRevenue;
+}
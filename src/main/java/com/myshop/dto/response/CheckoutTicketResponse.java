@@ -0,0 +1,20 @@
+package com.myshop.dto.response;
+
+import com.myshop.domain.enums.CheckoutTicketStatus;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+@Value
+@Builder
+public class CheckoutTicketResponse {
+    String token;
+    CheckoutTicketStatus status;
+    int attempts;
+    OrderResponse order;
+    Integer errorStatus;
+    String errorMessage;
+    Instant submittedAt;
+    Instant completedAt;
+}
@@ -0,0 +1,20 @@
+package com.myshop.dto.response;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Value
+@Builder
+public class DailySalesResponse {
+    LocalDate date;
+    long orderCount;
+    BigDecimal revenue;
+    long paidOrderCount;
+    BigDecimal paidRevenue;
+    long cancelledOrderCount;
+    BigDecimal cancelledRevenue;
+    BigDecimal netRevenue;
+}
@@ -0,0 +1,15 @@
+package com.myshop.dto.response;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+@Value
+@Builder
+public class OrderAutoCancelResponse {
+    Instant createdBefore;
+    int cancelled;
+    int skipped;
+    int batches;
+}
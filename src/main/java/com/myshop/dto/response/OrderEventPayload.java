@@ -0,0 +1,23 @@
+package com.myshop.dto.response;
+
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.OutboxEventType;
+import com.myshop.domain.enums.PaymentStatus;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Value
+@Builder
+public class OrderEventPayload {
+    OutboxEventType eventType;
+    Long orderId;
+    Long userId;
+    OrderStatus previousStatus;
+    OrderStatus orderStatus;
+    PaymentStatus paymentStatus;
+    BigDecimal totalAmount;
+    Instant occurredAt;
+}
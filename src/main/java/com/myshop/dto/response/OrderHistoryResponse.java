@@ -0,0 +1,16 @@
+package com.myshop.dto.response;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+@Value
+@Builder
+public class OrderHistoryResponse {
+    List<OrderSummaryResponse> orders;
+    boolean hasMore;
+    Instant nextBeforeCreatedAt;
+    Long nextBeforeId;
+}
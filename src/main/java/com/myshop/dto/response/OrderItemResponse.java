@@ -11,6 +11,8 @@ public class OrderItemResponse {
     Long id;
     Long productId;
     String productName;
+    String productImageUrl;
+    String categoryName;
     Integer quantity;
     BigDecimal unitPrice;
 }
@@ -0,0 +1,13 @@
+package com.myshop.dto.response;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class OrderItemSnapshotBackfillResponse {
+    long updated;
+    Long scannedUpToItemId;
+    long archivedUpdated;
+    Long scannedUpToArchivedItemId;
+}
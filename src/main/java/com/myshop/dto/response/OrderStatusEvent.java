@@ -0,0 +1,16 @@
+package com.myshop.dto.response;
+
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class OrderStatusEvent {
+    Long orderId;
+    OrderStatus orderStatus;
+    PaymentStatus paymentStatus;
+    // order row version after the change; null for archived orders
+    Long version;
+}
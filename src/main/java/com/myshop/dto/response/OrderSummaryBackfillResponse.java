@@ -0,0 +1,11 @@
+package com.myshop.dto.response;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class OrderSummaryBackfillResponse {
+    long inserted;
+    Long scannedUpToOrderId;
+}
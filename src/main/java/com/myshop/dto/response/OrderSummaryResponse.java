@@ -0,0 +1,19 @@
+package com.myshop.dto.response;
+
+import com.myshop.domain.enums.OrderStatus;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Value
+@Builder
+public class OrderSummaryResponse {
+    Long id;
+    OrderStatus orderStatus;
+    BigDecimal totalAmount;
+    Long itemCount;
+    String firstItemName;
+    Instant createdAt;
+}
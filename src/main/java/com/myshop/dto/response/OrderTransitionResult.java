@@ -0,0 +1,15 @@
+package com.myshop.dto.response;
+
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.TransitionOutcome;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class OrderTransitionResult {
+    Long orderId;
+    OrderStatus previousStatus;
+    TransitionOutcome outcome;
+    String message;
+}
@@ -0,0 +1,14 @@
+package com.myshop.dto.response;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+@Value
+@Builder
+public class SalesKpiResponse {
+    Instant generatedAt;
+    List<SalesKpiWindowResponse> windows;
+}
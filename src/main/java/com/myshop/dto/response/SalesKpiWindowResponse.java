@@ -0,0 +1,22 @@
+package com.myshop.dto.response;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+@Value
+@Builder
+public class SalesKpiWindowResponse {
+    int minutes;
+    long orders;
+    double ordersPerMinute;
+    BigDecimal revenue;
+    BigDecimal revenuePerMinute;
+    long failedCheckouts;
+    double checkoutFailureRate;
+    BigDecimal averageOrderValue;
+    double averageItemsPerOrder;
+    long cancellations;
+    long paymentsCaptured;
+}
@@ -0,0 +1,24 @@
+package com.myshop.dto.response;
+
+import com.myshop.domain.enums.OrderPaymentMethod;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Value
+@Builder
+public class SalesReportResponse {
+    LocalDate from;
+    LocalDate to;
+    OrderPaymentMethod paymentMethod;
+    long orderCount;
+    BigDecimal revenue;
+    BigDecimal paidRevenue;
+    BigDecimal cancelledRevenue;
+    BigDecimal netRevenue;
+    List<DailySalesResponse> days;
+    List<CategorySalesResponse> categories;
+}
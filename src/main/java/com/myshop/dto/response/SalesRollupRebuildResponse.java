@@ -0,0 +1,16 @@
+package com.myshop.dto.response;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+@Value
+@Builder
+public class SalesRollupRebuildResponse {
+    LocalDate from;
+    LocalDate to;
+    int days;
+    long rowsWritten;
+    long elapsedMs;
+}
@@ -1,22 +1,35 @@
 package com.myshop.mapper;
 
+import com.myshop.domain.entity.ArchivedOrder;
+import com.myshop.domain.entity.ArchivedOrderItem;
 import com.myshop.domain.entity.CartItem;
 import com.myshop.domain.entity.Category;
 import com.myshop.domain.entity.Order;
 import com.myshop.domain.entity.OrderItem;
+import com.myshop.domain.entity.OrderSummary;
 import com.myshop.domain.entity.Payment;
 import com.myshop.domain.entity.Product;
 import com.myshop.domain.entity.User;
+import com.myshop.domain.value.Money;
+import com.myshop.dto.response.AdminOrderSummaryResponse;
 import com.myshop.dto.response.CartItemResponse;
 import com.myshop.dto.response.CategoryResponse;
+import com.myshop.dto.response.CategorySalesResponse;
+import com.myshop.dto.response.DailySalesResponse;
 import com.myshop.dto.response.OrderItemResponse;
 import com.myshop.dto.response.OrderResponse;
+import com.myshop.dto.response.OrderSummaryResponse;
 import com.myshop.dto.response.PaymentResponse;
 import com.myshop.dto.response.ProductResponse;
 import com.myshop.dto.response.UserResponse;
+import com.myshop.repository.projection.AdminOrderView;
+import com.myshop.repository.projection.CategorySalesView;
+import com.myshop.repository.projection.DailySalesView;
+import com.myshop.repository.projection.OrderSummaryView;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 public final class DtoMapper {
 
@@ -45,13 +58,17 @@ public final class DtoMapper {
     }
 
     public static ProductResponse toProductResponse(Product product) {
+        return toProductResponse(product, product.getStockQuantity());
+    }
+
+    public static ProductResponse toProductResponse(Product product, long stockQuantity) {
         return ProductResponse.builder()
                 .id(product.getId())
                 .category(toCategoryResponse(product.getCategory()))
                 .name(product.getName())
                 .description(product.getDescription())
-                .price(product.getPrice())
-                .stockQuantity(product.getStockQuantity())
+                .price(toAmount(product.getPrice()))
+                .stockQuantity((int) stockQuantity)
                 .imageUrl(product.getImageUrl())
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
@@ -60,26 +77,30 @@ public final class DtoMapper {
 
     public static CartItemResponse toCartItemResponse(CartItem cartItem) {
         Product product = cartItem.getProduct();
-        BigDecimal lineTotal = product.getPrice().multiply(BigDecimal.valueOf(cartItem.getQuantity()));
+        long lineTotal = Money.lineTotal(product.getPrice().getMinorUnits(), cartItem.getQuantity());
         return CartItemResponse.builder()
                 .id(cartItem.getId())
                 .productId(product.getId())
                 .productName(product.getName())
                 .imageUrl(product.getImageUrl())
-                .unitPrice(product.getPrice())
+                .unitPrice(toAmount(product.getPrice()))
                 .quantity(cartItem.getQuantity())
-                .lineTotal(lineTotal)
+                .lineTotal(BigDecimal.valueOf(lineTotal, Money.SCALE))
                 .build();
     }
 
     public static OrderItemResponse toOrderItemResponse(OrderItem orderItem) {
         Product product = orderItem.getProduct();
+        // rows written before snapshots existed fall back to the live product until the backfill reaches them
+        boolean snapshot = orderItem.getProductName() != null;
         return OrderItemResponse.builder()
                 .id(orderItem.getId())
                 .productId(product.getId())
-                .productName(product.getName())
+                .productName(snapshot ? orderItem.getProductName() : product.getName())
+                .productImageUrl(snapshot ? orderItem.getProductImageUrl() : product.getImageUrl())
+                .categoryName(snapshot ? orderItem.getCategoryName() : product.getCategory().getName())
                 .quantity(orderItem.getQuantity())
-                .unitPrice(orderItem.getUnitPrice())
+                .unitPrice(toAmount(orderItem.getUnitPrice()))
                 .build();
     }
 
@@ -105,7 +126,7 @@ public final class DtoMapper {
         return OrderResponse.builder()
                 .id(order.getId())
                 .userId(order.getUser().getId())
-                .totalAmount(order.getTotalAmount())
+                .totalAmount(toAmount(order.getTotalAmount()))
                 .orderStatus(order.getOrderStatus())
                 .paymentMethod(order.getPaymentMethod())
                 .paymentStatus(order.getPaymentStatus())
@@ -119,5 +140,131 @@ public final class DtoMapper {
                 .payment(toPaymentResponse(order.getPayment()))
                 .build();
     }
-}
 
+    public static OrderResponse toOrderResponse(ArchivedOrder order, List<ArchivedOrderItem> items,
+                                                Map<Long, Product> productsById) {
+        List<OrderItemResponse> itemResponses = items.stream()
+                .map(item -> {
+                    OrderItemResponse.OrderItemResponseBuilder builder = OrderItemResponse.builder()
+                            .id(item.getId())
+                            .productId(item.getProductId());
+                    Product product = productsById.get(item.getProductId());
+                    if (item.getProductName() != null) {
+                        builder.productName(item.getProductName())
+                                .productImageUrl(item.getProductImageUrl())
+                                .categoryName(item.getCategoryName());
+                    } else if (product != null) {
+                        builder.productName(product.getName())
+                                .productImageUrl(product.getImageUrl())
+                                .categoryName(product.getCategory().getName());
+                    }
+                    return builder
+                            .quantity(item.getQuantity())
+                            .unitPrice(toAmount(item.getUnitPrice()))
+                            .build();
+                })
+                .toList();
+        PaymentResponse payment = order.getPaymentId() == null ? null : PaymentResponse.builder()
+                .id(order.getPaymentId())
+                .paymentMethod(order.getPaymentGateway())
+                .paymentStatus(order.getPaymentRecordStatus())
+                .amount(order.getPaymentAmount())
+                .transactionReference(order.getTransactionReference())
+                .paymentDate(order.getPaymentDate())
+                .build();
+
+        return OrderResponse.builder()
+                .id(order.getId())
+                .userId(order.getUserId())
+                .totalAmount(toAmount(order.getTotalAmount()))
+                .orderStatus(order.getOrderStatus())
+                .paymentMethod(order.getPaymentMethod())
+                .paymentStatus(order.getPaymentStatus())
+                .shippingName(order.getShippingName())
+                .shippingAddress(order.getShippingAddress())
+                .shippingPhone(order.getShippingPhone())
+                .shippingEmail(order.getShippingEmail())
+                .createdAt(order.getCreatedAt())
+                .updatedAt(order.getUpdatedAt())
+                .items(itemResponses)
+                .payment(payment)
+                .build();
+    }
+
+    public static OrderSummaryResponse toOrderSummaryResponse(OrderSummaryView summary) {
+        return OrderSummaryResponse.builder()
+                .id(summary.getId())
+                .orderStatus(summary.getOrderStatus())
+                .totalAmount(toAmount(summary.getTotalAmount()))
+                .itemCount(summary.getItemCount())
+                .createdAt(summary.getCreatedAt())
+                .build();
+    }
+
+    public static AdminOrderSummaryResponse toAdminOrderSummaryResponse(AdminOrderView order) {
+        return AdminOrderSummaryResponse.builder()
+                .id(order.getId())
+                .userId(order.getUserId())
+                .orderStatus(order.getOrderStatus())
+                .paymentStatus(order.getPaymentStatus())
+                .paymentMethod(order.getPaymentMethod())
+                .totalAmount(toAmount(order.getTotalAmount()))
+                .itemCount(order.getItemCount())
+                .createdAt(order.getCreatedAt())
+                .build();
+    }
+
+    public static OrderSummaryResponse toOrderSummaryResponse(OrderSummary summary) {
+        return OrderSummaryResponse.builder()
+                .id(summary.getOrderId())
+                .orderStatus(summary.getOrderStatus())
+                .totalAmount(toAmount(summary.getTotalAmount()))
+                .itemCount(summary.getItemCount())
+                .firstItemName(summary.getFirstItemName())
+                .createdAt(summary.getCreatedAt())
+                .build();
+    }
+
+    public static AdminOrderSummaryResponse toAdminOrderSummaryResponse(OrderSummary summary) {
+        return AdminOrderSummaryResponse.builder()
+                .id(summary.getOrderId())
+                .userId(summary.getUserId())
+                .orderStatus(summary.getOrderStatus())
+                .paymentStatus(summary.getPaymentStatus())
+                .paymentMethod(summary.getPaymentMethod())
+                .totalAmount(toAmount(summary.getTotalAmount()))
+                .itemCount(summary.getItemCount())
+                .firstItemName(summary.getFirstItemName())
+                .createdAt(summary.getCreatedAt())
+                .build();
+    }
+
+    public static DailySalesResponse toDailySalesResponse(DailySalesView day) {
+        return DailySalesResponse.builder()
+                .date(day.getSalesDate())
+                .orderCount(day.getOrderCount())
+                .revenue(day.getRevenue())
+                .paidOrderCount(day.getPaidOrderCount())
+                .paidRevenue(day.getPaidRevenue())
+                .cancelledOrderCount(day.getCancelledOrderCount())
+                .cancelledRevenue(day.getCancelledRevenue())
+                .netRevenue(day.getRevenue().subtract(day.getCancelledRevenue()))
+                .build();
+    }
+
+    public static CategorySalesResponse toCategorySalesResponse(CategorySalesView category, String categoryName) {
+        return CategorySalesResponse.builder()
+                .categoryId(category.getCategoryId())
+                .categoryName(categoryName)
+                .units(category.getUnits())
+                .revenue(category.getRevenue())
+                .cancelledUnits(category.getCancelledUnits())
+                .cancelledRevenue(category.getCancelledRevenue())
+                .netRevenue(category.getRevenue().subtract(category.getCancelledRevenue()))
+                .build();
+    }
+
+    private static BigDecimal toAmount(Money money) {
+        return money != null ? money.toBigDecimal() : null;
+    }
+}
@@ -0,0 +1,37 @@
+package com.myshop.repository;
+
+import com.myshop.domain.entity.ArchivedOrderItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ArchivedOrderItemRepository extends JpaRepository<ArchivedOrderItem, Long> {
+    List<ArchivedOrderItem> findByOrderIdInOrderByIdAsc(Collection<Long> orderIds);
+
+    @Query("SELECT MAX(i.id) FROM ArchivedOrderItem i")
+    Long findMaxId();
+
+    // fills missing snapshots for one id window from the live product; columns already set are left alone, so reruns
+    // are safe. product_name is assigned last: MySQL evaluates SET left to right and the CASEs test its old value
+    @Modifying
+    @Query(value = """
+            UPDATE archived_order_items i
+            SET category_id = COALESCE(i.category_id, (SELECT p.category_id FROM products p WHERE p.product_id = i.product_id)),
+                product_image_url = CASE WHEN i.product_name IS NULL
+                    THEN (SELECT p.image_url FROM products p WHERE p.product_id = i.product_id)
+                    ELSE i.product_image_url END,
+                category_name = CASE WHEN i.product_name IS NULL
+                    THEN (SELECT c.category_name FROM products p
+                          JOIN categories c ON c.category_id = p.category_id
+                          WHERE p.product_id = i.product_id)
+                    ELSE i.category_name END,
+                product_name = COALESCE(i.product_name, (SELECT p.product_name FROM products p WHERE p.product_id = i.product_id))
+            WHERE i.order_item_id > :afterId AND i.order_item_id <= :untilId
+              AND (i.product_name IS NULL OR i.category_id IS NULL)
+            """, nativeQuery = true)
+    int backfillSnapshotRange(@Param("afterId") long afterId, @Param("untilId") long untilId);
+}
@@ -0,0 +1,94 @@
+package com.myshop.repository;
+
+import com.myshop.domain.entity.ArchivedOrder;
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.domain.value.Money;
+import com.myshop.repository.projection.AdminOrderView;
+import com.myshop.repository.projection.OrderStatusCountView;
+import com.myshop.repository.projection.OrderSummaryView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long>, OrderArchiveRepository {
+
+    @Query("""
+            SELECT a.id AS id, a.orderStatus AS orderStatus, a.totalAmount AS totalAmount,
+                   (SELECT COUNT(i) FROM ArchivedOrderItem i WHERE i.orderId = a.id) AS itemCount,
+                   a.createdAt AS createdAt
+            FROM ArchivedOrder a
+            WHERE a.userId = :userId
+            ORDER BY a.createdAt DESC, a.id DESC
+            """)
+    List<OrderSummaryView> findHistoryByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("""
+            SELECT a.id AS id, a.orderStatus AS orderStatus, a.totalAmount AS totalAmount,
+                   (SELECT COUNT(i) FROM ArchivedOrderItem i WHERE i.orderId = a.id) AS itemCount,
+                   a.createdAt AS createdAt
+            FROM ArchivedOrder a
+            WHERE a.userId = :userId
+              AND (a.createdAt < :beforeCreatedAt
+                   OR (a.createdAt = :beforeCreatedAt AND a.id < :beforeId))
+            ORDER BY a.createdAt DESC, a.id DESC
+            """)
+    List<OrderSummaryView> findHistoryByUserIdBefore(@Param("userId") Long userId,
+                                                     @Param("beforeCreatedAt") Instant beforeCreatedAt,
+                                                     @Param("beforeId") Long beforeId,
+                                                     Pageable pageable);
+
+    List<ArchivedOrder> findByUserIdOrderByCreatedAtDescIdDesc(Long userId);
+
+    List<ArchivedOrder> findAllByOrderByCreatedAtDescIdDesc();
+
+    @Query(value = """
+            SELECT a.id AS id, a.userId AS userId, a.orderStatus AS orderStatus,
+                   a.paymentStatus AS paymentStatus, a.paymentMethod AS paymentMethod,
+                   a.totalAmount AS totalAmount,
+                   (SELECT COUNT(i) FROM ArchivedOrderItem i WHERE i.orderId = a.id) AS itemCount,
+                   a.createdAt AS createdAt
+            FROM ArchivedOrder a
+            WHERE (:orderStatus IS NULL OR a.orderStatus = :orderStatus)
+              AND (:paymentStatus IS NULL OR a.paymentStatus = :paymentStatus)
+              AND (:paymentMethod IS NULL OR a.paymentMethod = :paymentMethod)
+              AND (:createdFrom IS NULL OR a.createdAt >= :createdFrom)
+              AND (:createdTo IS NULL OR a.createdAt < :createdTo)
+              AND (:minAmount IS NULL OR a.totalAmount >= :minAmount)
+              AND (:maxAmount IS NULL OR a.totalAmount <= :maxAmount)
+            """,
+            countQuery = """
+            SELECT COUNT(a) FROM ArchivedOrder a
+            WHERE (:orderStatus IS NULL OR a.orderStatus = :orderStatus)
+              AND (:paymentStatus IS NULL OR a.paymentStatus = :paymentStatus)
+              AND (:paymentMethod IS NULL OR a.paymentMethod = :paymentMethod)
+              AND (:createdFrom IS NULL OR a.createdAt >= :createdFrom)
+              AND (:createdTo IS NULL OR a.createdAt < :createdTo)
+              AND (:minAmount IS NULL OR a.totalAmount >= :minAmount)
+              AND (:maxAmount IS NULL OR a.totalAmount <= :maxAmount)
+            """)
+    Page<AdminOrderView> searchOrders(@Param("orderStatus") OrderStatus orderStatus,
+                                      @Param("paymentStatus") PaymentStatus paymentStatus,
+                                      @Param("paymentMethod") OrderPaymentMethod paymentMethod,
+                                      @Param("createdFrom") Instant createdFrom,
+                                      @Param("createdTo") Instant createdTo,
+                                      @Param("minAmount") Money minAmount,
+                                      @Param("maxAmount") Money maxAmount,
+                                      Pageable pageable);
+
+    @Query("""
+            SELECT a.orderStatus AS orderStatus, COUNT(a) AS total
+            FROM ArchivedOrder a
+            WHERE (:createdFrom IS NULL OR a.createdAt >= :createdFrom)
+              AND (:createdTo IS NULL OR a.createdAt < :createdTo)
+            GROUP BY a.orderStatus
+            """)
+    List<OrderStatusCountView> countByStatus(@Param("createdFrom") Instant createdFrom,
+                                             @Param("createdTo") Instant createdTo);
+}
@@ -0,0 +1,84 @@
+package com.myshop.repository;
+
+import com.myshop.domain.entity.CheckoutTicket;
+import com.myshop.domain.enums.CheckoutTicketStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface CheckoutTicketRepository extends JpaRepository<CheckoutTicket, Long> {
+
+    Optional<CheckoutTicket> findByToken(String token);
+
+    @Query("""
+            SELECT t.id FROM CheckoutTicket t
+            WHERE t.status IN :statuses AND t.nextAttemptAt <= :now
+            ORDER BY t.nextAttemptAt, t.id
+            """)
+    List<Long> findDueIds(@Param("statuses") Collection<CheckoutTicketStatus> statuses,
+                          @Param("now") Instant now,
+                          Pageable pageable);
+
+    // compare-and-set on the due time, so one node wins each due ticket
+    @Modifying
+    @Query("""
+            UPDATE CheckoutTicket t
+            SET t.status = :processing, t.claimToken = :claimToken, t.nextAttemptAt = :claimedUntil,
+                t.attempts = t.attempts + 1
+            WHERE t.id = :id AND t.status IN :statuses AND t.nextAttemptAt <= :now
+            """)
+    int claim(@Param("id") Long id,
+              @Param("statuses") Collection<CheckoutTicketStatus> statuses,
+              @Param("processing") CheckoutTicketStatus processing,
+              @Param("claimToken") String claimToken,
+              @Param("claimedUntil") Instant claimedUntil,
+              @Param("now") Instant now);
+
+    @Modifying
+    @Query("""
+            UPDATE CheckoutTicket t
+            SET t.status = :status, t.orderId = :orderId, t.completedAt = :now, t.claimToken = NULL
+            WHERE t.id = :id AND t.claimToken = :claimToken
+            """)
+    int complete(@Param("id") Long id,
+                 @Param("claimToken") String claimToken,
+                 @Param("status") CheckoutTicketStatus status,
+                 @Param("orderId") Long orderId,
+                 @Param("now") Instant now);
+
+    @Modifying
+    @Query("""
+            UPDATE CheckoutTicket t
+            SET t.status = :status, t.errorStatus = :errorStatus, t.errorMessage = :errorMessage,
+                t.completedAt = :now, t.claimToken = NULL
+            WHERE t.id = :id AND t.claimToken = :claimToken
+            """)
+    int fail(@Param("id") Long id,
+             @Param("claimToken") String claimToken,
+             @Param("status") CheckoutTicketStatus status,
+             @Param("errorStatus") int errorStatus,
+             @Param("errorMessage") String errorMessage,
+             @Param("now") Instant now);
+
+    @Modifying
+    @Query("""
+            UPDATE CheckoutTicket t
+            SET t.status = :status, t.nextAttemptAt = :nextAttemptAt, t.claimToken = NULL
+            WHERE t.id = :id AND t.claimToken = :claimToken
+            """)
+    int retryLater(@Param("id") Long id,
+                   @Param("claimToken") String claimToken,
+                   @Param("status") CheckoutTicketStatus status,
+                   @Param("nextAttemptAt") Instant nextAttemptAt);
+
+    @Modifying
+    @Query("DELETE FROM CheckoutTicket t WHERE t.completedAt < :before")
+    int deleteCompletedBefore(@Param("before") Instant before);
+}
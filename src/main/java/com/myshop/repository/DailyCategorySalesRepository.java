@@ -0,0 +1,30 @@
+package com.myshop.repository;
+
+import com.myshop.domain.entity.DailyCategorySales;
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.repository.projection.CategorySalesView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyCategorySalesRepository extends JpaRepository<DailyCategorySales, Long> {
+
+    @Query("""
+            SELECT d.categoryId AS categoryId,
+                   SUM(d.units) AS units,
+                   SUM(d.revenue) AS revenue,
+                   SUM(d.cancelledUnits) AS cancelledUnits,
+                   SUM(d.cancelledRevenue) AS cancelledRevenue
+            FROM DailyCategorySales d
+            WHERE d.salesDate BETWEEN :from AND :to
+              AND (:paymentMethod IS NULL OR d.paymentMethod = :paymentMethod)
+            GROUP BY d.categoryId
+            ORDER BY SUM(d.revenue) DESC
+            """)
+    List<CategorySalesView> summarizeByCategory(@Param("from") LocalDate from,
+                                                @Param("to") LocalDate to,
+                                                @Param("paymentMethod") OrderPaymentMethod paymentMethod);
+}
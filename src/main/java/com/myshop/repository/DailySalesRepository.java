@@ -0,0 +1,32 @@
+package com.myshop.repository;
+
+import com.myshop.domain.entity.DailySales;
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.repository.projection.DailySalesView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailySalesRepository extends JpaRepository<DailySales, Long>, SalesRollupRepository {
+
+    @Query("""
+            SELECT d.salesDate AS salesDate,
+                   SUM(d.orderCount) AS orderCount,
+                   SUM(d.revenue) AS revenue,
+                   SUM(d.paidOrderCount) AS paidOrderCount,
+                   SUM(d.paidRevenue) AS paidRevenue,
+                   SUM(d.cancelledOrderCount) AS cancelledOrderCount,
+                   SUM(d.cancelledRevenue) AS cancelledRevenue
+            FROM DailySales d
+            WHERE d.salesDate BETWEEN :from AND :to
+              AND (:paymentMethod IS NULL OR d.paymentMethod = :paymentMethod)
+            GROUP BY d.salesDate
+            ORDER BY d.salesDate
+            """)
+    List<DailySalesView> summarizeByDay(@Param("from") LocalDate from,
+                                        @Param("to") LocalDate to,
+                                        @Param("paymentMethod") OrderPaymentMethod paymentMethod);
+}
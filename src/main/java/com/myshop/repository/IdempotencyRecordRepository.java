@@ -0,0 +1,56 @@
+package com.myshop.repository;
+
+import com.myshop.domain.entity.IdempotencyRecord;
+import com.myshop.domain.enums.IdempotencyStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByIdempotencyKeyAndEndpoint(String idempotencyKey, String endpoint);
+
+    // compare-and-set on locked_at: the owner renews its lock with it, and only one waiter takes over an abandoned key
+    @Modifying
+    @Query("""
+            UPDATE IdempotencyRecord r
+            SET r.lockedAt = :now
+            WHERE r.id = :id AND r.status = :status AND r.lockedAt = :lockedAt
+            """)
+    int takeOver(@Param("id") Long id,
+                 @Param("status") IdempotencyStatus status,
+                 @Param("lockedAt") Instant lockedAt,
+                 @Param("now") Instant now);
+
+    // fenced on the owner's lock: 0 rows means another request took the key over
+    @Modifying
+    @Query("""
+            UPDATE IdempotencyRecord r
+            SET r.status = :status, r.responseStatus = :responseStatus, r.responseContentType = :contentType,
+                r.responseLocation = :location, r.responseBody = :body
+            WHERE r.id = :id AND r.lockedAt = :lockedAt
+            """)
+    int complete(@Param("id") Long id,
+                 @Param("lockedAt") Instant lockedAt,
+                 @Param("status") IdempotencyStatus status,
+                 @Param("responseStatus") int responseStatus,
+                 @Param("contentType") String contentType,
+                 @Param("location") String location,
+                 @Param("body") String body);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.lockedAt = :lockedAt")
+    int release(@Param("id") Long id, @Param("lockedAt") Instant lockedAt);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.expiresAt < :now")
+    int deleteIfExpired(@Param("id") Long id, @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,42 @@
+package com.myshop.repository;
+
+import com.myshop.domain.entity.InventoryShard;
+import com.myshop.repository.projection.ProductQuantityView;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface InventoryShardRepository extends JpaRepository<InventoryShard, Long> {
+
+    @Query("""
+            SELECT s.product.id AS productId, SUM(s.quantity) AS quantity
+            FROM InventoryShard s
+            WHERE s.product.id IN :productIds
+            GROUP BY s.product.id
+            """)
+    List<ProductQuantityView> sumQuantitiesByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+    // guarded: matches nothing (returns 0) when the shard cannot cover the whole quantity
+    @Modifying
+    @Query("""
+            UPDATE InventoryShard s
+            SET s.quantity = s.quantity - :quantity
+            WHERE s.product.id = :productId AND s.shardNo = :shardNo AND s.quantity >= :quantity
+            """)
+    int decrementShard(@Param("productId") Long productId,
+                       @Param("shardNo") int shardNo,
+                       @Param("quantity") int quantity);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000"))
+    @Query("SELECT s FROM InventoryShard s WHERE s.product.id = :productId ORDER BY s.shardNo")
+    List<InventoryShard> lockByProductId(@Param("productId") Long productId);
+}
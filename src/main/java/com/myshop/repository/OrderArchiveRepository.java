@@ -0,0 +1,23 @@
+package com.myshop.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderArchiveRepository {
+
+    /**
+     * Ids of CANCELLED and paid DELIVERED orders created before {@code createdBefore}, ascending from
+     * {@code afterId} (exclusive).
+     */
+    List<Long> findArchivableIds(long afterId, Instant createdBefore, int limit);
+
+    /**
+     * Locks the given orders ({@code SELECT ... FOR UPDATE}), keeps those still archivable, copies them
+     * with their payment and items into archived_orders and archived_order_items, then deletes the
+     * originals.
+     *
+     * @return number of orders moved
+     */
+    int archiveOrders(Collection<Long> orderIds, Instant createdBefore, Instant archivedAt);
+}
@@ -0,0 +1,112 @@
+package com.myshop.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+@RequiredArgsConstructor
+class OrderArchiveRepositoryImpl implements OrderArchiveRepository {
+
+    // same rule as OrderStatus.isTerminal: a delivery whose payment has not succeeded can still be corrected
+    private static final String ARCHIVABLE = "(order_status = 'CANCELLED' OR (order_status = 'DELIVERED' AND payment_status = 'SUCCESS'))";
+
+    private static final String CANDIDATES_SQL = """
+            SELECT order_id
+            FROM orders
+            WHERE %s AND created_at < ? AND order_id > ?
+            ORDER BY order_id
+            LIMIT ?
+            """.formatted(ARCHIVABLE);
+
+    private static final String LOCK_SQL = """
+            SELECT order_id
+            FROM orders
+            WHERE order_id IN (%s) AND %s AND created_at < ?
+            ORDER BY order_id
+            FOR UPDATE
+            """;
+
+    private static final String COPY_ORDERS_SQL = """
+            INSERT INTO archived_orders (order_id, user_id, total_amount, order_status, payment_method, payment_status,
+                                         shipping_name, shipping_address, shipping_phone, shipping_email,
+                                         created_at, updated_at, payment_id, payment_gateway, payment_amount,
+                                         payment_record_status, transaction_reference, payment_date, archived_at)
+            SELECT o.order_id, o.user_id, o.total_amount, o.order_status, o.payment_method, o.payment_status,
+                   o.shipping_name, o.shipping_address, o.shipping_phone, o.shipping_email,
+                   o.created_at, o.updated_at, p.payment_id, p.payment_method, p.amount,
+                   p.payment_status, p.transaction_reference, p.payment_date, ?
+            FROM orders o
+            LEFT JOIN payments p ON p.order_id = o.order_id
+            WHERE o.order_id IN (%s)
+            """;
+
+    // rows still missing a product snapshot take it from the live product: once archived, nothing stops its deletion
+    private static final String COPY_ITEMS_SQL = """
+            INSERT INTO archived_order_items (order_item_id, order_id, product_id, quantity, unit_price,
+                                              product_name, product_image_url, category_name, category_id)
+            SELECT i.order_item_id, i.order_id, i.product_id, i.quantity, i.unit_price,
+                   CASE WHEN i.product_name IS NULL THEN p.product_name ELSE i.product_name END,
+                   CASE WHEN i.product_name IS NULL THEN p.image_url ELSE i.product_image_url END,
+                   CASE WHEN i.product_name IS NULL THEN c.category_name ELSE i.category_name END,
+                   COALESCE(i.category_id, p.category_id)
+            FROM order_items i
+            JOIN products p ON p.product_id = i.product_id
+            JOIN categories c ON c.category_id = p.category_id
+            WHERE i.order_id IN (%s)
+            """;
+
+    private static final String DELETE_PAYMENTS_SQL = "DELETE FROM payments WHERE order_id IN (%s)";
+
+    private static final String DELETE_ITEMS_SQL = "DELETE FROM order_items WHERE order_id IN (%s)";
+
+    private static final String DELETE_ORDERS_SQL = "DELETE FROM orders WHERE order_id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> findArchivableIds(long afterId, Instant createdBefore, int limit) {
+        return jdbcTemplate.queryForList(CANDIDATES_SQL, Long.class, utc(createdBefore), afterId, limit);
+    }
+
+    @Override
+    public int archiveOrders(Collection<Long> orderIds, Instant createdBefore, Instant archivedAt) {
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        List<Object> lockArgs = new ArrayList<>(orderIds);
+        lockArgs.add(utc(createdBefore));
+        List<Long> locked = jdbcTemplate.queryForList(
+                LOCK_SQL.formatted(placeholders(orderIds.size()), ARCHIVABLE), Long.class, lockArgs.toArray());
+        if (locked.isEmpty()) {
+            return 0;
+        }
+
+        String in = placeholders(locked.size());
+        Object[] ids = locked.toArray();
+        List<Object> copyArgs = new ArrayList<>(locked.size() + 1);
+        copyArgs.add(utc(archivedAt));
+        copyArgs.addAll(locked);
+        jdbcTemplate.update(COPY_ORDERS_SQL.formatted(in), copyArgs.toArray());
+        jdbcTemplate.update(COPY_ITEMS_SQL.formatted(in), ids);
+        // children first: payments and order_items reference orders
+        jdbcTemplate.update(DELETE_PAYMENTS_SQL.formatted(in), ids);
+        jdbcTemplate.update(DELETE_ITEMS_SQL.formatted(in), ids);
+        return jdbcTemplate.update(DELETE_ORDERS_SQL.formatted(in), ids);
+    }
+
+    // same representation Hibernate binds for Instant attributes
+    private static LocalDateTime utc(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.myshop.repository;
+
+import com.myshop.config.ExportDataSourceConfig;
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.domain.value.Money;
+import com.myshop.repository.projection.OrderExportRow;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.stream.Stream;
+
+/**
+ * Export reads over the export pool (see {@link ExportDataSourceConfig}). Each stream holds an open
+ * result set and must be closed; rows are plain values, so nothing accumulates while it is read.
+ */
+@Repository
+public class OrderExportRepository {
+
+    private static final String ROWS_SQL = """
+            SELECT o.order_id, o.created_at, o.user_id, o.order_status, o.payment_status, o.payment_method,
+                   o.total_amount, i.order_item_id, i.product_id,
+                   COALESCE(i.product_name, (SELECT p.product_name FROM products p WHERE p.product_id = i.product_id))
+                       AS product_name,
+                   i.quantity, i.unit_price
+            FROM %s i
+            JOIN %s o ON o.order_id = i.order_id
+            WHERE o.created_at >= ? AND o.created_at < ?
+            ORDER BY o.order_id, i.order_item_id
+            """;
+
+    private static final String HOT_ROWS_SQL = ROWS_SQL.formatted("order_items", "orders");
+
+    private static final String ARCHIVED_ROWS_SQL = ROWS_SQL.formatted("archived_order_items", "archived_orders");
+
+    private static final RowMapper<OrderExportRow> ROW_MAPPER = (rs, rowNum) -> OrderExportRow.builder()
+            .orderId(rs.getLong("order_id"))
+            .createdAt(rs.getObject("created_at", LocalDateTime.class).toInstant(ZoneOffset.UTC))
+            .userId(rs.getLong("user_id"))
+            .orderStatus(OrderStatus.valueOf(rs.getString("order_status")))
+            .paymentStatus(PaymentStatus.valueOf(rs.getString("payment_status")))
+            .paymentMethod(OrderPaymentMethod.valueOf(rs.getString("payment_method")))
+            .totalAmount(Money.of(rs.getBigDecimal("total_amount")))
+            .itemId(rs.getLong("order_item_id"))
+            .productId(rs.getLong("product_id"))
+            .productName(rs.getString("product_name"))
+            .quantity(rs.getInt("quantity"))
+            .unitPrice(Money.of(rs.getBigDecimal("unit_price")))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderExportRepository(@Qualifier(ExportDataSourceConfig.EXPORT) JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Stream<OrderExportRow> streamRows(Instant createdFrom, Instant createdTo) {
+        return jdbcTemplate.queryForStream(HOT_ROWS_SQL, ROW_MAPPER, utc(createdFrom), utc(createdTo));
+    }
+
+    public Stream<OrderExportRow> streamArchivedRows(Instant createdFrom, Instant createdTo) {
+        return jdbcTemplate.queryForStream(ARCHIVED_ROWS_SQL, ROW_MAPPER, utc(createdFrom), utc(createdTo));
+    }
+
+    // Hibernate stores Instant columns as UTC wall-clock DATETIME values
+    private static LocalDateTime utc(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
@@ -1,9 +1,66 @@
 package com.myshop.repository;
 
 import com.myshop.domain.entity.OrderItem;
+import com.myshop.repository.projection.PendingStockView;
+import com.myshop.repository.projection.ProductQuantityView;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     boolean existsByProductId(Long productId);
-}
 
+    @Query("""
+            SELECT i.product.id AS productId, SUM(i.quantity) AS quantity
+            FROM OrderItem i
+            WHERE i.order.id IN :orderIds
+            GROUP BY i.product.id
+            """)
+    List<ProductQuantityView> sumQuantitiesByProductForOrders(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("""
+            SELECT i.id AS id, i.product.id AS productId, i.quantity AS quantity
+            FROM OrderItem i
+            WHERE i.stockPending = true
+            ORDER BY i.id
+            """)
+    List<PendingStockView> findPendingStock(Pageable pageable);
+
+    // conditional clear: fewer rows than ids means another writer already settled some of them
+    @Modifying
+    @Query("UPDATE OrderItem i SET i.stockPending = false WHERE i.id IN :ids AND i.stockPending = true")
+    int clearPendingStock(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<OrderItem> findByProductIdAndStockPendingTrue(Long productId);
+
+    @Query("SELECT MAX(i.id) FROM OrderItem i")
+    Long findMaxId();
+
+    // fills missing snapshots for one id window from the live product; columns already set are left alone, so reruns
+    // are safe. product_name is assigned last: MySQL evaluates SET left to right and the CASEs test its old value
+    @Modifying
+    @Query(value = """
+            UPDATE order_items i
+            SET category_id = COALESCE(i.category_id, (SELECT p.category_id FROM products p WHERE p.product_id = i.product_id)),
+                product_image_url = CASE WHEN i.product_name IS NULL
+                    THEN (SELECT p.image_url FROM products p WHERE p.product_id = i.product_id)
+                    ELSE i.product_image_url END,
+                category_name = CASE WHEN i.product_name IS NULL
+                    THEN (SELECT c.category_name FROM products p
+                          JOIN categories c ON c.category_id = p.category_id
+                          WHERE p.product_id = i.product_id)
+                    ELSE i.category_name END,
+                product_name = COALESCE(i.product_name, (SELECT p.product_name FROM products p WHERE p.product_id = i.product_id))
+            WHERE i.order_item_id > :afterId AND i.order_item_id <= :untilId
+              AND (i.product_name IS NULL OR i.category_id IS NULL)
+            """, nativeQuery = true)
+    int backfillSnapshotRange(@Param("afterId") long afterId, @Param("untilId") long untilId);
+}
@@ -1,12 +1,180 @@
 package com.myshop.repository;
 
 import com.myshop.domain.entity.Order;
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.domain.value.Money;
+import com.myshop.repository.projection.AdminOrderView;
+import com.myshop.repository.projection.OrderStatusCountView;
+import com.myshop.repository.projection.OrderStatusView;
+import com.myshop.repository.projection.OrderSummaryView;
+import com.myshop.repository.projection.StaleOrderView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderTransitionRepository {
     List<Order> findByUserId(Long userId);
     boolean existsByUserId(Long userId);
-}
 
+    // Order aggregate read path: items and payment are join-fetched; items carry their product snapshot
+    @Query("""
+            SELECT DISTINCT o FROM Order o
+            LEFT JOIN FETCH o.orderItems
+            LEFT JOIN FETCH o.payment
+            WHERE o.id = :id
+            """)
+    Optional<Order> findWithItemsById(@Param("id") Long id);
+
+    @Query("""
+            SELECT DISTINCT o FROM Order o
+            LEFT JOIN FETCH o.orderItems
+            LEFT JOIN FETCH o.payment
+            WHERE o.user.id = :userId
+            ORDER BY o.createdAt DESC
+            """)
+    List<Order> findWithItemsByUserId(@Param("userId") Long userId);
+
+    @Query("""
+            SELECT DISTINCT o FROM Order o
+            LEFT JOIN FETCH o.orderItems
+            LEFT JOIN FETCH o.payment
+            WHERE o.id IN :ids
+            """)
+    List<Order> findWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            SELECT DISTINCT o FROM Order o
+            LEFT JOIN FETCH o.orderItems
+            LEFT JOIN FETCH o.payment
+            ORDER BY o.createdAt DESC
+            """)
+    List<Order> findAllWithItems();
+
+    @Query("""
+            SELECT o.id AS id, o.orderStatus AS orderStatus, o.totalAmount AS totalAmount,
+                   (SELECT COUNT(i) FROM OrderItem i WHERE i.order = o) AS itemCount,
+                   o.createdAt AS createdAt
+            FROM Order o
+            WHERE o.user.id = :userId
+            ORDER BY o.createdAt DESC, o.id DESC
+            """)
+    List<OrderSummaryView> findHistoryByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("""
+            SELECT o.id AS id, o.orderStatus AS orderStatus, o.totalAmount AS totalAmount,
+                   (SELECT COUNT(i) FROM OrderItem i WHERE i.order = o) AS itemCount,
+                   o.createdAt AS createdAt
+            FROM Order o
+            WHERE o.user.id = :userId
+              AND (o.createdAt < :beforeCreatedAt
+                   OR (o.createdAt = :beforeCreatedAt AND o.id < :beforeId))
+            ORDER BY o.createdAt DESC, o.id DESC
+            """)
+    List<OrderSummaryView> findHistoryByUserIdBefore(@Param("userId") Long userId,
+                                                     @Param("beforeCreatedAt") Instant beforeCreatedAt,
+                                                     @Param("beforeId") Long beforeId,
+                                                     Pageable pageable);
+
+    @Query(value = """
+            SELECT o.id AS id, o.user.id AS userId, o.orderStatus AS orderStatus,
+                   o.paymentStatus AS paymentStatus, o.paymentMethod AS paymentMethod,
+                   o.totalAmount AS totalAmount,
+                   (SELECT COUNT(i) FROM OrderItem i WHERE i.order = o) AS itemCount,
+                   o.createdAt AS createdAt
+            FROM Order o
+            WHERE (:orderStatus IS NULL OR o.orderStatus = :orderStatus)
+              AND (:paymentStatus IS NULL OR o.paymentStatus = :paymentStatus)
+              AND (:paymentMethod IS NULL OR o.paymentMethod = :paymentMethod)
+              AND (:createdFrom IS NULL OR o.createdAt >= :createdFrom)
+              AND (:createdTo IS NULL OR o.createdAt < :createdTo)
+              AND (:minAmount IS NULL OR o.totalAmount >= :minAmount)
+              AND (:maxAmount IS NULL OR o.totalAmount <= :maxAmount)
+            """,
+            countQuery = """
+            SELECT COUNT(o) FROM Order o
+            WHERE (:orderStatus IS NULL OR o.orderStatus = :orderStatus)
+              AND (:paymentStatus IS NULL OR o.paymentStatus = :paymentStatus)
+              AND (:paymentMethod IS NULL OR o.paymentMethod = :paymentMethod)
+              AND (:createdFrom IS NULL OR o.createdAt >= :createdFrom)
+              AND (:createdTo IS NULL OR o.createdAt < :createdTo)
+              AND (:minAmount IS NULL OR o.totalAmount >= :minAmount)
+              AND (:maxAmount IS NULL OR o.totalAmount <= :maxAmount)
+            """)
+    Page<AdminOrderView> searchOrders(@Param("orderStatus") OrderStatus orderStatus,
+                                      @Param("paymentStatus") PaymentStatus paymentStatus,
+                                      @Param("paymentMethod") OrderPaymentMethod paymentMethod,
+                                      @Param("createdFrom") Instant createdFrom,
+                                      @Param("createdTo") Instant createdTo,
+                                      @Param("minAmount") Money minAmount,
+                                      @Param("maxAmount") Money maxAmount,
+                                      Pageable pageable);
+
+    @Query("""
+            SELECT o.orderStatus AS orderStatus, COUNT(o) AS total
+            FROM Order o
+            WHERE (:createdFrom IS NULL OR o.createdAt >= :createdFrom)
+              AND (:createdTo IS NULL OR o.createdAt < :createdTo)
+            GROUP BY o.orderStatus
+            """)
+    List<OrderStatusCountView> countByStatus(@Param("createdFrom") Instant createdFrom,
+                                             @Param("createdTo") Instant createdTo);
+
+    @Query("""
+            SELECT o.id FROM Order o
+            WHERE (:orderStatus IS NULL OR o.orderStatus = :orderStatus)
+              AND (:paymentStatus IS NULL OR o.paymentStatus = :paymentStatus)
+              AND (:paymentMethod IS NULL OR o.paymentMethod = :paymentMethod)
+              AND (:createdFrom IS NULL OR o.createdAt >= :createdFrom)
+              AND (:createdTo IS NULL OR o.createdAt < :createdTo)
+              AND (:minAmount IS NULL OR o.totalAmount >= :minAmount)
+              AND (:maxAmount IS NULL OR o.totalAmount <= :maxAmount)
+            ORDER BY o.id
+            """)
+    List<Long> searchOrderIds(@Param("orderStatus") OrderStatus orderStatus,
+                              @Param("paymentStatus") PaymentStatus paymentStatus,
+                              @Param("paymentMethod") OrderPaymentMethod paymentMethod,
+                              @Param("createdFrom") Instant createdFrom,
+                              @Param("createdTo") Instant createdTo,
+                              @Param("minAmount") Money minAmount,
+                              @Param("maxAmount") Money maxAmount,
+                              Pageable pageable);
+
+    @Query("SELECT MAX(o.id) FROM Order o")
+    Long findMaxId();
+
+    // keyset on (created_at, id): walks idx_orders_payment_status_created in index order, whose InnoDB
+    // entries end in the primary key, so each batch starts where the last one stopped instead of rescanning
+    @Query("""
+            SELECT o.id AS id, o.createdAt AS createdAt FROM Order o
+            WHERE o.paymentStatus = :paymentStatus
+              AND o.createdAt < :createdBefore
+              AND (o.createdAt > :afterCreatedAt OR (o.createdAt = :afterCreatedAt AND o.id > :afterId))
+              AND o.paymentMethod = :paymentMethod
+              AND o.orderStatus IN :orderStatuses
+            ORDER BY o.createdAt, o.id
+            """)
+    List<StaleOrderView> findStaleIds(@Param("paymentStatus") PaymentStatus paymentStatus,
+                                      @Param("paymentMethod") OrderPaymentMethod paymentMethod,
+                                      @Param("orderStatuses") Collection<OrderStatus> orderStatuses,
+                                      @Param("createdBefore") Instant createdBefore,
+                                      @Param("afterCreatedAt") Instant afterCreatedAt,
+                                      @Param("afterId") long afterId,
+                                      Pageable pageable);
+
+    @Query("""
+            SELECT o.id AS id, o.orderStatus AS orderStatus, o.paymentStatus AS paymentStatus, o.version AS version,
+                   o.user.id AS userId, o.totalAmount AS totalAmount
+            FROM Order o
+            WHERE o.id IN :ids
+            """)
+    List<OrderStatusView> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,98 @@
+package com.myshop.repository;
+
+import com.myshop.domain.entity.OrderSummary;
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.domain.value.Money;
+import com.myshop.repository.projection.OrderStatusCountView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, Long> {
+
+    @Query("""
+            SELECT s FROM OrderSummary s
+            WHERE s.userId = :userId
+            ORDER BY s.createdAt DESC, s.orderId DESC
+            """)
+    List<OrderSummary> findHistoryByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("""
+            SELECT s FROM OrderSummary s
+            WHERE s.userId = :userId
+              AND (s.createdAt < :beforeCreatedAt
+                   OR (s.createdAt = :beforeCreatedAt AND s.orderId < :beforeId))
+            ORDER BY s.createdAt DESC, s.orderId DESC
+            """)
+    List<OrderSummary> findHistoryByUserIdBefore(@Param("userId") Long userId,
+                                                 @Param("beforeCreatedAt") Instant beforeCreatedAt,
+                                                 @Param("beforeId") Long beforeId,
+                                                 Pageable pageable);
+
+    @Query("""
+            SELECT s FROM OrderSummary s
+            WHERE (:orderStatus IS NULL OR s.orderStatus = :orderStatus)
+              AND (:paymentStatus IS NULL OR s.paymentStatus = :paymentStatus)
+              AND (:paymentMethod IS NULL OR s.paymentMethod = :paymentMethod)
+              AND (:createdFrom IS NULL OR s.createdAt >= :createdFrom)
+              AND (:createdTo IS NULL OR s.createdAt < :createdTo)
+              AND (:minAmount IS NULL OR s.totalAmount >= :minAmount)
+              AND (:maxAmount IS NULL OR s.totalAmount <= :maxAmount)
+            """)
+    Page<OrderSummary> searchSummaries(@Param("orderStatus") OrderStatus orderStatus,
+                                       @Param("paymentStatus") PaymentStatus paymentStatus,
+                                       @Param("paymentMethod") OrderPaymentMethod paymentMethod,
+                                       @Param("createdFrom") Instant createdFrom,
+                                       @Param("createdTo") Instant createdTo,
+                                       @Param("minAmount") Money minAmount,
+                                       @Param("maxAmount") Money maxAmount,
+                                       Pageable pageable);
+
+    @Query("""
+            SELECT s.orderStatus AS orderStatus, COUNT(s) AS total
+            FROM OrderSummary s
+            WHERE (:createdFrom IS NULL OR s.createdAt >= :createdFrom)
+              AND (:createdTo IS NULL OR s.createdAt < :createdTo)
+            GROUP BY s.orderStatus
+            """)
+    List<OrderStatusCountView> countByStatus(@Param("createdFrom") Instant createdFrom,
+                                             @Param("createdTo") Instant createdTo);
+
+    @Modifying
+    @Query("""
+            UPDATE OrderSummary s
+            SET s.orderStatus = :orderStatus, s.paymentStatus = COALESCE(:paymentStatus, s.paymentStatus),
+                s.updatedAt = :updatedAt
+            WHERE s.orderId IN :orderIds
+            """)
+    int updateStatuses(@Param("orderIds") Collection<Long> orderIds,
+                       @Param("orderStatus") OrderStatus orderStatus,
+                       @Param("paymentStatus") PaymentStatus paymentStatus,
+                       @Param("updatedAt") Instant updatedAt);
+
+    // rebuilds missing rows for one id window; rows already present are left alone, so reruns are safe
+    @Modifying
+    @Query(value = """
+            INSERT INTO order_summaries (order_id, user_id, order_status, payment_status, payment_method,
+                                         total_amount, item_count, first_item_name, created_at, updated_at)
+            SELECT o.order_id, o.user_id, o.order_status, o.payment_status, o.payment_method, o.total_amount,
+                   (SELECT COUNT(*) FROM order_items i WHERE i.order_id = o.order_id),
+                   (SELECT COALESCE(i.product_name, p.product_name) FROM order_items i
+                    JOIN products p ON p.product_id = i.product_id
+                    WHERE i.order_id = o.order_id ORDER BY i.order_item_id LIMIT 1),
+                   o.created_at, o.updated_at
+            FROM orders o
+            WHERE o.order_id > :afterId AND o.order_id <= :untilId
+              AND NOT EXISTS (SELECT 1 FROM order_summaries s WHERE s.order_id = o.order_id)
+            """, nativeQuery = true)
+    int backfillRange(@Param("afterId") long afterId, @Param("untilId") long untilId);
+}
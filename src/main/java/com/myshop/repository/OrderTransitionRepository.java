@@ -0,0 +1,20 @@
+package com.myshop.repository;
+
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public interface OrderTransitionRepository {
+
+    /**
+     * Moves every order still at its expected version to {@code orderStatus} (and {@code paymentStatus}
+     * when not null), bumping the version, as one JDBC batch of compare-and-set updates.
+     *
+     * @return ids of the orders that were updated; the others changed since their version was read
+     */
+    List<Long> compareAndSetStatuses(Map<Long, Long> expectedVersions, OrderStatus orderStatus,
+                                     PaymentStatus paymentStatus, Instant updatedAt);
+}
@@ -0,0 +1,51 @@
+package com.myshop.repository;
+
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+class OrderTransitionRepositoryImpl implements OrderTransitionRepository {
+
+    private static final String CAS_SQL = """
+            UPDATE orders
+            SET order_status = ?, payment_status = COALESCE(?, payment_status), updated_at = ?, version = version + 1
+            WHERE order_id = ? AND version = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> compareAndSetStatuses(Map<Long, Long> expectedVersions, OrderStatus orderStatus,
+                                            PaymentStatus paymentStatus, Instant updatedAt) {
+        if (expectedVersions.isEmpty()) {
+            return List.of();
+        }
+        String payment = paymentStatus != null ? paymentStatus.name() : null;
+        LocalDateTime updated = LocalDateTime.ofInstant(updatedAt, ZoneOffset.UTC);
+        List<Long> orderIds = new ArrayList<>(expectedVersions.size());
+        List<Object[]> args = new ArrayList<>(expectedVersions.size());
+        expectedVersions.forEach((orderId, version) -> {
+            orderIds.add(orderId);
+            args.add(new Object[]{orderStatus.name(), payment, updated, orderId, version});
+        });
+
+        // per-statement update counts tell which compare-and-sets won (see ProductStockRepositoryImpl)
+        int[] counts = jdbcTemplate.batchUpdate(CAS_SQL, args);
+        List<Long> updatedIds = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                updatedIds.add(orderIds.get(i));
+            }
+        }
+        return updatedIds;
+    }
+}
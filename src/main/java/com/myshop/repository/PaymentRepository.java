@@ -1,12 +1,21 @@
 package com.myshop.repository;
 
 import com.myshop.domain.entity.Payment;
+import com.myshop.domain.enums.PaymentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Optional;
 
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Optional<Payment> findByOrderId(Long orderId);
     boolean existsByOrderId(Long orderId);
-}
 
+    @Modifying
+    @Query("UPDATE Payment p SET p.paymentStatus = :paymentStatus WHERE p.order.id IN :orderIds")
+    int updatePaymentStatusByOrderIdIn(@Param("orderIds") Collection<Long> orderIds,
+                                       @Param("paymentStatus") PaymentStatus paymentStatus);
+}
@@ -1,14 +1,20 @@
 package com.myshop.repository;
 
 import com.myshop.domain.entity.Product;
+import com.myshop.domain.value.Money;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
-import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductStockRepository {
 
     @Query("""
             SELECT p FROM Product p
@@ -18,11 +24,37 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
               AND (:search IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%')))
             """)
     List<Product> searchProducts(@Param("categoryId") Long categoryId,
-                                 @Param("minPrice") BigDecimal minPrice,
-                                 @Param("maxPrice") BigDecimal maxPrice,
+                                 @Param("minPrice") Money minPrice,
+                                 @Param("maxPrice") Money maxPrice,
                                  @Param("search") String search);
 
     boolean existsByCategoryId(Long categoryId);
 
+    // rows are locked in ascending id order so two carts sharing products cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000"))
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> lockAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    // shared lock: waits out a stock overwrite in progress so a counter never loads the value it replaces
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("""
+            SELECT p.stockQuantity - COALESCE((SELECT SUM(i.quantity) FROM OrderItem i
+                                               WHERE i.product = p AND i.stockPending = true), 0)
+            FROM Product p
+            WHERE p.id = :id
+            """)
+    Long findStockNetOfPending(@Param("id") Long id);
+
+    // relative update: returns the ordered quantities of the given orders to stock in one statement
+    @Modifying
+    @Query("""
+            UPDATE Product p
+            SET p.stockQuantity = p.stockQuantity
+                    + (SELECT SUM(i.quantity) FROM OrderItem i WHERE i.product = p AND i.order.id IN :orderIds)
+            WHERE p.id IN (SELECT i.product.id FROM OrderItem i WHERE i.order.id IN :orderIds)
+            """)
+    int restockForOrders(@Param("orderIds") Collection<Long> orderIds);
+
 }
 
@@ -0,0 +1,27 @@
+package com.myshop.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface ProductStockRepository {
+
+    /**
+     * Locks the product rows ({@code SELECT ... FOR UPDATE}, ascending id) and returns their current stock,
+     * read past any snapshot the surrounding transaction holds.
+     */
+    Map<Long, Integer> lockStock(Collection<Long> productIds);
+
+    /**
+     * Applies guarded decrements ({@code stock = stock - qty WHERE stock >= qty}) as one JDBC batch,
+     * in the iteration order of {@code quantitiesByProductId}.
+     *
+     * @return ids of the products whose stock was too low; empty when every line was reserved
+     */
+    List<Long> decrementStock(Map<Long, Integer> quantitiesByProductId);
+
+    /**
+     * Applies unguarded relative updates ({@code stock = stock + delta}) as one JDBC batch.
+     */
+    void adjustStock(Map<Long, Long> deltasByProductId);
+}
@@ -0,0 +1,86 @@
+package com.myshop.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+class ProductStockRepositoryImpl implements ProductStockRepository {
+
+    private static final String DECREMENT_SQL = """
+            UPDATE products
+            SET stock_quantity = stock_quantity - ?
+            WHERE product_id = ? AND stock_quantity >= ?
+            """;
+
+    private static final String ADJUST_SQL = """
+            UPDATE products
+            SET stock_quantity = stock_quantity + ?
+            WHERE product_id = ?
+            """;
+
+    private static final String LOCK_SQL = """
+            SELECT product_id, stock_quantity
+            FROM products
+            WHERE product_id IN (%s)
+            ORDER BY product_id
+            FOR UPDATE
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Map<Long, Integer> lockStock(Collection<Long> productIds) {
+        Map<Long, Integer> stock = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return stock;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(productIds.size(), "?"));
+        jdbcTemplate.query(LOCK_SQL.formatted(placeholders),
+                rs -> {
+                    stock.put(rs.getLong("product_id"), rs.getInt("stock_quantity"));
+                },
+                productIds.toArray());
+        return stock;
+    }
+
+    @Override
+    public List<Long> decrementStock(Map<Long, Integer> quantitiesByProductId) {
+        if (quantitiesByProductId.isEmpty()) {
+            return List.of();
+        }
+        List<Long> productIds = new ArrayList<>(quantitiesByProductId.size());
+        List<Object[]> args = new ArrayList<>(quantitiesByProductId.size());
+        quantitiesByProductId.forEach((productId, quantity) -> {
+            productIds.add(productId);
+            args.add(new Object[]{quantity, productId, quantity});
+        });
+
+        // relies on per-statement update counts, which the driver still reports when rewriteBatchedStatements
+        // sends the batch as one multi-statement
+        int[] counts = jdbcTemplate.batchUpdate(DECREMENT_SQL, args);
+        List<Long> insufficient = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                insufficient.add(productIds.get(i));
+            }
+        }
+        return insufficient;
+    }
+
+    @Override
+    public void adjustStock(Map<Long, Long> deltasByProductId) {
+        if (deltasByProductId.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(deltasByProductId.size());
+        deltasByProductId.forEach((productId, delta) -> args.add(new Object[]{delta, productId}));
+        jdbcTemplate.batchUpdate(ADJUST_SQL, args);
+    }
+}
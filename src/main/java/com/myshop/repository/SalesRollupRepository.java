@@ -0,0 +1,40 @@
+package com.myshop.repository;
+
+import com.myshop.domain.entity.DailyCategorySales;
+import com.myshop.domain.entity.DailySales;
+import com.myshop.repository.projection.OrderRollupRow;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface SalesRollupRepository {
+
+    /**
+     * Adds every measure of {@code deltas} to the row with the same day, payment method and slot
+     * ({@code INSERT ... ON DUPLICATE KEY UPDATE col = col + delta}), as one JDBC batch in iteration order.
+     */
+    void addDailySales(Collection<DailySales> deltas);
+
+    /**
+     * Same as {@link #addDailySales} for the per-category rollup.
+     */
+    void addCategorySales(Collection<DailyCategorySales> deltas);
+
+    /**
+     * Reads the rollup contribution of the given orders straight from orders, order_items and products.
+     */
+    List<OrderRollupRow> findRollupRows(Collection<Long> orderIds);
+
+    Map<Long, List<OrderRollupRow.CategoryLine>> findCategoryLines(Collection<Long> orderIds);
+
+    /**
+     * Replaces the rollup rows of {@code day} with aggregates of the orders created in
+     * {@code [from, until)}, striped over {@code slots}.
+     *
+     * @return rollup rows written across both tables
+     */
+    int rebuildDay(LocalDate day, Instant from, Instant until, int slots);
+}
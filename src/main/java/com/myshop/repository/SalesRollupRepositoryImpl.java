@@ -0,0 +1,202 @@
+package com.myshop.repository;
+
+import com.myshop.domain.entity.DailyCategorySales;
+import com.myshop.domain.entity.DailySales;
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.domain.value.Money;
+import com.myshop.repository.projection.OrderRollupRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+class SalesRollupRepositoryImpl implements SalesRollupRepository {
+
+    private static final String ADD_DAILY_SQL = """
+            INSERT INTO daily_sales (sales_date, payment_method, slot, order_count, revenue,
+                                     paid_order_count, paid_revenue, cancelled_order_count, cancelled_revenue)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                order_count = order_count + VALUES(order_count),
+                revenue = revenue + VALUES(revenue),
+                paid_order_count = paid_order_count + VALUES(paid_order_count),
+                paid_revenue = paid_revenue + VALUES(paid_revenue),
+                cancelled_order_count = cancelled_order_count + VALUES(cancelled_order_count),
+                cancelled_revenue = cancelled_revenue + VALUES(cancelled_revenue)
+            """;
+
+    private static final String ADD_CATEGORY_SQL = """
+            INSERT INTO daily_category_sales (sales_date, category_id, payment_method, slot, units, revenue,
+                                              cancelled_units, cancelled_revenue)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                units = units + VALUES(units),
+                revenue = revenue + VALUES(revenue),
+                cancelled_units = cancelled_units + VALUES(cancelled_units),
+                cancelled_revenue = cancelled_revenue + VALUES(cancelled_revenue)
+            """;
+
+    private static final String ORDERS_SQL = """
+            SELECT order_id, created_at, payment_method, total_amount, order_status, payment_status
+            FROM orders
+            WHERE order_id IN (%s)
+            """;
+
+    // lines are booked under the category snapshotted at checkout; the live product only covers rows from before it
+    private static final String LINES_SQL = """
+            SELECT i.order_id, COALESCE(i.category_id, p.category_id) AS category_id,
+                   SUM(i.quantity) AS units, SUM(i.quantity * i.unit_price) AS revenue
+            FROM order_items i
+            JOIN products p ON p.product_id = i.product_id
+            WHERE i.order_id IN (%s)
+            GROUP BY i.order_id, COALESCE(i.category_id, p.category_id)
+            """;
+
+    private static final String DELETE_DAILY_SQL = "DELETE FROM daily_sales WHERE sales_date = ?";
+
+    private static final String DELETE_CATEGORY_SQL = "DELETE FROM daily_category_sales WHERE sales_date = ?";
+
+    // the slot count is an int from configuration, inlined so GROUP BY can match the selected expression;
+    // archived orders count too, so a rebuild of an archived day reproduces what was booked live
+    private static final String REBUILD_DAILY_SQL = """
+            INSERT INTO daily_sales (sales_date, payment_method, slot, order_count, revenue,
+                                     paid_order_count, paid_revenue, cancelled_order_count, cancelled_revenue)
+            SELECT ?, o.payment_method, MOD(o.order_id, %1$d),
+                   COUNT(*),
+                   SUM(o.total_amount),
+                   SUM(CASE WHEN o.payment_status = 'SUCCESS' THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN o.payment_status = 'SUCCESS' THEN o.total_amount ELSE 0 END),
+                   SUM(CASE WHEN o.order_status = 'CANCELLED' THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN o.order_status = 'CANCELLED' THEN o.total_amount ELSE 0 END)
+            FROM (
+                SELECT order_id, payment_method, payment_status, order_status, total_amount
+                FROM orders
+                WHERE created_at >= ? AND created_at < ?
+                UNION ALL
+                SELECT order_id, payment_method, payment_status, order_status, total_amount
+                FROM archived_orders
+                WHERE created_at >= ? AND created_at < ?
+            ) o
+            GROUP BY o.payment_method, MOD(o.order_id, %1$d)
+            """;
+
+    private static final String REBUILD_CATEGORY_SQL = """
+            INSERT INTO daily_category_sales (sales_date, category_id, payment_method, slot, units, revenue,
+                                              cancelled_units, cancelled_revenue)
+            SELECT ?, COALESCE(l.category_id, p.category_id), l.payment_method, MOD(l.order_id, %1$d),
+                   SUM(l.quantity),
+                   SUM(l.quantity * l.unit_price),
+                   SUM(CASE WHEN l.order_status = 'CANCELLED' THEN l.quantity ELSE 0 END),
+                   SUM(CASE WHEN l.order_status = 'CANCELLED' THEN l.quantity * l.unit_price ELSE 0 END)
+            FROM (
+                SELECT o.order_id, o.payment_method, o.order_status, i.product_id, i.category_id, i.quantity, i.unit_price
+                FROM orders o
+                JOIN order_items i ON i.order_id = o.order_id
+                WHERE o.created_at >= ? AND o.created_at < ?
+                UNION ALL
+                SELECT a.order_id, a.payment_method, a.order_status, i.product_id, i.category_id, i.quantity, i.unit_price
+                FROM archived_orders a
+                JOIN archived_order_items i ON i.order_id = a.order_id
+                WHERE a.created_at >= ? AND a.created_at < ?
+            ) l
+            JOIN products p ON p.product_id = l.product_id
+            GROUP BY COALESCE(l.category_id, p.category_id), l.payment_method, MOD(l.order_id, %1$d)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addDailySales(Collection<DailySales> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        for (DailySales delta : deltas) {
+            args.add(new Object[]{Date.valueOf(delta.getSalesDate()), delta.getPaymentMethod().name(), delta.getSlot(),
+                    delta.getOrderCount(), delta.getRevenue(), delta.getPaidOrderCount(), delta.getPaidRevenue(),
+                    delta.getCancelledOrderCount(), delta.getCancelledRevenue()});
+        }
+        jdbcTemplate.batchUpdate(ADD_DAILY_SQL, args);
+    }
+
+    @Override
+    public void addCategorySales(Collection<DailyCategorySales> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        for (DailyCategorySales delta : deltas) {
+            args.add(new Object[]{Date.valueOf(delta.getSalesDate()), delta.getCategoryId(),
+                    delta.getPaymentMethod().name(), delta.getSlot(), delta.getUnits(), delta.getRevenue(),
+                    delta.getCancelledUnits(), delta.getCancelledRevenue()});
+        }
+        jdbcTemplate.batchUpdate(ADD_CATEGORY_SQL, args);
+    }
+
+    @Override
+    public List<OrderRollupRow> findRollupRows(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<OrderRollupRow.CategoryLine>> lines = findCategoryLines(orderIds);
+        return jdbcTemplate.query(ORDERS_SQL.formatted(placeholders(orderIds.size())),
+                (rs, rowNum) -> {
+                    long orderId = rs.getLong("order_id");
+                    return OrderRollupRow.builder()
+                            .orderId(orderId)
+                            .createdAt(rs.getObject("created_at", LocalDateTime.class).toInstant(ZoneOffset.UTC))
+                            .paymentMethod(OrderPaymentMethod.valueOf(rs.getString("payment_method")))
+                            .totalMinorUnits(Money.toMinorUnits(rs.getBigDecimal("total_amount")))
+                            .orderStatus(OrderStatus.valueOf(rs.getString("order_status")))
+                            .paymentStatus(PaymentStatus.valueOf(rs.getString("payment_status")))
+                            .lines(lines.getOrDefault(orderId, List.of()))
+                            .build();
+                },
+                orderIds.toArray());
+    }
+
+    @Override
+    public Map<Long, List<OrderRollupRow.CategoryLine>> findCategoryLines(Collection<Long> orderIds) {
+        Map<Long, List<OrderRollupRow.CategoryLine>> lines = new HashMap<>();
+        if (orderIds.isEmpty()) {
+            return lines;
+        }
+        jdbcTemplate.query(LINES_SQL.formatted(placeholders(orderIds.size())),
+                rs -> {
+                    lines.computeIfAbsent(rs.getLong("order_id"), id -> new ArrayList<>())
+                            .add(new OrderRollupRow.CategoryLine(rs.getLong("category_id"), rs.getLong("units"),
+                                    Money.toMinorUnits(rs.getBigDecimal("revenue"))));
+                },
+                orderIds.toArray());
+        return lines;
+    }
+
+    @Override
+    public int rebuildDay(LocalDate day, Instant from, Instant until, int slots) {
+        Date salesDate = Date.valueOf(day);
+        jdbcTemplate.update(DELETE_DAILY_SQL, salesDate);
+        jdbcTemplate.update(DELETE_CATEGORY_SQL, salesDate);
+        // Hibernate stores Instant columns as UTC wall-clock DATETIME values
+        LocalDateTime start = LocalDateTime.ofInstant(from, ZoneOffset.UTC);
+        LocalDateTime end = LocalDateTime.ofInstant(until, ZoneOffset.UTC);
+        return jdbcTemplate.update(REBUILD_DAILY_SQL.formatted(slots), salesDate, start, end, start, end)
+                + jdbcTemplate.update(REBUILD_CATEGORY_SQL.formatted(slots), salesDate, start, end, start, end);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,30 @@
+package com.myshop.repository;
+
+import com.myshop.domain.entity.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, Long> {
+
+    boolean existsByName(String name);
+
+    // renews a lease the holder already has, or takes over one that has expired
+    @Modifying
+    @Query("""
+            UPDATE SchedulerLease l
+            SET l.holder = :holder, l.expiresAt = :expiresAt
+            WHERE l.name = :name AND (l.holder = :holder OR l.expiresAt < :now)
+            """)
+    int acquire(@Param("name") String name,
+                @Param("holder") String holder,
+                @Param("expiresAt") Instant expiresAt,
+                @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.expiresAt = :now WHERE l.name = :name AND l.holder = :holder")
+    int release(@Param("name") String name, @Param("holder") String holder, @Param("now") Instant now);
+}
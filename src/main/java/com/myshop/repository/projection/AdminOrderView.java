@@ -0,0 +1,19 @@
+package com.myshop.repository.projection;
+
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.domain.value.Money;
+
+import java.time.Instant;
+
+public interface AdminOrderView {
+    Long getId();
+    Long getUserId();
+    OrderStatus getOrderStatus();
+    PaymentStatus getPaymentStatus();
+    OrderPaymentMethod getPaymentMethod();
+    Money getTotalAmount();
+    Long getItemCount();
+    Instant getCreatedAt();
+}
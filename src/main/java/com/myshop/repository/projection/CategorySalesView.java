@@ -0,0 +1,11 @@
+package com.myshop.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface CategorySalesView {
+    Long getCategoryId();
+    Long getUnits();
+    BigDecimal getRevenue();
+    Long getCancelledUnits();
+    BigDecimal getCancelledRevenue();
+}
@@ -0,0 +1,14 @@
+package com.myshop.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface DailySalesView {
+    LocalDate getSalesDate();
+    Long getOrderCount();
+    BigDecimal getRevenue();
+    Long getPaidOrderCount();
+    BigDecimal getPaidRevenue();
+    Long getCancelledOrderCount();
+    BigDecimal getCancelledRevenue();
+}
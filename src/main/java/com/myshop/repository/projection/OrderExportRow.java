@@ -0,0 +1,30 @@
+package com.myshop.repository.projection;
+
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.domain.value.Money;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * One order line of an export, with its order's header repeated on every line.
+ */
+@Value
+@Builder
+public class OrderExportRow {
+    Long orderId;
+    Instant createdAt;
+    Long userId;
+    OrderStatus orderStatus;
+    PaymentStatus paymentStatus;
+    OrderPaymentMethod paymentMethod;
+    Money totalAmount;
+    Long itemId;
+    Long productId;
+    String productName;
+    Integer quantity;
+    Money unitPrice;
+}
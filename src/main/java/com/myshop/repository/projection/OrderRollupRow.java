@@ -0,0 +1,33 @@
+package com.myshop.repository.projection;
+
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * What an order contributes to the sales rollups: its header and its lines grouped by category, amounts
+ * in minor units.
+ */
+@Value
+@Builder
+public class OrderRollupRow {
+    Long orderId;
+    Instant createdAt;
+    OrderPaymentMethod paymentMethod;
+    long totalMinorUnits;
+    OrderStatus orderStatus;
+    PaymentStatus paymentStatus;
+    List<CategoryLine> lines;
+
+    @Value
+    public static class CategoryLine {
+        Long categoryId;
+        long units;
+        long revenueMinorUnits;
+    }
+}
@@ -0,0 +1,8 @@
+package com.myshop.repository.projection;
+
+import com.myshop.domain.enums.OrderStatus;
+
+public interface OrderStatusCountView {
+    OrderStatus getOrderStatus();
+    Long getTotal();
+}
@@ -0,0 +1,14 @@
+package com.myshop.repository.projection;
+
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.domain.value.Money;
+
+public interface OrderStatusView {
+    Long getId();
+    OrderStatus getOrderStatus();
+    PaymentStatus getPaymentStatus();
+    Long getVersion();
+    Long getUserId();
+    Money getTotalAmount();
+}
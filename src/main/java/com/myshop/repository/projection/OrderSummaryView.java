@@ -0,0 +1,14 @@
+package com.myshop.repository.projection;
+
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.value.Money;
+
+import java.time.Instant;
+
+public interface OrderSummaryView {
+    Long getId();
+    OrderStatus getOrderStatus();
+    Money getTotalAmount();
+    Long getItemCount();
+    Instant getCreatedAt();
+}
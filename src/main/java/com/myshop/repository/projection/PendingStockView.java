@@ -0,0 +1,7 @@
+package com.myshop.repository.projection;
+
+public interface PendingStockView {
+    Long getId();
+    Long getProductId();
+    Integer getQuantity();
+}
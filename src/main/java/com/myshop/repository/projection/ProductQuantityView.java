@@ -0,0 +1,6 @@
+package com.myshop.repository.projection;
+
+public interface ProductQuantityView {
+    Long getProductId();
+    Long getQuantity();
+}
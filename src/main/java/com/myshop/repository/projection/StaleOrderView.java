@@ -0,0 +1,8 @@
+package com.myshop.repository.projection;
+
+import java.time.Instant;
+
+public interface StaleOrderView {
+    Long getId();
+    Instant getCreatedAt();
+}
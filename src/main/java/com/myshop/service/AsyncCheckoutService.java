@@ -0,0 +1,24 @@
+package com.myshop.service;
+
+import com.myshop.dto.request.CheckoutRequest;
+import com.myshop.dto.response.CheckoutTicketResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Accepts checkouts as tickets stored in the database and places them on worker threads of any node,
+ * retrying transient failures until {@code myshop.checkout.async.max-pending-ms}. Tickets survive
+ * restarts and can be read from every node.
+ */
+public interface AsyncCheckoutService {
+
+    boolean isEnabled();
+
+    CheckoutTicketResponse submit(CheckoutRequest request);
+
+    /**
+     * Current state of a ticket; with a positive {@code waitMs} the future completes when the ticket
+     * finishes or the wait (capped at 25s) runs out, whichever comes first.
+     */
+    CompletableFuture<CheckoutTicketResponse> getTicket(String token, long waitMs);
+}
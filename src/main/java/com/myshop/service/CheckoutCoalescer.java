@@ -0,0 +1,19 @@
+package com.myshop.service;
+
+import com.myshop.dto.request.CheckoutRequest;
+import com.myshop.dto.response.OrderResponse;
+
+/**
+ * Group-commit checkout: concurrent checkouts are queued for a bounded linger and placed together
+ * in one transaction, so a burst pays for one commit instead of one per order.
+ */
+public interface CheckoutCoalescer {
+
+    boolean isEnabled();
+
+    /**
+     * Blocks until the batch holding this checkout commits. Checkouts that cannot be batched, or whose
+     * batch fails as a whole, are retried on the caller's thread through {@link OrderService#checkout}.
+     */
+    OrderResponse checkout(CheckoutRequest request);
+}
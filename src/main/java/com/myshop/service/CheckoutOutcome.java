@@ -0,0 +1,34 @@
+package com.myshop.service;
+
+import com.myshop.dto.response.OrderResponse;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Result of one checkout within a batch: the placed order, the caller's own error, or neither when
+ * the checkout has to be retried on its own (it touches stock that cannot be batched).
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class CheckoutOutcome {
+    OrderResponse order;
+    ResponseStatusException error;
+
+    public static CheckoutOutcome completed(OrderResponse order) {
+        return new CheckoutOutcome(order, null);
+    }
+
+    public static CheckoutOutcome failed(ResponseStatusException error) {
+        return new CheckoutOutcome(null, error);
+    }
+
+    public static CheckoutOutcome deferred() {
+        return new CheckoutOutcome(null, null);
+    }
+
+    public boolean isDeferred() {
+        return order == null && error == null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.myshop.service;
+
+import com.myshop.domain.entity.IdempotencyRecord;
+import lombok.Value;
+
+/**
+ * Outcome of claiming an idempotency key: either this request owns it and must execute, or another
+ * request does and {@link #getRecord()} is that request's (possibly still in-progress) record.
+ */
+@Value
+public class IdempotencyClaim {
+    boolean owner;
+    IdempotencyRecord record;
+}
@@ -0,0 +1,35 @@
+package com.myshop.service;
+
+import com.myshop.domain.entity.IdempotencyRecord;
+
+public interface IdempotencyService {
+
+    IdempotencyClaim claim(String key, String endpoint, String requestHash);
+
+    /**
+     * Stores the response of a claimed key.
+     *
+     * @return false when the claim was lost to another request, whose record is then left untouched
+     */
+    boolean complete(IdempotencyRecord record, int status, String contentType, String location, String body);
+
+    /**
+     * Releases a claimed key without storing a response, so the next retry executes again.
+     *
+     * @return false when the claim was lost to another request, whose record is then left untouched
+     */
+    boolean release(IdempotencyRecord record);
+
+    /**
+     * Waits, at most {@code timeoutMs}, for another request's in-progress record to be completed or released.
+     */
+    void awaitCompletion(IdempotencyRecord record, long timeoutMs);
+
+    /**
+     * Refreshes the lock of every key this node is still executing, so a slow request is never taken
+     * over as abandoned.
+     */
+    void renewLocks();
+
+    void purgeExpired();
+}
@@ -0,0 +1,41 @@
+package com.myshop.service;
+
+import com.myshop.domain.entity.Product;
+
+import java.util.Collection;
+
+/**
+ * In-memory stock authority for configured hot products. Reservations are taken from striped
+ * counters and committed as pending order items, which are subtracted from
+ * {@code products.stock_quantity} in periodic batches; products that are not managed keep using the
+ * database directly.
+ */
+public interface InventoryService {
+
+    boolean manages(Long productId);
+
+    /**
+     * Stock currently available to new reservations; only valid for {@link #manages managed} products.
+     */
+    long availableStock(Product product);
+
+    /**
+     * Reserves stock for the current transaction. On rollback the quantity is returned to the
+     * counter; the caller marks the order's items {@code stockPending} so the next flush writes the
+     * decrement.
+     */
+    boolean tryReserve(Product product, int quantity);
+
+    /**
+     * Returns restocked quantities of the given orders to the counters once the transaction commits.
+     */
+    void onOrdersRestocked(Collection<Long> orderIds);
+
+    /**
+     * Settles the product's pending items against an absolute stock level written by the current
+     * transaction and moves the counter by the difference. Must run before the new value is flushed.
+     */
+    void onStockOverwritten(Long productId, int stockQuantity);
+
+    void flush();
+}
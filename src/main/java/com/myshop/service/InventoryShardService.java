@@ -0,0 +1,33 @@
+package com.myshop.service;
+
+import com.myshop.domain.entity.Product;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Stock of a sharded product is its {@code products.stock_quantity} (an overflow bucket that
+ * restocks land in) plus the quantities of its {@code product_inventory_shards} rows.
+ */
+public interface InventoryShardService {
+
+    /**
+     * Total stock of every sharded product in {@code products}; unsharded products are omitted.
+     */
+    Map<Long, Long> totalStock(Collection<Product> products);
+
+    long totalStock(Product product);
+
+    /**
+     * Decrements one shard picked at random, trying the others in turn when it runs dry. Only when no
+     * single shard covers {@code quantity} are all shards locked and drained together with the overflow.
+     */
+    boolean tryDecrement(Product product, int quantity);
+
+    /**
+     * Spreads the product's total stock evenly over {@code shardCount} shards; 0 folds it back into the product row.
+     */
+    Product reshard(Long productId, int shardCount);
+
+    void overwriteStock(Product product, int stockQuantity);
+}
@@ -0,0 +1,45 @@
+package com.myshop.service;
+
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.dto.request.OrderSearchRequest;
+import com.myshop.dto.response.AdminOrderSummaryResponse;
+import com.myshop.dto.response.OrderArchiveResponse;
+import com.myshop.dto.response.OrderResponse;
+import com.myshop.dto.response.OrderSummaryResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Moves CANCELLED and paid DELIVERED orders past {@code myshop.archive.min-age-days} out of the hot order
+ * tables, and reads them back for order lookups and history.
+ */
+public interface OrderArchiveService {
+
+    /**
+     * Archives every eligible order in chunks of {@code myshop.archive.chunk-size}, one transaction per
+     * chunk. An interrupted run loses at most its current chunk; the next run picks up what is left.
+     */
+    OrderArchiveResponse archive();
+
+    Optional<OrderResponse> getArchivedOrder(Long orderId);
+
+    /**
+     * Up to {@code limit} archived orders of the user, newest first, strictly before the
+     * {@code (beforeCreatedAt, beforeId)} cursor when given.
+     */
+    List<OrderSummaryResponse> getArchivedHistory(Long userId, Instant beforeCreatedAt, Long beforeId, int limit);
+
+    /**
+     * Archived orders with their items, newest first; every archived order when {@code userId} is null.
+     */
+    List<OrderResponse> getArchivedOrders(Long userId);
+
+    Page<AdminOrderSummaryResponse> searchArchivedOrders(OrderSearchRequest criteria, Pageable pageable);
+
+    Map<OrderStatus, Long> countArchivedOrdersByStatus(Instant createdFrom, Instant createdTo);
+}
@@ -0,0 +1,16 @@
+package com.myshop.service;
+
+import com.myshop.dto.response.OrderAutoCancelResponse;
+
+/**
+ * Cancels online-payment orders whose payment is still PENDING after
+ * {@code myshop.auto-cancel.pending-minutes}, so abandoned checkouts release their stock.
+ */
+public interface OrderAutoCancelService {
+
+    /**
+     * Cancels every stale unpaid order in batches of {@code myshop.auto-cancel.batch-size} while
+     * holding the cluster-wide lease; orders paid in the meantime are skipped.
+     */
+    OrderAutoCancelResponse cancelStaleOrders();
+}
@@ -0,0 +1,11 @@
+package com.myshop.service;
+
+import com.myshop.domain.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+
+public interface OrderExportService {
+    void exportOrders(Instant createdFrom, Instant createdTo, ExportFormat format, OutputStream out) throws IOException;
+}
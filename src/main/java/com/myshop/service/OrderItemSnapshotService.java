@@ -0,0 +1,8 @@
+package com.myshop.service;
+
+import com.myshop.dto.response.OrderItemSnapshotBackfillResponse;
+
+public interface OrderItemSnapshotService {
+
+    OrderItemSnapshotBackfillResponse backfill();
+}
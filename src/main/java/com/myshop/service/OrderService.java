@@ -1,16 +1,37 @@
 package com.myshop.service;
 
+import com.myshop.dto.request.BulkOrderStatusUpdateRequest;
 import com.myshop.dto.request.CheckoutRequest;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.dto.request.OrderSearchRequest;
 import com.myshop.dto.request.OrderStatusUpdateRequest;
+import com.myshop.dto.response.AdminOrderSummaryResponse;
+import com.myshop.dto.response.BulkOrderStatusUpdateResponse;
+import com.myshop.dto.response.OrderHistoryResponse;
 import com.myshop.dto.response.OrderResponse;
+import com.myshop.dto.response.PageResponse;
+import org.springframework.data.domain.Pageable;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 public interface OrderService {
     OrderResponse checkout(CheckoutRequest request);
+    List<CheckoutOutcome> checkoutBatch(List<CheckoutRequest> requests);
     OrderResponse getOrder(Long id);
     List<OrderResponse> getOrdersForUser(Long userId);
     List<OrderResponse> getAllOrders();
+    OrderHistoryResponse getOrderHistory(Long userId, Instant beforeCreatedAt, Long beforeId, int size);
+    PageResponse<AdminOrderSummaryResponse> searchOrders(OrderSearchRequest criteria, Pageable pageable);
+    Map<OrderStatus, Long> countOrdersByStatus(Instant createdFrom, Instant createdTo);
     OrderResponse updateOrderStatus(Long orderId, OrderStatusUpdateRequest request);
+    BulkOrderStatusUpdateResponse bulkUpdateOrderStatus(BulkOrderStatusUpdateRequest request);
+
+    /**
+     * Cancels the given orders, restocking their items and marking their payment FAILED, as long as
+     * that payment is still PENDING; orders paid in the meantime are rejected instead.
+     */
+    BulkOrderStatusUpdateResponse cancelUnpaidOrders(List<Long> orderIds);
 }
 
@@ -0,0 +1,22 @@
+package com.myshop.service;
+
+import com.myshop.dto.response.OrderStatusEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes order status and payment changes to Server-Sent Events subscribers connected to this node.
+ * Changes committed on other nodes are picked up by a batched version check on every heartbeat.
+ */
+public interface OrderStatusStreamService {
+
+    /**
+     * Opens a stream that starts with the current state of the order and completes once the order
+     * can no longer change, or after {@code myshop.order-stream.timeout-ms}.
+     */
+    SseEmitter subscribe(Long orderId);
+
+    /**
+     * Queues the event for the subscribers of its order; never blocks on a slow connection.
+     */
+    void publish(OrderStatusEvent event);
+}
@@ -0,0 +1,21 @@
+package com.myshop.service;
+
+import com.myshop.domain.entity.Order;
+import com.myshop.domain.entity.OrderItem;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.dto.response.OrderSummaryBackfillResponse;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderSummaryService {
+
+    void orderPlaced(Order order, List<OrderItem> items);
+
+    void orderStatusChanged(Order order);
+
+    void orderStatusesChanged(Collection<Long> orderIds, OrderStatus orderStatus, PaymentStatus paymentStatus);
+
+    OrderSummaryBackfillResponse backfill();
+}
@@ -0,0 +1,21 @@
+package com.myshop.service;
+
+import com.myshop.domain.enums.OutboxEventType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * An outbox event as handed to sinks; {@code id} increases per aggregate and lets consumers drop redeliveries.
+ */
+@Value
+@Builder
+public class OutboxMessage {
+    Long id;
+    String aggregateType;
+    Long aggregateId;
+    OutboxEventType eventType;
+    String payload;
+    Instant createdAt;
+}
@@ -0,0 +1,26 @@
+package com.myshop.service;
+
+import com.myshop.domain.entity.Order;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.repository.projection.OrderStatusView;
+
+import java.util.Collection;
+
+public interface OutboxService {
+
+    // the record methods join the caller's transaction, so an event exists exactly when its change commits
+    void orderPlaced(Order order);
+
+    void orderStatusChanged(Order order, OrderStatus previousStatus);
+
+    /**
+     * Records one event per order, with the same payload as {@link #orderStatusChanged}; a null
+     * {@code paymentStatus} keeps each order's previous payment status.
+     */
+    void orderStatusesChanged(Collection<OrderStatusView> previousStates, OrderStatus orderStatus, PaymentStatus paymentStatus);
+
+    int relay();
+
+    void purgePublished();
+}
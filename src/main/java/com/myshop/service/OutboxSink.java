@@ -0,0 +1,17 @@
+package com.myshop.service;
+
+import java.util.List;
+
+/**
+ * Destination for relayed outbox events. Delivery is at least once: a batch is sent again, to every
+ * sink, until all sinks accept it, so implementations must tolerate duplicates.
+ */
+public interface OutboxSink {
+
+    boolean isEnabled();
+
+    /**
+     * Delivers the batch in order; throwing marks the whole batch for redelivery.
+     */
+    void publish(List<OutboxMessage> messages) throws Exception;
+}
@@ -1,6 +1,7 @@
 package com.myshop.service;
 
 import com.myshop.dto.request.CreateProductRequest;
+import com.myshop.dto.request.InventoryShardRequest;
 import com.myshop.dto.request.UpdateProductRequest;
 import com.myshop.dto.response.ProductResponse;
 import org.springframework.data.domain.Sort;
@@ -21,6 +22,8 @@ public interface ProductService {
 
     ProductResponse updateProduct(Long id, UpdateProductRequest request);
 
+    ProductResponse shardInventory(Long id, InventoryShardRequest request);
+
     void deleteProduct(Long id);
 }
 
@@ -0,0 +1,28 @@
+package com.myshop.service;
+
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.domain.value.Money;
+import com.myshop.dto.response.SalesKpiResponse;
+
+/**
+ * Live sales counters kept in memory only, per node, over the last hour. Events raised inside a
+ * transaction are counted when it completes.
+ */
+public interface SalesKpiService {
+
+    /**
+     * Counts an order once its transaction commits, or a failed checkout if it rolls back.
+     */
+    void orderPlaced(Money totalAmount, int units);
+
+    void checkoutFailed();
+
+    void orderStatusChanged(OrderStatus previousStatus, OrderStatus orderStatus,
+                            PaymentStatus previousPaymentStatus, PaymentStatus paymentStatus);
+
+    /**
+     * Orders, revenue, checkout failures and basket averages over the last 1, 5 and 60 minutes.
+     */
+    SalesKpiResponse snapshot();
+}
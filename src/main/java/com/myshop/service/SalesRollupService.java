@@ -0,0 +1,40 @@
+package com.myshop.service;
+
+import com.myshop.domain.entity.Order;
+import com.myshop.domain.entity.OrderItem;
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.dto.response.SalesReportResponse;
+import com.myshop.dto.response.SalesRollupRebuildResponse;
+import com.myshop.repository.projection.OrderStatusView;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Maintains the daily_sales and daily_category_sales rollups as relative updates inside the
+ * transaction that changes the orders, and answers date-range reports from them.
+ */
+public interface SalesRollupService {
+
+    void orderPlaced(Order order, List<OrderItem> items);
+
+    void orderStatusChanged(Order order, OrderStatus previousStatus, PaymentStatus previousPaymentStatus);
+
+    /**
+     * Runs after a bulk transition: books the difference from each order's {@code previousStates} entry
+     * to {@code orderStatus} and {@code paymentStatus} ({@code null} keeps each order's own).
+     */
+    void orderStatusesChanged(Collection<OrderStatusView> previousStates, OrderStatus orderStatus,
+                              PaymentStatus paymentStatus);
+
+    SalesReportResponse report(LocalDate from, LocalDate to, OrderPaymentMethod paymentMethod);
+
+    /**
+     * Recomputes every day of {@code [from, to]} from orders and order_items, one transaction per day,
+     * days spread over a fixed pool.
+     */
+    SalesRollupRebuildResponse rebuild(LocalDate from, LocalDate to);
+}
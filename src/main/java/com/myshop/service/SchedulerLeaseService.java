@@ -0,0 +1,18 @@
+package com.myshop.service;
+
+import java.time.Duration;
+
+/**
+ * Named leases stored in the database, so a scheduled job runs on one node at a time. Expiry is
+ * compared against each node's clock: lease durations must be well above the clock skew between nodes.
+ */
+public interface SchedulerLeaseService {
+
+    /**
+     * Takes the lease for {@code duration} if it is free or expired, or extends it if this node
+     * already holds it.
+     */
+    boolean tryAcquire(String name, Duration duration);
+
+    void release(String name);
+}
@@ -0,0 +1,361 @@
+package com.myshop.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myshop.domain.entity.CheckoutTicket;
+import com.myshop.domain.enums.CheckoutTicketStatus;
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.dto.request.CheckoutRequest;
+import com.myshop.dto.response.CheckoutTicketResponse;
+import com.myshop.dto.response.OrderResponse;
+import com.myshop.repository.CheckoutTicketRepository;
+import com.myshop.service.AsyncCheckoutService;
+import com.myshop.service.OrderService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A ticket is claimed by moving its due time past the claim expiry; whichever node claims a due ticket
+ * runs it. The order is placed in the same transaction that records the ticket as completed, fenced on
+ * the claim token, so an attempt whose claim expired and was taken over rolls back instead of placing
+ * a second order.
+ */
+@Service
+@RequiredArgsConstructor
+public class AsyncCheckoutServiceImpl implements AsyncCheckoutService {
+
+    // clearly below the container's default 30 s async request timeout, so a long wait answers 200, not 503
+    private static final long MAX_WAIT_MS = 25_000;
+    private static final long MAX_BACKOFF_MS = 5_000;
+    private static final long POLL_INTERVAL_MS = 200;
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final List<CheckoutTicketStatus> DUE_STATUSES =
+            List.of(CheckoutTicketStatus.QUEUED, CheckoutTicketStatus.PROCESSING);
+
+    private final OrderService orderService;
+    private final CheckoutTicketRepository checkoutTicketRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    // wakes waiters on the node running a ticket; waiters elsewhere poll the table
+    private final ConcurrentMap<Long, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${myshop.checkout.async.enabled:false}")
+    private boolean enabled;
+
+    @Value("${myshop.checkout.async.workers:4}")
+    private int workers = 4;
+
+    @Value("${myshop.checkout.async.queue-capacity:1000}")
+    private int queueCapacity = 1000;
+
+    // runs the ticket reads of long-polling waiters; each waiter holds at most one queued step
+    @Value("${myshop.checkout.async.wait-threads:4}")
+    private int waitThreads = 4;
+
+    @Value("${myshop.checkout.async.wait-queue-capacity:1000}")
+    private int waitQueueCapacity = 1000;
+
+    // transient failures, a database outage included, are retried for this long after submission
+    @Value("${myshop.checkout.async.max-pending-ms:1800000}")
+    private long maxPendingMs = 1_800_000;
+
+    @Value("${myshop.checkout.async.retry-backoff-ms:200}")
+    private long retryBackoffMs = 200;
+
+    // a claimed ticket not finished within this is assumed lost with its node and runs again elsewhere
+    @Value("${myshop.checkout.async.claim-ttl-ms:60000}")
+    private long claimTtlMs = 60_000;
+
+    @Value("${myshop.checkout.async.result-ttl-ms:600000}")
+    private long resultTtlMs = 600_000;
+
+    private ThreadPoolExecutor executor;
+    private ThreadPoolExecutor waiter;
+
+    @PostConstruct
+    public void start() {
+        // tickets may be waited on here even when another node runs them
+        waiter = new ThreadPoolExecutor(waitThreads, waitThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(waitQueueCapacity), new CustomizableThreadFactory("checkout-wait-"));
+        if (!enabled) {
+            return;
+        }
+        // the local queue only buffers claimed tickets; the backlog itself stays in the table
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("checkout-worker-"));
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        waiter.shutdown();
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        executor.awaitTermination(MAX_WAIT_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public CheckoutTicketResponse submit(CheckoutRequest request) {
+        // only request-shape checks here; anything needing the order tables is left to the worker
+        if (request.getPaymentMethod() == OrderPaymentMethod.ONLINE_PAYMENT && request.getPaymentGateway() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Payment gateway is required for online payments");
+        }
+
+        // stored already claimed by this node, so the first attempt starts without waiting for a poll
+        Instant now = Instant.now();
+        String claimToken = UUID.randomUUID().toString();
+        CheckoutTicket ticket;
+        try {
+            ticket = transactionTemplate.execute(status -> checkoutTicketRepository.saveAndFlush(CheckoutTicket.builder()
+                    .token(UUID.randomUUID().toString())
+                    .status(CheckoutTicketStatus.PROCESSING)
+                    .request(toJson(request))
+                    .attempts(1)
+                    .claimToken(claimToken)
+                    .nextAttemptAt(now.plusMillis(claimTtlMs))
+                    .submittedAt(now)
+                    .build()));
+        } catch (DataAccessException | CannotCreateTransactionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Checkout could not be accepted, please retry", e);
+        }
+        dispatch(new Claim(ticket.getId(), claimToken, request, ticket.getSubmittedAt()));
+        return toResponse(ticket);
+    }
+
+    @Override
+    public CompletableFuture<CheckoutTicketResponse> getTicket(String token, long waitMs) {
+        CheckoutTicket ticket = checkoutTicketRepository.findByToken(token)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Checkout ticket not found"));
+        if (waitMs <= 0 || isFinished(ticket)) {
+            return CompletableFuture.completedFuture(toResponse(ticket));
+        }
+        return await(ticket.getId(), System.currentTimeMillis() + Math.min(waitMs, MAX_WAIT_MS));
+    }
+
+    /**
+     * Claims due tickets for the free capacity of this node: tickets queued for a retry, and tickets
+     * whose claim expired because the node running them went away.
+     */
+    @Scheduled(fixedDelayString = "${myshop.checkout.async.poll-interval-ms:500}")
+    public void claimDueTickets() {
+        if (!enabled) {
+            return;
+        }
+        int capacity = executor.getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+        try {
+            Instant now = Instant.now();
+            for (Long id : checkoutTicketRepository.findDueIds(DUE_STATUSES, now, PageRequest.ofSize(capacity))) {
+                String claimToken = UUID.randomUUID().toString();
+                Integer claimed = transactionTemplate.execute(status -> checkoutTicketRepository.claim(id, DUE_STATUSES,
+                        CheckoutTicketStatus.PROCESSING, claimToken, now.plusMillis(claimTtlMs), now));
+                if (claimed != null && claimed == 1) {
+                    checkoutTicketRepository.findById(id).ifPresent(ticket -> dispatch(
+                            new Claim(id, claimToken, fromJson(ticket.getRequest()), ticket.getSubmittedAt())));
+                }
+            }
+        } catch (DataAccessException | CannotCreateTransactionException e) {
+            // the database is unavailable; due tickets are claimed on a later tick
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${myshop.checkout.async.purge-interval-ms:60000}")
+    public void purgeExpiredTickets() {
+        if (!enabled) {
+            return;
+        }
+        Instant cutoff = Instant.now().minusMillis(resultTtlMs);
+        transactionTemplate.executeWithoutResult(status -> checkoutTicketRepository.deleteCompletedBefore(cutoff));
+    }
+
+    private void dispatch(Claim claim) {
+        inFlight.putIfAbsent(claim.id(), new CompletableFuture<>());
+        try {
+            executor.execute(() -> process(claim));
+        } catch (RejectedExecutionException e) {
+            // hand the ticket back at once instead of waiting out the claim
+            requeue(claim, Instant.now());
+            wake(claim.id());
+        }
+    }
+
+    private void process(Claim claim) {
+        try {
+            transactionTemplate.execute(status -> {
+                OrderResponse order = orderService.checkout(claim.request());
+                if (checkoutTicketRepository.complete(claim.id(), claim.claimToken(), CheckoutTicketStatus.COMPLETED,
+                        order.getId(), Instant.now()) != 1) {
+                    throw new LostClaimException();
+                }
+                return order;
+            });
+        } catch (LostClaimException e) {
+            // another node took the ticket over; its attempt records the outcome
+        } catch (RuntimeException e) {
+            if (isRetryable(e) && Instant.now().isBefore(claim.submittedAt().plusMillis(maxPendingMs))) {
+                requeue(claim, Instant.now().plusMillis(backoff(claim)));
+            } else {
+                fail(claim, e);
+            }
+        } finally {
+            wake(claim.id());
+        }
+    }
+
+    private void requeue(Claim claim, Instant nextAttemptAt) {
+        try {
+            transactionTemplate.execute(status -> checkoutTicketRepository.retryLater(
+                    claim.id(), claim.claimToken(), CheckoutTicketStatus.QUEUED, nextAttemptAt));
+        } catch (DataAccessException | CannotCreateTransactionException e) {
+            // still unreachable: the claim expires and the ticket runs again then
+        }
+    }
+
+    private void fail(Claim claim, RuntimeException e) {
+        int errorStatus;
+        String errorMessage;
+        if (e instanceof ResponseStatusException statusException) {
+            errorStatus = statusException.getStatusCode().value();
+            errorMessage = truncate(statusException.getReason());
+        } else {
+            errorStatus = HttpStatus.SERVICE_UNAVAILABLE.value();
+            errorMessage = "Checkout could not be completed, please retry";
+        }
+        try {
+            transactionTemplate.execute(status -> checkoutTicketRepository.fail(claim.id(), claim.claimToken(),
+                    CheckoutTicketStatus.FAILED, errorStatus, errorMessage, Instant.now()));
+        } catch (DataAccessException | CannotCreateTransactionException ex) {
+            // the claim expires and the ticket runs again then
+        }
+    }
+
+    private long backoff(Claim claim) {
+        long elapsed = Math.max(0, Instant.now().toEpochMilli() - claim.submittedAt().toEpochMilli());
+        // roughly doubles with the time already spent, from retry-backoff-ms up to MAX_BACKOFF_MS
+        return Math.min(Math.max(retryBackoffMs, elapsed), MAX_BACKOFF_MS);
+    }
+
+    private CompletableFuture<CheckoutTicketResponse> await(Long id, long deadline) {
+        long remaining = deadline - System.currentTimeMillis();
+        CompletableFuture<Void> local = inFlight.get(id);
+        CompletableFuture<Void> delay = CompletableFuture.runAsync(() -> { },
+                CompletableFuture.delayedExecutor(Math.max(0, Math.min(POLL_INTERVAL_MS, remaining)), TimeUnit.MILLISECONDS));
+        CompletableFuture<?> next = local != null ? CompletableFuture.anyOf(local, delay) : delay;
+        return next.thenComposeAsync(ignored -> {
+            CheckoutTicket ticket = checkoutTicketRepository.findById(id)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Checkout ticket not found"));
+            if (isFinished(ticket) || System.currentTimeMillis() >= deadline) {
+                return CompletableFuture.completedFuture(toResponse(ticket));
+            }
+            return await(id, deadline);
+        }, this::runWaitStep);
+    }
+
+    // the step reads the ticket and the order over JDBC, so it must not run on the common pool
+    private void runWaitStep(Runnable step) {
+        try {
+            waiter.execute(step);
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many checkouts are being waited on, please retry", e);
+        }
+    }
+
+    private void wake(Long id) {
+        CompletableFuture<Void> waiters = inFlight.remove(id);
+        if (waiters != null) {
+            waiters.complete(null);
+        }
+    }
+
+    private static boolean isFinished(CheckoutTicket ticket) {
+        return ticket.getStatus() == CheckoutTicketStatus.COMPLETED || ticket.getStatus() == CheckoutTicketStatus.FAILED;
+    }
+
+    private static boolean isRetryable(RuntimeException e) {
+        if (e instanceof ResponseStatusException statusException) {
+            // lock timeouts on busy products
+            return statusException.getStatusCode() == HttpStatus.CONFLICT;
+        }
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private CheckoutTicketResponse toResponse(CheckoutTicket ticket) {
+        OrderResponse order = ticket.getOrderId() != null ? orderService.getOrder(ticket.getOrderId()) : null;
+        return CheckoutTicketResponse.builder()
+                .token(ticket.getToken())
+                .status(ticket.getStatus())
+                .attempts(ticket.getAttempts())
+                .order(order)
+                .errorStatus(ticket.getErrorStatus())
+                .errorMessage(ticket.getErrorMessage())
+                .submittedAt(ticket.getSubmittedAt())
+                .completedAt(ticket.getCompletedAt())
+                .build();
+    }
+
+    private String toJson(CheckoutRequest request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize checkout request", e);
+        }
+    }
+
+    private CheckoutRequest fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, CheckoutRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read checkout request", e);
+        }
+    }
+
+    private record Claim(Long id, String claimToken, CheckoutRequest request, Instant submittedAt) {
+    }
+
+    private static final class LostClaimException extends RuntimeException {
+        private LostClaimException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -10,6 +10,8 @@ import com.myshop.repository.CartItemRepository;
 import com.myshop.repository.ProductRepository;
 import com.myshop.repository.UserRepository;
 import com.myshop.service.CartService;
+import com.myshop.service.InventoryService;
+import com.myshop.service.InventoryShardService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -25,6 +27,8 @@ public class CartServiceImpl implements CartService {
     private final CartItemRepository cartItemRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
+    private final InventoryService inventoryService;
+    private final InventoryShardService inventoryShardService;
 
     @Override
     @Transactional(readOnly = true)
@@ -100,7 +104,7 @@ public class CartServiceImpl implements CartService {
     private Product ensureProductExists(Long productId) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found"));
-        if (product.getStockQuantity() <= 0) {
+        if (availableStock(product) <= 0) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Product is out of stock");
         }
         return product;
@@ -110,9 +114,18 @@ public class CartServiceImpl implements CartService {
         if (requestedQty == null || requestedQty <= 0) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Quantity must be greater than zero");
         }
-        if (requestedQty > product.getStockQuantity()) {
+        if (requestedQty > availableStock(product)) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Requested quantity exceeds stock");
         }
     }
+
+    private long availableStock(Product product) {
+        if (inventoryService.manages(product.getId())) {
+            return inventoryService.availableStock(product);
+        }
+        return product.getInventoryShardCount() > 0
+                ? inventoryShardService.totalStock(product)
+                : product.getStockQuantity();
+    }
 }
 
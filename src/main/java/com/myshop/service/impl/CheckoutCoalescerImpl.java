@@ -0,0 +1,156 @@
+package com.myshop.service.impl;
+
+import com.myshop.dto.request.CheckoutRequest;
+import com.myshop.dto.response.OrderResponse;
+import com.myshop.service.CheckoutCoalescer;
+import com.myshop.service.CheckoutOutcome;
+import com.myshop.service.OrderService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+@RequiredArgsConstructor
+public class CheckoutCoalescerImpl implements CheckoutCoalescer {
+
+    private final OrderService orderService;
+
+    @Value("${myshop.checkout.group-commit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${myshop.checkout.group-commit.max-batch-size:64}")
+    private int maxBatchSize = 64;
+
+    @Value("${myshop.checkout.group-commit.linger-ms:5}")
+    private long lingerMs = 5;
+
+    @Value("${myshop.checkout.group-commit.queue-capacity:2048}")
+    private int queueCapacity = 2048;
+
+    @Value("${myshop.checkout.group-commit.timeout-ms:10000}")
+    private long timeoutMs = 10000;
+
+    private BlockingQueue<PendingCheckout> queue;
+    private Thread worker;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        worker = new Thread(this::run, "checkout-coalescer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+        running = false;
+        worker.interrupt();
+        worker.join(timeoutMs);
+        // anything still queued is handed back to its caller to run on its own
+        List<PendingCheckout> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        leftover.forEach(pending -> pending.result.complete(CheckoutOutcome.deferred()));
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public OrderResponse checkout(CheckoutRequest request) {
+        PendingCheckout pending = new PendingCheckout(request);
+        if (!running || !queue.offer(pending)) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Checkout queue is full, please retry");
+        }
+
+        CheckoutOutcome outcome;
+        try {
+            outcome = pending.result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Checkout interrupted", e);
+        } catch (TimeoutException e) {
+            // the order may still be placed once its batch commits
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Checkout is still processing", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Checkout batch failed", e.getCause());
+        }
+
+        if (outcome.getError() != null) {
+            throw outcome.getError();
+        }
+        return outcome.isDeferred() ? orderService.checkout(request) : outcome.getOrder();
+    }
+
+    private void run() {
+        while (running) {
+            List<PendingCheckout> batch;
+            try {
+                batch = nextBatch();
+            } catch (InterruptedException e) {
+                return;
+            }
+            process(batch);
+        }
+    }
+
+    private List<PendingCheckout> nextBatch() throws InterruptedException {
+        List<PendingCheckout> batch = new ArrayList<>(maxBatchSize);
+        batch.add(queue.take());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            PendingCheckout next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void process(List<PendingCheckout> batch) {
+        List<CheckoutOutcome> outcomes;
+        try {
+            outcomes = orderService.checkoutBatch(batch.stream().map(pending -> pending.request).toList());
+        } catch (RuntimeException e) {
+            // the shared transaction rolled back: every caller retries its own checkout
+            batch.forEach(pending -> pending.result.complete(CheckoutOutcome.deferred()));
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result.complete(outcomes.get(i));
+        }
+    }
+
+    private static final class PendingCheckout {
+        private final CheckoutRequest request;
+        private final CompletableFuture<CheckoutOutcome> result = new CompletableFuture<>();
+
+        private PendingCheckout(CheckoutRequest request) {
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.myshop.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myshop.service.OutboxMessage;
+import com.myshop.service.OutboxSink;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends one JSON line per message and syncs before returning, so a batch is only marked published
+ * once it is on disk.
+ */
+@Component
+@RequiredArgsConstructor
+public class FileOutboxSink implements OutboxSink {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${myshop.outbox.sink.file.enabled:false}")
+    private boolean enabled;
+
+    @Value("${myshop.outbox.sink.file.path:outbox/order-events.jsonl}")
+    private String path = "outbox/order-events.jsonl";
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (OutboxMessage message : messages) {
+            lines.append(objectMapper.writeValueAsString(message)).append('\n');
+        }
+        Path file = Path.of(path);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            channel.write(StandardCharsets.UTF_8.encode(lines.toString()));
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.myshop.service.impl;
+
+import com.myshop.domain.entity.IdempotencyRecord;
+import com.myshop.domain.enums.IdempotencyStatus;
+import com.myshop.repository.IdempotencyRecordRepository;
+import com.myshop.service.IdempotencyClaim;
+import com.myshop.service.IdempotencyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Keys are claimed by inserting an in-progress row; the unique (key, endpoint) constraint decides the
+ * winner across nodes. Waiters on the owning node are woken directly, others poll the table.
+ * <p>
+ * The owner renews {@code locked_at} while the request runs and fences its final write on the value it
+ * last stored, so a request that was taken over anyway cannot overwrite or delete the new owner's row.
+ */
+@Service
+@RequiredArgsConstructor
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentMap<Long, Claim> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${myshop.idempotency.ttl-hours:24}")
+    private long ttlHours = 24;
+
+    // an in-progress key older than this is assumed abandoned by a crashed node
+    @Value("${myshop.idempotency.lease-ms:60000}")
+    private long leaseMs = 60000;
+
+    @Override
+    public IdempotencyClaim claim(String key, String endpoint, String requestHash) {
+        Instant now = now();
+        Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findByIdempotencyKeyAndEndpoint(key, endpoint);
+        if (existing.isPresent()) {
+            IdempotencyRecord record = existing.get();
+            if (record.getExpiresAt().isBefore(now)) {
+                transactionTemplate.executeWithoutResult(status -> idempotencyRecordRepository.deleteIfExpired(record.getId(), now));
+            } else if (isAbandoned(record, requestHash, now) && compareAndSetLock(record, now)) {
+                record.setLockedAt(now);
+                inFlight.put(record.getId(), new Claim(record));
+                return new IdempotencyClaim(true, record);
+            } else {
+                return new IdempotencyClaim(false, record);
+            }
+        }
+
+        IdempotencyRecord record;
+        try {
+            record = transactionTemplate.execute(status -> idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                    .idempotencyKey(key)
+                    .endpoint(endpoint)
+                    .requestHash(requestHash)
+                    .status(IdempotencyStatus.IN_PROGRESS)
+                    .lockedAt(now)
+                    .expiresAt(now.plus(Duration.ofHours(ttlHours)))
+                    .build()));
+        } catch (DataIntegrityViolationException e) {
+            // lost the insert race; report whatever the winner stored
+            return claim(key, endpoint, requestHash);
+        }
+        inFlight.put(record.getId(), new Claim(record));
+        return new IdempotencyClaim(true, record);
+    }
+
+    @Override
+    public boolean complete(IdempotencyRecord record, int status, String contentType, String location, String body) {
+        return settle(record, lockedAt -> idempotencyRecordRepository.complete(
+                record.getId(), lockedAt, IdempotencyStatus.COMPLETED, status, contentType, location, body));
+    }
+
+    @Override
+    public boolean release(IdempotencyRecord record) {
+        return settle(record, lockedAt -> idempotencyRecordRepository.release(record.getId(), lockedAt));
+    }
+
+    @Override
+    public void awaitCompletion(IdempotencyRecord record, long timeoutMs) {
+        Claim local = inFlight.get(record.getId());
+        try {
+            if (local != null) {
+                local.done.get(timeoutMs, TimeUnit.MILLISECONDS);
+            } else {
+                Thread.sleep(Math.min(POLL_INTERVAL_MS, timeoutMs));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // the caller re-reads the record and decides
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${myshop.idempotency.renew-interval-ms:20000}")
+    public void renewLocks() {
+        for (Claim claim : inFlight.values()) {
+            synchronized (claim) {
+                if (!claim.active) {
+                    continue;
+                }
+                Instant now = now();
+                try {
+                    if (compareAndSetLock(claim.record, now)) {
+                        claim.record.setLockedAt(now);
+                    } else {
+                        // taken over after all; the final write will find the lock moved and leave the row alone
+                        claim.active = false;
+                    }
+                } catch (DataAccessException e) {
+                    // retried on the next tick, well inside the lease
+                }
+            }
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${myshop.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        transactionTemplate.executeWithoutResult(status -> idempotencyRecordRepository.deleteExpired(Instant.now()));
+    }
+
+    private boolean isAbandoned(IdempotencyRecord record, String requestHash, Instant now) {
+        return record.getStatus() == IdempotencyStatus.IN_PROGRESS
+                && record.getRequestHash().equals(requestHash)
+                && !inFlight.containsKey(record.getId())
+                && record.getLockedAt().isBefore(now.minusMillis(leaseMs));
+    }
+
+    private boolean compareAndSetLock(IdempotencyRecord record, Instant now) {
+        Integer updated = transactionTemplate.execute(status -> idempotencyRecordRepository.takeOver(
+                record.getId(), IdempotencyStatus.IN_PROGRESS, record.getLockedAt(), now));
+        return updated != null && updated == 1;
+    }
+
+    private boolean settle(IdempotencyRecord record, Function<Instant, Integer> write) {
+        Claim claim = inFlight.remove(record.getId());
+        try {
+            Instant lockedAt;
+            if (claim == null) {
+                lockedAt = record.getLockedAt();
+            } else {
+                // waits out a renewal in progress so the fence uses the lock it stored
+                synchronized (claim) {
+                    claim.active = false;
+                    lockedAt = record.getLockedAt();
+                }
+            }
+            Integer updated = transactionTemplate.execute(tx -> write.apply(lockedAt));
+            return updated != null && updated == 1;
+        } finally {
+            if (claim != null) {
+                claim.done.complete(null);
+            }
+        }
+    }
+
+    // the column keeps microseconds; a finer value would never match in the fenced updates
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private static final class Claim {
+        private final IdempotencyRecord record;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        // guarded by this; cleared once the request settles or the key is lost
+        private boolean active = true;
+
+        private Claim(IdempotencyRecord record) {
+            this.record = record;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.myshop.service.impl;
+
+import com.myshop.service.OutboxMessage;
+import com.myshop.service.OutboxSink;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Republishes each message as an application event for {@code @EventListener(OutboxMessage.class)} beans.
+ */
+@Component
+@RequiredArgsConstructor
+public class InProcessOutboxSink implements OutboxSink {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Value("${myshop.outbox.sink.in-process.enabled:true}")
+    private boolean enabled = true;
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        messages.forEach(applicationEventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,200 @@
+package com.myshop.service.impl;
+
+import com.myshop.domain.entity.OrderItem;
+import com.myshop.domain.entity.Product;
+import com.myshop.repository.OrderItemRepository;
+import com.myshop.repository.ProductRepository;
+import com.myshop.repository.projection.PendingStockView;
+import com.myshop.repository.projection.ProductQuantityView;
+import com.myshop.service.InventoryService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * Counters are loaded lazily from the database on first use and never evicted, so this node must be
+ * the only writer of a hot product's stock. A committed reservation is recorded durably by its order
+ * items ({@code stock_pending}); a counter therefore always starts from the stock net of pending
+ * items, and a crash between two flushes loses nothing.
+ */
+@Service
+@RequiredArgsConstructor
+public class InventoryServiceImpl implements InventoryService {
+
+    private static final int FLUSH_BATCH_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentMap<Long, StripedStockCounter> counters = new ConcurrentHashMap<>();
+
+    @Value("${myshop.inventory.engine.enabled:false}")
+    private boolean enabled;
+
+    @Value("${myshop.inventory.engine.hot-product-ids:}")
+    private Set<Long> hotProductIds = Set.of();
+
+    @Value("${myshop.inventory.engine.stripes:8}")
+    private int stripes = 8;
+
+    @Override
+    public boolean manages(Long productId) {
+        return enabled && hotProductIds.contains(productId);
+    }
+
+    @Override
+    public long availableStock(Product product) {
+        return counter(product).available();
+    }
+
+    @Override
+    public boolean tryReserve(Product product, int quantity) {
+        StripedStockCounter counter = counter(product);
+        if (!counter.tryAcquire(quantity)) {
+            return false;
+        }
+        // on commit the units are already accounted for by the order's pending items
+        onCompletion(committed -> {
+            if (!committed) {
+                counter.release(quantity);
+            }
+        });
+        return true;
+    }
+
+    @Override
+    public void onOrdersRestocked(Collection<Long> orderIds) {
+        if (!enabled || orderIds.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> restocked = new HashMap<>();
+        for (ProductQuantityView row : orderItemRepository.sumQuantitiesByProductForOrders(orderIds)) {
+            if (counters.containsKey(row.getProductId())) {
+                restocked.put(row.getProductId(), row.getQuantity());
+            }
+        }
+        if (restocked.isEmpty()) {
+            return;
+        }
+        onCompletion(committed -> {
+            if (committed) {
+                restocked.forEach((productId, quantity) -> counters.get(productId).release(quantity));
+            }
+        });
+    }
+
+    @Override
+    public void onStockOverwritten(Long productId, int stockQuantity) {
+        if (!manages(productId)) {
+            return;
+        }
+        // product row first, then its pending items: the order flush() takes them in
+        long stored = productRepository.lockStock(List.of(productId)).get(productId);
+        List<Long> supersededIds = new ArrayList<>();
+        long superseded = 0;
+        for (OrderItem item : orderItemRepository.findByProductIdAndStockPendingTrue(productId)) {
+            supersededIds.add(item.getId());
+            superseded += item.getQuantity();
+        }
+        if (!supersededIds.isEmpty()) {
+            orderItemRepository.clearPendingStock(supersededIds);
+        }
+
+        StripedStockCounter counter = counters.get(productId);
+        // loads wait on the product lock held here, so a counter loaded later reads the new value
+        if (counter == null) {
+            return;
+        }
+        // counter = stored - pending - in flight; moving it by the difference keeps in-flight reservations counted
+        long delta = stockQuantity - (stored - superseded);
+        if (delta < 0) {
+            counter.adjust(delta);
+            onCompletion(committed -> {
+                if (!committed) {
+                    counter.adjust(-delta);
+                }
+            });
+        } else if (delta > 0) {
+            onCompletion(committed -> {
+                if (committed) {
+                    counter.adjust(delta);
+                }
+            });
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${myshop.inventory.engine.flush-interval-ms:200}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        boolean more = true;
+        while (more) {
+            more = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                List<PendingStockView> pending = orderItemRepository.findPendingStock(PageRequest.ofSize(FLUSH_BATCH_SIZE));
+                if (pending.isEmpty()) {
+                    return false;
+                }
+                Map<Long, Long> deltas = new TreeMap<>();
+                List<Long> ids = new ArrayList<>(pending.size());
+                for (PendingStockView row : pending) {
+                    deltas.merge(row.getProductId(), -row.getQuantity().longValue(), Long::sum);
+                    ids.add(row.getId());
+                }
+                productRepository.adjustStock(deltas);
+                // an overwrite or a concurrent flush settled some of these rows after they were read, so
+                // the decrement is stale; roll it back and start over from fresh rows on the next tick
+                if (orderItemRepository.clearPendingStock(ids) != ids.size()) {
+                    status.setRollbackOnly();
+                    return false;
+                }
+                return pending.size() == FLUSH_BATCH_SIZE;
+            }));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private StripedStockCounter counter(Product product) {
+        if (!manages(product.getId())) {
+            throw new IllegalArgumentException("Product " + product.getId() + " is not managed in memory");
+        }
+        return counters.computeIfAbsent(product.getId(),
+                id -> new StripedStockCounter(stripes, productRepository.findStockNetOfPending(id)));
+    }
+
+    private static void onCompletion(Consumer<Boolean> callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+}
@@ -0,0 +1,142 @@
+package com.myshop.service.impl;
+
+import com.myshop.domain.entity.InventoryShard;
+import com.myshop.domain.entity.Product;
+import com.myshop.repository.InventoryShardRepository;
+import com.myshop.repository.ProductRepository;
+import com.myshop.repository.projection.ProductQuantityView;
+import com.myshop.service.InventoryShardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Service
+@RequiredArgsConstructor
+public class InventoryShardServiceImpl implements InventoryShardService {
+
+    private final InventoryShardRepository inventoryShardRepository;
+    private final ProductRepository productRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Long> totalStock(Collection<Product> products) {
+        Map<Long, Long> totals = new HashMap<>();
+        for (Product product : products) {
+            if (product.getInventoryShardCount() > 0) {
+                totals.put(product.getId(), (long) product.getStockQuantity());
+            }
+        }
+        if (totals.isEmpty()) {
+            return totals;
+        }
+        for (ProductQuantityView row : inventoryShardRepository.sumQuantitiesByProductIdIn(totals.keySet())) {
+            totals.merge(row.getProductId(), row.getQuantity(), Long::sum);
+        }
+        return totals;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long totalStock(Product product) {
+        return totalStock(List.of(product)).getOrDefault(product.getId(), (long) product.getStockQuantity());
+    }
+
+    @Override
+    @Transactional
+    public boolean tryDecrement(Product product, int quantity) {
+        int shardCount = product.getInventoryShardCount();
+        int start = ThreadLocalRandom.current().nextInt(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            if (inventoryShardRepository.decrementShard(product.getId(), (start + i) % shardCount, quantity) == 1) {
+                return true;
+            }
+        }
+        return drain(product.getId(), quantity);
+    }
+
+    @Override
+    @Transactional
+    public Product reshard(Long productId, int shardCount) {
+        // shards before the product row, the order checkout's slow path locks them in
+        List<InventoryShard> shards = inventoryShardRepository.lockByProductId(productId);
+        Product product = productRepository.lockAllByIdIn(List.of(productId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found"));
+        distribute(product, shards, shardCount, product.getStockQuantity() + sum(shards));
+        return product;
+    }
+
+    @Override
+    @Transactional
+    public void overwriteStock(Product product, int stockQuantity) {
+        List<InventoryShard> shards = inventoryShardRepository.lockByProductId(product.getId());
+        distribute(product, shards, product.getInventoryShardCount(), stockQuantity);
+    }
+
+    private boolean drain(Long productId, int quantity) {
+        List<InventoryShard> shards = inventoryShardRepository.lockByProductId(productId);
+        int fromBase = (int) Math.max(0, quantity - sum(shards));
+        if (fromBase > 0 && !productRepository.decrementStock(Map.of(productId, fromBase)).isEmpty()) {
+            return false;
+        }
+        int remaining = quantity - fromBase;
+        for (InventoryShard shard : shards) {
+            if (remaining == 0) {
+                break;
+            }
+            int taken = Math.min(shard.getQuantity(), remaining);
+            shard.setQuantity(shard.getQuantity() - taken);
+            remaining -= taken;
+        }
+        return true;
+    }
+
+    private void distribute(Product product, List<InventoryShard> shards, int shardCount, long total) {
+        if (shardCount == 0) {
+            inventoryShardRepository.deleteAll(shards);
+            product.setStockQuantity((int) total);
+            product.setInventoryShardCount(0);
+            return;
+        }
+
+        Map<Integer, InventoryShard> existing = new HashMap<>();
+        for (InventoryShard shard : shards) {
+            existing.put(shard.getShardNo(), shard);
+        }
+        long share = total / shardCount;
+        long remainder = total % shardCount;
+        List<InventoryShard> kept = new ArrayList<>(shardCount);
+        for (int shardNo = 0; shardNo < shardCount; shardNo++) {
+            InventoryShard shard = existing.remove(shardNo);
+            if (shard == null) {
+                shard = InventoryShard.builder()
+                        .product(product)
+                        .shardNo(shardNo)
+                        .build();
+            }
+            shard.setQuantity((int) (share + (shardNo < remainder ? 1 : 0)));
+            kept.add(shard);
+        }
+        inventoryShardRepository.deleteAll(existing.values());
+        inventoryShardRepository.saveAll(kept);
+        product.setStockQuantity(0);
+        product.setInventoryShardCount(shardCount);
+    }
+
+    private static long sum(List<InventoryShard> shards) {
+        long total = 0;
+        for (InventoryShard shard : shards) {
+            total += shard.getQuantity();
+        }
+        return total;
+    }
+}
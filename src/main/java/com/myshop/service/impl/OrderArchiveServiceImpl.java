@@ -0,0 +1,184 @@
+package com.myshop.service.impl;
+
+import com.myshop.domain.entity.ArchivedOrder;
+import com.myshop.domain.entity.ArchivedOrderItem;
+import com.myshop.domain.entity.Product;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.value.Money;
+import com.myshop.dto.request.OrderSearchRequest;
+import com.myshop.dto.response.AdminOrderSummaryResponse;
+import com.myshop.dto.response.OrderArchiveResponse;
+import com.myshop.dto.response.OrderResponse;
+import com.myshop.dto.response.OrderSummaryResponse;
+import com.myshop.mapper.DtoMapper;
+import com.myshop.repository.ArchivedOrderItemRepository;
+import com.myshop.repository.ArchivedOrderRepository;
+import com.myshop.repository.ProductRepository;
+import com.myshop.repository.projection.OrderStatusCountView;
+import com.myshop.service.OrderArchiveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+@RequiredArgsConstructor
+public class OrderArchiveServiceImpl implements OrderArchiveService {
+
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ArchivedOrderItemRepository archivedOrderItemRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    @Value("${myshop.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${myshop.archive.min-age-days:180}")
+    private int minAgeDays = 180;
+
+    @Value("${myshop.archive.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Scheduled(fixedDelayString = "${myshop.archive.interval-ms:3600000}")
+    public void scheduledArchive() {
+        if (enabled && !runLock.isLocked()) {
+            archive();
+        }
+    }
+
+    @Override
+    public OrderArchiveResponse archive() {
+        if (!runLock.tryLock()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Order archival is already running");
+        }
+        try {
+            Instant createdBefore = Instant.now().minus(Duration.ofDays(minAgeDays));
+            long archived = 0;
+            int chunks = 0;
+            Long lastOrderId = null;
+            long afterId = 0;
+            while (true) {
+                long from = afterId;
+                // short transactions keep row locks and undo small while checkouts keep writing
+                ArchiveChunk chunk = transactionTemplate.execute(status -> {
+                    List<Long> ids = archivedOrderRepository.findArchivableIds(from, createdBefore, chunkSize);
+                    int moved = ids.isEmpty() ? 0 : archivedOrderRepository.archiveOrders(ids, createdBefore, Instant.now());
+                    return new ArchiveChunk(ids, moved);
+                });
+                if (chunk == null || chunk.ids().isEmpty()) {
+                    break;
+                }
+                archived += chunk.moved();
+                chunks++;
+                lastOrderId = chunk.ids().get(chunk.ids().size() - 1);
+                afterId = lastOrderId;
+            }
+            return OrderArchiveResponse.builder()
+                    .createdBefore(createdBefore)
+                    .archived(archived)
+                    .chunks(chunks)
+                    .lastOrderId(lastOrderId)
+                    .build();
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<OrderResponse> getArchivedOrder(Long orderId) {
+        return archivedOrderRepository.findById(orderId)
+                .map(order -> toOrderResponses(List.of(order)).get(0));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderSummaryResponse> getArchivedHistory(Long userId, Instant beforeCreatedAt, Long beforeId, int limit) {
+        PageRequest page = PageRequest.ofSize(limit);
+        return (beforeCreatedAt == null
+                ? archivedOrderRepository.findHistoryByUserId(userId, page)
+                : archivedOrderRepository.findHistoryByUserIdBefore(userId, beforeCreatedAt, beforeId, page))
+                .stream().map(DtoMapper::toOrderSummaryResponse).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderResponse> getArchivedOrders(Long userId) {
+        return toOrderResponses(userId == null
+                ? archivedOrderRepository.findAllByOrderByCreatedAtDescIdDesc()
+                : archivedOrderRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<AdminOrderSummaryResponse> searchArchivedOrders(OrderSearchRequest criteria, Pageable pageable) {
+        return archivedOrderRepository.searchOrders(
+                criteria.getOrderStatus(),
+                criteria.getPaymentStatus(),
+                criteria.getPaymentMethod(),
+                criteria.getCreatedFrom(),
+                criteria.getCreatedTo(),
+                Money.ceiling(criteria.getMinAmount()),
+                Money.floor(criteria.getMaxAmount()),
+                pageable).map(DtoMapper::toAdminOrderSummaryResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<OrderStatus, Long> countArchivedOrdersByStatus(Instant createdFrom, Instant createdTo) {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        for (OrderStatusCountView row : archivedOrderRepository.countByStatus(createdFrom, createdTo)) {
+            counts.put(row.getOrderStatus(), row.getTotal());
+        }
+        return counts;
+    }
+
+    private List<OrderResponse> toOrderResponses(List<ArchivedOrder> orders) {
+        Map<Long, List<ArchivedOrderItem>> itemsByOrderId = new HashMap<>();
+        List<Long> orderIds = orders.stream().map(ArchivedOrder::getId).toList();
+        for (int from = 0; from < orderIds.size(); from += chunkSize) {
+            List<Long> chunk = orderIds.subList(from, Math.min(from + chunkSize, orderIds.size()));
+            for (ArchivedOrderItem item : archivedOrderItemRepository.findByOrderIdInOrderByIdAsc(chunk)) {
+                itemsByOrderId.computeIfAbsent(item.getOrderId(), id -> new ArrayList<>()).add(item);
+            }
+        }
+        // items carry their product snapshot; only rows archived before snapshots existed need the live product
+        List<Long> unsnapshotted = itemsByOrderId.values().stream()
+                .flatMap(List::stream)
+                .filter(item -> item.getProductName() == null)
+                .map(ArchivedOrderItem::getProductId)
+                .distinct()
+                .toList();
+        Map<Long, Product> productsById = new HashMap<>();
+        if (!unsnapshotted.isEmpty()) {
+            for (Product product : productRepository.findAllById(unsnapshotted)) {
+                productsById.put(product.getId(), product);
+            }
+        }
+        return orders.stream()
+                .map(order -> DtoMapper.toOrderResponse(order, itemsByOrderId.getOrDefault(order.getId(), List.of()), productsById))
+                .toList();
+    }
+
+    private record ArchiveChunk(List<Long> ids, int moved) {
+    }
+}
@@ -0,0 +1,123 @@
+package com.myshop.service.impl;
+
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.dto.response.BulkOrderStatusUpdateResponse;
+import com.myshop.dto.response.OrderAutoCancelResponse;
+import com.myshop.repository.OrderRepository;
+import com.myshop.repository.projection.StaleOrderView;
+import com.myshop.service.OrderAutoCancelService;
+import com.myshop.service.OrderService;
+import com.myshop.service.SchedulerLeaseService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+@RequiredArgsConstructor
+public class OrderAutoCancelServiceImpl implements OrderAutoCancelService {
+
+    static final String LEASE_NAME = "order-auto-cancel";
+
+    private static final List<OrderStatus> CANCELLABLE_STATUSES = List.of(OrderStatus.PENDING, OrderStatus.PROCESSING);
+
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final SchedulerLeaseService schedulerLeaseService;
+
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    @Value("${myshop.auto-cancel.enabled:false}")
+    private boolean enabled;
+
+    @Value("${myshop.auto-cancel.pending-minutes:30}")
+    private long pendingMinutes = 30;
+
+    @Value("${myshop.auto-cancel.batch-size:200}")
+    private int batchSize = 200;
+
+    // must outlast one batch; it is renewed before every batch
+    @Value("${myshop.auto-cancel.lease-seconds:300}")
+    private long leaseSeconds = 300;
+
+    @Scheduled(fixedDelayString = "${myshop.auto-cancel.interval-ms:60000}")
+    public void scheduledCancel() {
+        if (enabled && runLock.tryLock()) {
+            try {
+                run();
+            } finally {
+                runLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public OrderAutoCancelResponse cancelStaleOrders() {
+        if (!runLock.tryLock()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Unpaid order cancellation is already running");
+        }
+        try {
+            OrderAutoCancelResponse response = run();
+            if (response == null) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Unpaid order cancellation is running on another node");
+            }
+            return response;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    // null when another node holds the lease
+    private OrderAutoCancelResponse run() {
+        Duration leaseDuration = Duration.ofSeconds(leaseSeconds);
+        if (!schedulerLeaseService.tryAcquire(LEASE_NAME, leaseDuration)) {
+            return null;
+        }
+        try {
+            Instant createdBefore = Instant.now().minus(Duration.ofMinutes(pendingMinutes));
+            int cancelled = 0;
+            int skipped = 0;
+            int batches = 0;
+            Instant afterCreatedAt = Instant.EPOCH;
+            long afterId = 0;
+            while (true) {
+                List<StaleOrderView> stale = orderRepository.findStaleIds(PaymentStatus.PENDING,
+                        OrderPaymentMethod.ONLINE_PAYMENT, CANCELLABLE_STATUSES, createdBefore, afterCreatedAt, afterId,
+                        PageRequest.ofSize(batchSize));
+                if (stale.isEmpty()) {
+                    break;
+                }
+                List<Long> ids = stale.stream().map(StaleOrderView::getId).toList();
+                BulkOrderStatusUpdateResponse result = orderService.cancelUnpaidOrders(ids);
+                cancelled += result.getUpdated();
+                skipped += result.getRequested() - result.getUpdated();
+                batches++;
+                StaleOrderView last = stale.get(stale.size() - 1);
+                afterCreatedAt = last.getCreatedAt();
+                afterId = last.getId();
+                // a run that outlived its lease may already overlap another node's; stop rather than race it
+                if (!schedulerLeaseService.tryAcquire(LEASE_NAME, leaseDuration)) {
+                    break;
+                }
+            }
+            return OrderAutoCancelResponse.builder()
+                    .createdBefore(createdBefore)
+                    .cancelled(cancelled)
+                    .skipped(skipped)
+                    .batches(batches)
+                    .build();
+        } finally {
+            schedulerLeaseService.release(LEASE_NAME);
+        }
+    }
+}
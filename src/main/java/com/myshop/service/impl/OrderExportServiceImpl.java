@@ -0,0 +1,196 @@
+package com.myshop.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myshop.domain.enums.ExportFormat;
+import com.myshop.config.ExportDataSourceConfig;
+import com.myshop.repository.OrderExportRepository;
+import com.myshop.repository.projection.OrderExportRow;
+import com.myshop.service.OrderExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class OrderExportServiceImpl implements OrderExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 500;
+    private static final String CSV_HEADER = "order_id,created_at,user_id,order_status,payment_status,payment_method,"
+            + "total_amount,order_item_id,product_id,product_name,quantity,unit_price";
+
+    private final OrderExportRepository orderExportRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    // on the export pool: one read-only transaction there gives both reads the same snapshot
+    @Transactional(transactionManager = ExportDataSourceConfig.TRANSACTION_MANAGER, readOnly = true)
+    public void exportOrders(Instant createdFrom, Instant createdTo, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        // archived orders first, then the hot table; one transaction, so an order archived mid-export shows up once
+        try (SequentialRows rows = new SequentialRows(List.of(
+                () -> orderExportRepository.streamArchivedRows(createdFrom, createdTo),
+                () -> orderExportRepository.streamRows(createdFrom, createdTo)))) {
+            if (format == ExportFormat.NDJSON) {
+                writeNdjson(rows, writer);
+            } else {
+                writeCsv(rows, writer);
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeCsv(Iterator<OrderExportRow> rows, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        int written = 0;
+        while (rows.hasNext()) {
+            OrderExportRow row = rows.next();
+            writer.write(String.valueOf(row.getOrderId()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getCreatedAt()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getUserId()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getOrderStatus()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getPaymentStatus()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getPaymentMethod()));
+            writer.write(',');
+            writer.write(row.getTotalAmount().toBigDecimal().toPlainString());
+            writer.write(',');
+            writer.write(String.valueOf(row.getItemId()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getProductId()));
+            writer.write(',');
+            writer.write(csvField(row.getProductName()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getQuantity()));
+            writer.write(',');
+            writer.write(row.getUnitPrice().toBigDecimal().toPlainString());
+            writer.write('\n');
+            if (++written % FLUSH_EVERY_ROWS == 0) {
+                writer.flush();
+            }
+        }
+    }
+
+    // one JSON object per order; rows arrive ordered by order id, so only the current order is buffered
+    private void writeNdjson(Iterator<OrderExportRow> rows, Writer writer) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(writer);
+        json.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        Long currentOrderId = null;
+        int written = 0;
+        while (rows.hasNext()) {
+            OrderExportRow row = rows.next();
+            if (!row.getOrderId().equals(currentOrderId)) {
+                if (currentOrderId != null) {
+                    json.writeEndArray();
+                    json.writeEndObject();
+                }
+                currentOrderId = row.getOrderId();
+                json.writeStartObject();
+                json.writeNumberField("orderId", row.getOrderId());
+                json.writeStringField("createdAt", String.valueOf(row.getCreatedAt()));
+                json.writeNumberField("userId", row.getUserId());
+                json.writeStringField("orderStatus", String.valueOf(row.getOrderStatus()));
+                json.writeStringField("paymentStatus", String.valueOf(row.getPaymentStatus()));
+                json.writeStringField("paymentMethod", String.valueOf(row.getPaymentMethod()));
+                json.writeNumberField("totalAmount", row.getTotalAmount().toBigDecimal());
+                json.writeArrayFieldStart("items");
+            }
+            json.writeStartObject();
+            json.writeNumberField("id", row.getItemId());
+            json.writeNumberField("productId", row.getProductId());
+            json.writeStringField("productName", row.getProductName());
+            json.writeNumberField("quantity", row.getQuantity());
+            json.writeNumberField("unitPrice", row.getUnitPrice().toBigDecimal());
+            json.writeEndObject();
+            if (++written % FLUSH_EVERY_ROWS == 0) {
+                json.flush();
+            }
+        }
+        if (currentOrderId != null) {
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+        json.close();
+    }
+
+    private String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Reads the sources one after another, opening the next only once the previous is drained and
+     * closed, so a single cursor is open at a time. Each source is ordered by order id, and an order
+     * lives in exactly one of them, so an order's rows stay contiguous.
+     */
+    private static final class SequentialRows implements Iterator<OrderExportRow>, AutoCloseable {
+
+        private final Deque<Supplier<Stream<OrderExportRow>>> sources;
+        private Stream<OrderExportRow> current;
+        private Iterator<OrderExportRow> rows = Collections.emptyIterator();
+
+        private SequentialRows(List<Supplier<Stream<OrderExportRow>>> sources) {
+            this.sources = new ArrayDeque<>(sources);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!rows.hasNext()) {
+                close();
+                Supplier<Stream<OrderExportRow>> next = sources.poll();
+                if (next == null) {
+                    return false;
+                }
+                current = next.get();
+                rows = current.iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public OrderExportRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return rows.next();
+        }
+
+        @Override
+        public void close() {
+            if (current != null) {
+                current.close();
+                current = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.myshop.service.impl;
+
+import com.myshop.dto.response.OrderItemSnapshotBackfillResponse;
+import com.myshop.repository.ArchivedOrderItemRepository;
+import com.myshop.repository.OrderItemRepository;
+import com.myshop.service.OrderItemSnapshotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.LongBinaryOperator;
+
+@Service
+@RequiredArgsConstructor
+public class OrderItemSnapshotServiceImpl implements OrderItemSnapshotService {
+
+    private final OrderItemRepository orderItemRepository;
+    private final ArchivedOrderItemRepository archivedOrderItemRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${myshop.order-item-snapshot.backfill-chunk-size:1000}")
+    private int backfillChunkSize = 1000;
+
+    @Override
+    public OrderItemSnapshotBackfillResponse backfill() {
+        Long maxId = orderItemRepository.findMaxId();
+        Long archivedMaxId = archivedOrderItemRepository.findMaxId();
+        return OrderItemSnapshotBackfillResponse.builder()
+                .updated(backfill(maxId, (from, until) -> orderItemRepository.backfillSnapshotRange(from, until)))
+                .scannedUpToItemId(maxId)
+                .archivedUpdated(backfill(archivedMaxId,
+                        (from, until) -> archivedOrderItemRepository.backfillSnapshotRange(from, until)))
+                .scannedUpToArchivedItemId(archivedMaxId)
+                .build();
+    }
+
+    private long backfill(Long maxId, LongBinaryOperator range) {
+        long updated = 0;
+        if (maxId != null) {
+            // one short transaction per id window keeps row locks and undo small on a large items table
+            for (long afterId = 0; afterId < maxId; afterId += backfillChunkSize) {
+                long from = afterId;
+                long until = Math.min(afterId + backfillChunkSize, maxId);
+                Long rows = transactionTemplate.execute(status -> range.applyAsLong(from, until));
+                updated += rows != null ? rows : 0;
+            }
+        }
+        return updated;
+    }
+}
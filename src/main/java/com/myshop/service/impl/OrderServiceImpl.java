@@ -8,47 +8,227 @@ import com.myshop.domain.entity.Product;
 import com.myshop.domain.entity.User;
 import com.myshop.domain.enums.OrderPaymentMethod;
 import com.myshop.domain.enums.OrderStatus;
-import com.myshop.domain.enums.PaymentGateway;
 import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.domain.enums.TransitionOutcome;
+import com.myshop.domain.value.Money;
+import com.myshop.dto.request.BulkOrderStatusUpdateRequest;
 import com.myshop.dto.request.CheckoutRequest;
+import com.myshop.dto.request.OrderSearchRequest;
 import com.myshop.dto.request.OrderStatusUpdateRequest;
+import com.myshop.dto.response.AdminOrderSummaryResponse;
+import com.myshop.dto.response.BulkOrderStatusUpdateResponse;
+import com.myshop.dto.response.OrderHistoryResponse;
 import com.myshop.dto.response.OrderResponse;
+import com.myshop.dto.response.OrderStatusEvent;
+import com.myshop.dto.response.OrderSummaryResponse;
+import com.myshop.dto.response.OrderTransitionResult;
+import com.myshop.dto.response.PageResponse;
 import com.myshop.mapper.DtoMapper;
 import com.myshop.repository.CartItemRepository;
 import com.myshop.repository.OrderRepository;
+import com.myshop.repository.OrderSummaryRepository;
 import com.myshop.repository.PaymentRepository;
 import com.myshop.repository.ProductRepository;
 import com.myshop.repository.UserRepository;
+import com.myshop.repository.projection.OrderStatusCountView;
+import com.myshop.repository.projection.OrderStatusView;
+import com.myshop.service.CheckoutOutcome;
+import com.myshop.service.InventoryService;
+import com.myshop.service.InventoryShardService;
+import com.myshop.service.OrderArchiveService;
 import com.myshop.service.OrderService;
+import com.myshop.service.OrderStatusStreamService;
+import com.myshop.service.OrderSummaryService;
+import com.myshop.service.OutboxService;
+import com.myshop.service.SalesKpiService;
+import com.myshop.service.SalesRollupService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final int MAX_BULK_ORDERS = 5000;
+    private static final int BULK_CHUNK_SIZE = 500;
+    private static final String DELIVERED_REVERT_MESSAGE = "Delivered orders cannot revert to previous status";
+    private static final String TERMINAL_ORDER_MESSAGE = "Cancelled orders and paid deliveries can no longer change";
+    private static final String PRODUCTS_BUSY_MESSAGE = "Products are busy, please retry checkout";
+    private static final String CONCURRENT_UPDATE_MESSAGE = "Order was changed concurrently, please retry";
+    private static final int MAX_TRANSITION_ATTEMPTS = 3;
+
     private final OrderRepository orderRepository;
     private final CartItemRepository cartItemRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
     private final PaymentRepository paymentRepository;
+    private final InventoryService inventoryService;
+    private final InventoryShardService inventoryShardService;
+    private final OutboxService outboxService;
+    private final OrderSummaryService orderSummaryService;
+    private final SalesRollupService salesRollupService;
+    private final SalesKpiService salesKpiService;
+    private final OrderArchiveService orderArchiveService;
+    private final OrderStatusStreamService orderStatusStreamService;
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // serve list and dashboard reads from order_summaries; enable once the backfill has run
+    @Value("${myshop.order-summary.read-enabled:false}")
+    private boolean summaryReads;
+
+    @Value("${myshop.order-cache.capacity:10000}")
+    private int terminalCacheCapacity = 10000;
+
+    @Value("${myshop.order-cache.segments:16}")
+    private int terminalCacheSegments = 16;
+
+    private TerminalOrderCache terminalOrderCache;
+
+    @PostConstruct
+    void init() {
+        terminalOrderCache = new TerminalOrderCache(terminalCacheCapacity, terminalCacheSegments);
+    }
 
     @Override
     @Transactional
     public OrderResponse checkout(CheckoutRequest request) {
+        try {
+            PreparedCheckout checkout = prepareCheckout(request);
+            Map<Long, Product> productsById = lockProducts(checkout.cartItems);
+            buildOrderItems(checkout, productsById);
+            reserveStock(checkout, productsById);
+            return placeOrder(checkout);
+        } catch (RuntimeException e) {
+            salesKpiService.checkoutFailed();
+            throw e;
+        }
+    }
+
+    @Override
+    @Transactional
+    public List<CheckoutOutcome> checkoutBatch(List<CheckoutRequest> requests) {
+        List<CheckoutOutcome> outcomes = new ArrayList<>(Collections.nCopies(requests.size(), null));
+        Map<Integer, PreparedCheckout> prepared = new LinkedHashMap<>();
+        Map<Long, Product> productsById = new HashMap<>();
+        Set<Long> userIds = new HashSet<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            CheckoutRequest request = requests.get(i);
+            try {
+                // a second checkout of the same cart would find it emptied by the first
+                if (!userIds.add(request.getUserId())) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cart is empty");
+                }
+                PreparedCheckout checkout = prepareCheckout(request);
+                boolean plainStock = checkout.cartItems.stream().allMatch(item -> hasPlainStock(item.getProduct()));
+                if (!plainStock) {
+                    outcomes.set(i, CheckoutOutcome.deferred());
+                    continue;
+                }
+                checkout.cartItems.forEach(item -> productsById.put(item.getProduct().getId(), item.getProduct()));
+                prepared.put(i, checkout);
+            } catch (ResponseStatusException e) {
+                outcomes.set(i, CheckoutOutcome.failed(e));
+            }
+        }
+        if (prepared.isEmpty()) {
+            countFailuresOnCommit(outcomes);
+            return outcomes;
+        }
+
+        // one locking read and one decrement per product, whatever the number of orders in the batch
+        Map<Long, Integer> remaining = productRepository.lockStock(new TreeSet<>(productsById.keySet()));
+        Map<Long, Integer> decrements = new TreeMap<>();
+        Map<Integer, PreparedCheckout> accepted = new LinkedHashMap<>();
+        for (Map.Entry<Integer, PreparedCheckout> entry : prepared.entrySet()) {
+            PreparedCheckout checkout = entry.getValue();
+            try {
+                buildOrderItems(checkout, productsById);
+                for (Map.Entry<Long, Integer> line : checkout.quantitiesByProductId.entrySet()) {
+                    if (remaining.getOrDefault(line.getKey(), 0) < line.getValue()) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                "Not enough stock for product: " + productsById.get(line.getKey()).getName());
+                    }
+                }
+                checkout.quantitiesByProductId.forEach((productId, quantity) -> {
+                    remaining.merge(productId, -quantity, Integer::sum);
+                    decrements.merge(productId, quantity, Integer::sum);
+                });
+                accepted.put(entry.getKey(), checkout);
+            } catch (ResponseStatusException e) {
+                outcomes.set(entry.getKey(), CheckoutOutcome.failed(e));
+            }
+        }
+
+        if (!productRepository.decrementStock(decrements).isEmpty()) {
+            throw new IllegalStateException("Locked stock changed during batch checkout");
+        }
+        accepted.forEach((index, checkout) -> outcomes.set(index, CheckoutOutcome.completed(placeOrder(checkout))));
+        countFailuresOnCommit(outcomes);
+        return outcomes;
+    }
+
+    // a rolled-back batch sends every caller back to checkout on its own, which counts its failure then
+    private void countFailuresOnCommit(List<CheckoutOutcome> outcomes) {
+        long failed = outcomes.stream().filter(outcome -> outcome != null && outcome.getError() != null).count();
+        if (failed == 0) {
+            return;
+        }
+        onCompletion(committed -> {
+            if (committed) {
+                for (long i = 0; i < failed; i++) {
+                    salesKpiService.checkoutFailed();
+                }
+            }
+        });
+    }
+
+    private PreparedCheckout prepareCheckout(CheckoutRequest request) {
         User user = userRepository.findById(request.getUserId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
         List<CartItem> cartItems = cartItemRepository.findByUserId(user.getId());
         if (cartItems.isEmpty()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cart is empty");
         }
+        if (request.getPaymentMethod() == OrderPaymentMethod.ONLINE_PAYMENT && request.getPaymentGateway() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Payment gateway is required for online payments");
+        }
 
         Order order = Order.builder()
                 .user(user)
@@ -60,68 +240,171 @@ public class OrderServiceImpl implements OrderService {
                 .shippingPhone(request.getShippingPhone())
                 .shippingEmail(request.getShippingEmail())
                 .build();
+        return new PreparedCheckout(request, order, cartItems);
+    }
 
+    private void buildOrderItems(PreparedCheckout checkout, Map<Long, Product> productsById) {
         List<OrderItem> orderItems = new ArrayList<>();
-        BigDecimal total = BigDecimal.ZERO;
+        // sorted by product id so concurrent checkouts touch rows in the same order
+        Map<Long, Integer> quantitiesByProductId = new TreeMap<>();
+        // summed in minor units so the loop allocates no intermediate amounts
+        long totalMinorUnits = 0;
 
-        for (CartItem cartItem : cartItems) {
-            Product product = productRepository.findById(cartItem.getProduct().getId())
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found during checkout"));
+        for (CartItem cartItem : checkout.cartItems) {
+            Product product = productsById.get(cartItem.getProduct().getId());
+            if (product == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found during checkout");
+            }
             int requestedQty = cartItem.getQuantity();
             if (requestedQty <= 0) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid quantity in cart");
             }
-            if (requestedQty > product.getStockQuantity()) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Not enough stock for product: " + product.getName());
-            }
-            product.setStockQuantity(product.getStockQuantity() - requestedQty);
-            productRepository.save(product);
+            quantitiesByProductId.merge(product.getId(), requestedQty, Integer::sum);
 
             OrderItem orderItem = OrderItem.builder()
-                    .order(order)
+                    .order(checkout.order)
                     .product(product)
+                    .productName(product.getName())
+                    .productImageUrl(product.getImageUrl())
+                    .categoryName(product.getCategory().getName())
+                    .categoryId(product.getCategory().getId())
                     .quantity(requestedQty)
                     .unitPrice(product.getPrice())
                     .build();
             orderItems.add(orderItem);
-            total = total.add(product.getPrice().multiply(BigDecimal.valueOf(requestedQty)));
+            totalMinorUnits = Math.addExact(totalMinorUnits, Money.lineTotal(product.getPrice().getMinorUnits(), requestedQty));
         }
 
         if (orderItems.isEmpty()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Order must contain at least one item");
         }
+        checkout.order.setTotalAmount(Money.ofMinor(totalMinorUnits));
+        checkout.order.setOrderItems(orderItems);
+        checkout.quantitiesByProductId = quantitiesByProductId;
+    }
+
+    private void reserveStock(PreparedCheckout checkout, Map<Long, Product> productsById) {
+        // hot products reserve from in-memory counters, sharded ones from a shard row; the rest take guarded row decrements
+        Map<Long, Integer> databaseQuantities = new TreeMap<>();
+        for (Map.Entry<Long, Integer> line : checkout.quantitiesByProductId.entrySet()) {
+            Product product = productsById.get(line.getKey());
+            boolean reserved;
+            if (inventoryService.manages(line.getKey())) {
+                reserved = inventoryService.tryReserve(product, line.getValue());
+                markStockPending(checkout.order, line.getKey());
+            } else if (product.getInventoryShardCount() > 0) {
+                reserved = decrementShards(product, line.getValue());
+            } else {
+                databaseQuantities.put(line.getKey(), line.getValue());
+                reserved = true;
+            }
+            if (!reserved) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Not enough stock for product: " + product.getName());
+            }
+        }
 
-        order.setTotalAmount(total);
-        order.setOrderItems(orderItems);
-        Order savedOrder = orderRepository.save(order);
+        List<Long> insufficient = productRepository.decrementStock(databaseQuantities);
+        if (!insufficient.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Not enough stock for product: " + productsById.get(insufficient.get(0)).getName());
+        }
+    }
 
-        if (request.getPaymentMethod() == OrderPaymentMethod.ONLINE_PAYMENT) {
-            PaymentGateway gateway = request.getPaymentGateway();
-            if (gateway == null) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Payment gateway is required for online payments");
+    // the reservation commits with the order; the inventory flush subtracts it from the product row later
+    private static void markStockPending(Order order, Long productId) {
+        for (OrderItem item : order.getOrderItems()) {
+            if (item.getProduct().getId().equals(productId)) {
+                item.setStockPending(true);
             }
+        }
+    }
+
+    private OrderResponse placeOrder(PreparedCheckout checkout) {
+        Order savedOrder = orderRepository.save(checkout.order);
+
+        if (checkout.request.getPaymentMethod() == OrderPaymentMethod.ONLINE_PAYMENT) {
             Payment payment = Payment.builder()
                     .order(savedOrder)
-                    .paymentMethod(gateway)
+                    .paymentMethod(checkout.request.getPaymentGateway())
                     .paymentStatus(PaymentStatus.PENDING)
-                    .amount(total)
+                    .amount(savedOrder.getTotalAmount().toBigDecimal())
                     .build();
             paymentRepository.save(payment);
             savedOrder.setPayment(payment);
         }
+        orderSummaryService.orderPlaced(savedOrder, checkout.order.getOrderItems());
+        salesRollupService.orderPlaced(savedOrder, checkout.order.getOrderItems());
+        outboxService.orderPlaced(savedOrder);
 
         // clear cart
-        cartItems.forEach(cartItemRepository::delete);
+        checkout.cartItems.forEach(cartItemRepository::delete);
 
-        return DtoMapper.toOrderResponse(savedOrder, orderItems);
+        OrderResponse response = DtoMapper.toOrderResponse(savedOrder, checkout.order.getOrderItems());
+        salesKpiService.orderPlaced(savedOrder.getTotalAmount(), checkout.quantitiesByProductId.values().stream()
+                .mapToInt(Integer::intValue)
+                .sum());
+        return response;
+    }
+
+    private boolean hasPlainStock(Product product) {
+        return !inventoryService.manages(product.getId()) && product.getInventoryShardCount() == 0;
+    }
+
+    private Map<Long, Product> lockProducts(List<CartItem> cartItems) {
+        Set<Long> lockedIds = new TreeSet<>();
+        Set<Long> unlockedIds = new HashSet<>();
+        for (CartItem cartItem : cartItems) {
+            Product product = cartItem.getProduct();
+            // hot and sharded products keep their stock outside the product row, so it is read without a lock
+            (hasPlainStock(product) ? lockedIds : unlockedIds).add(product.getId());
+        }
+        List<Product> products = new ArrayList<>();
+        if (!unlockedIds.isEmpty()) {
+            products.addAll(productRepository.findAllById(unlockedIds));
+        }
+        if (!lockedIds.isEmpty()) {
+            try {
+                products.addAll(productRepository.lockAllByIdIn(lockedIds));
+            } catch (PessimisticLockingFailureException e) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, PRODUCTS_BUSY_MESSAGE, e);
+            }
+        }
+        Map<Long, Product> productsById = new HashMap<>();
+        for (Product product : products) {
+            productsById.put(product.getId(), product);
+        }
+        return productsById;
+    }
+
+    private boolean decrementShards(Product product, int quantity) {
+        try {
+            return inventoryShardService.tryDecrement(product, quantity);
+        } catch (PessimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, PRODUCTS_BUSY_MESSAGE, e);
+        }
     }
 
     @Override
-    @Transactional(readOnly = true)
+    // SUPPORTS: a cache hit must not begin a transaction or borrow a connection
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public OrderResponse getOrder(Long id) {
-        Order order = orderRepository.findById(id)
+        OrderResponse cached = terminalOrderCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        Optional<Order> order = orderRepository.findWithItemsById(id);
+        if (order.isPresent()) {
+            OrderResponse response = DtoMapper.toOrderResponse(order.get(), order.get().getOrderItems());
+            if (response.getOrderStatus().isTerminal(response.getPaymentStatus())) {
+                terminalOrderCache.put(id, response);
+            }
+            return response;
+        }
+        // only terminal orders are archived, and archived orders are never written again
+        OrderResponse archived = orderArchiveService.getArchivedOrder(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
-        return DtoMapper.toOrderResponse(order, order.getOrderItems());
+        terminalOrderCache.put(id, archived);
+        return archived;
     }
 
     @Override
@@ -130,43 +413,190 @@ public class OrderServiceImpl implements OrderService {
         if (!userRepository.existsById(userId)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
         }
-        return orderRepository.findByUserId(userId).stream()
-                .map(order -> DtoMapper.toOrderResponse(order, order.getOrderItems()))
-                .toList();
+        return withArchived(orderRepository.findWithItemsByUserId(userId), orderArchiveService.getArchivedOrders(userId));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<OrderResponse> getAllOrders() {
-        return orderRepository.findAll().stream()
-                .map(order -> DtoMapper.toOrderResponse(order, order.getOrderItems()))
+        return withArchived(orderRepository.findAllWithItems(), orderArchiveService.getArchivedOrders(null));
+    }
+
+    // archived orders are no longer in orders: both lists are merged newest first
+    private static List<OrderResponse> withArchived(List<Order> orders, List<OrderResponse> archived) {
+        return Stream.concat(orders.stream().map(order -> DtoMapper.toOrderResponse(order, order.getOrderItems())),
+                        archived.stream())
+                .sorted(Comparator.comparing(OrderResponse::getCreatedAt)
+                        .thenComparing(OrderResponse::getId)
+                        .reversed())
                 .toList();
     }
 
     @Override
-    @Transactional
-    public OrderResponse updateOrderStatus(Long orderId, OrderStatusUpdateRequest request) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
+    @Transactional(readOnly = true)
+    public OrderHistoryResponse getOrderHistory(Long userId, Instant beforeCreatedAt, Long beforeId, int size) {
+        if (size <= 0 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page size must be between 1 and " + MAX_HISTORY_PAGE_SIZE);
+        }
+        if ((beforeCreatedAt == null) != (beforeId == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "beforeCreatedAt and beforeId must be provided together");
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+        }
+
+        // fetch one extra row to know whether another page exists
+        PageRequest limit = PageRequest.ofSize(size + 1);
+        List<OrderSummaryResponse> rows;
+        if (summaryReads) {
+            rows = (beforeCreatedAt == null
+                    ? orderSummaryRepository.findHistoryByUserId(userId, limit)
+                    : orderSummaryRepository.findHistoryByUserIdBefore(userId, beforeCreatedAt, beforeId, limit))
+                    .stream().map(DtoMapper::toOrderSummaryResponse).toList();
+        } else {
+            // archived orders are no longer in orders: merge one page of each on the same cursor
+            rows = Stream.concat(
+                            (beforeCreatedAt == null
+                                    ? orderRepository.findHistoryByUserId(userId, limit)
+                                    : orderRepository.findHistoryByUserIdBefore(userId, beforeCreatedAt, beforeId, limit))
+                                    .stream().map(DtoMapper::toOrderSummaryResponse),
+                            orderArchiveService.getArchivedHistory(userId, beforeCreatedAt, beforeId, size + 1).stream())
+                    .sorted(Comparator.comparing(OrderSummaryResponse::getCreatedAt)
+                            .thenComparing(OrderSummaryResponse::getId)
+                            .reversed())
+                    .limit(size + 1)
+                    .toList();
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<OrderSummaryResponse> orders = hasMore ? rows.subList(0, size) : rows;
+        OrderSummaryResponse last = hasMore ? orders.get(orders.size() - 1) : null;
+
+        return OrderHistoryResponse.builder()
+                .orders(orders)
+                .hasMore(hasMore)
+                .nextBeforeCreatedAt(last != null ? last.getCreatedAt() : null)
+                .nextBeforeId(last != null ? last.getId() : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<AdminOrderSummaryResponse> searchOrders(OrderSearchRequest criteria, Pageable pageable) {
+        if (criteria.getCreatedFrom() != null && criteria.getCreatedTo() != null
+                && !criteria.getCreatedFrom().isBefore(criteria.getCreatedTo())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "createdFrom must be before createdTo");
+        }
+        if (criteria.getMinAmount() != null && criteria.getMaxAmount() != null
+                && criteria.getMinAmount().compareTo(criteria.getMaxAmount()) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "minAmount must not exceed maxAmount");
+        }
 
-        if (order.getOrderStatus() == OrderStatus.DELIVERED
-                && request.getOrderStatus() != OrderStatus.DELIVERED) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Delivered orders cannot revert to previous status");
+        Page<AdminOrderSummaryResponse> page;
+        if (summaryReads) {
+            page = orderSummaryRepository.searchSummaries(
+                    criteria.getOrderStatus(),
+                    criteria.getPaymentStatus(),
+                    criteria.getPaymentMethod(),
+                    criteria.getCreatedFrom(),
+                    criteria.getCreatedTo(),
+                    Money.ceiling(criteria.getMinAmount()),
+                    Money.floor(criteria.getMaxAmount()),
+                    pageable).map(DtoMapper::toAdminOrderSummaryResponse);
+        } else {
+            // archived orders are no longer in orders: take every row up to the end of the page from each
+            // table, merge them in page order and cut the page out, so deep pages cost more than early ones
+            PageRequest head = PageRequest.of(0, Math.toIntExact(pageable.getOffset() + pageable.getPageSize()),
+                    pageable.getSort());
+            Page<AdminOrderSummaryResponse> hot = orderRepository.searchOrders(
+                    criteria.getOrderStatus(),
+                    criteria.getPaymentStatus(),
+                    criteria.getPaymentMethod(),
+                    criteria.getCreatedFrom(),
+                    criteria.getCreatedTo(),
+                    Money.ceiling(criteria.getMinAmount()),
+                    Money.floor(criteria.getMaxAmount()),
+                    head).map(DtoMapper::toAdminOrderSummaryResponse);
+            Page<AdminOrderSummaryResponse> archived = orderArchiveService.searchArchivedOrders(criteria, head);
+            List<AdminOrderSummaryResponse> content = Stream.concat(hot.stream(), archived.stream())
+                    .sorted(adminOrderComparator(pageable.getSort()))
+                    .skip(pageable.getOffset())
+                    .limit(pageable.getPageSize())
+                    .toList();
+            page = new PageImpl<>(content, pageable, hot.getTotalElements() + archived.getTotalElements());
         }
 
-        // --- DEBUT MODIFICATION : Remise en stock si Annulation ---
-        if (request.getOrderStatus() == OrderStatus.CANCELLED && order.getOrderStatus() != OrderStatus.CANCELLED) {
-            for (OrderItem item : order.getOrderItems()) {
-                Product product = item.getProduct();
-                int newStock = product.getStockQuantity() + item.getQuantity();
-                product.setStockQuantity(newStock);
-                productRepository.save(product);
+        return PageResponse.<AdminOrderSummaryResponse>builder()
+                .content(page.getContent())
+                .page(page.getNumber())
+                .size(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<OrderStatus, Long> countOrdersByStatus(Instant createdFrom, Instant createdTo) {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            counts.put(status, 0L);
+        }
+        List<OrderStatusCountView> rows = summaryReads
+                ? orderSummaryRepository.countByStatus(createdFrom, createdTo)
+                : orderRepository.countByStatus(createdFrom, createdTo);
+        for (OrderStatusCountView row : rows) {
+            counts.put(row.getOrderStatus(), row.getTotal());
+        }
+        if (!summaryReads) {
+            // order_summaries keeps archived orders; the hot table does not
+            orderArchiveService.countArchivedOrdersByStatus(createdFrom, createdTo).forEach(
+                    (status, total) -> counts.merge(status, total, Long::sum));
+        }
+        return counts;
+    }
+
+    private static Comparator<AdminOrderSummaryResponse> adminOrderComparator(Sort sort) {
+        Comparator<AdminOrderSummaryResponse> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<AdminOrderSummaryResponse> next = switch (order.getProperty()) {
+                case "createdAt" -> Comparator.comparing(AdminOrderSummaryResponse::getCreatedAt);
+                case "totalAmount" -> Comparator.comparing(AdminOrderSummaryResponse::getTotalAmount);
+                case "id" -> Comparator.comparing(AdminOrderSummaryResponse::getId);
+                default -> throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+            };
+            next = order.isDescending() ? next.reversed() : next;
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator != null ? comparator : Comparator.comparing(AdminOrderSummaryResponse::getId);
+    }
+
+    @Override
+    public OrderResponse updateOrderStatus(Long orderId, OrderStatusUpdateRequest request) {
+        // each attempt is its own transaction, so a retry re-reads the order past the snapshot that lost
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> applyStatusUpdate(orderId, request));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == MAX_TRANSITION_ATTEMPTS) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, CONCURRENT_UPDATE_MESSAGE, e);
+                }
             }
         }
-        // --- FIN MODIFICATION ---
+    }
 
-        order.setOrderStatus(request.getOrderStatus());
+    private OrderResponse applyStatusUpdate(Long orderId, OrderStatusUpdateRequest request) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
 
+        OrderStatus previousStatus = order.getOrderStatus();
+        PaymentStatus previousPaymentStatus = order.getPaymentStatus();
+        String rejection = transitionRejection(previousStatus, previousPaymentStatus, request.getOrderStatus());
+        if (rejection != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, rejection);
+        }
+
+        order.setOrderStatus(request.getOrderStatus());
         if (request.getPaymentStatus() != null) {
             order.setPaymentStatus(request.getPaymentStatus());
             Payment payment = order.getPayment();
@@ -176,7 +606,247 @@ public class OrderServiceImpl implements OrderService {
             }
         }
 
+        // the versioned update is the compare-and-set: flushed before any side effect, so a transition
+        // that lost to a concurrent one fails here and a cancellation can never restock twice
         Order saved = orderRepository.save(order);
-        return DtoMapper.toOrderResponse(saved, saved.getOrderItems());
+        orderRepository.flush();
+
+        // restock on cancellation: one relative update covers every line of the order
+        if (requiresRestock(previousStatus, saved.getOrderStatus())) {
+            productRepository.restockForOrders(List.of(orderId));
+            inventoryService.onOrdersRestocked(List.of(orderId));
+        }
+
+        orderSummaryService.orderStatusChanged(saved);
+        salesRollupService.orderStatusChanged(saved, previousStatus, previousPaymentStatus);
+        salesKpiService.orderStatusChanged(previousStatus, saved.getOrderStatus(),
+                previousPaymentStatus, saved.getPaymentStatus());
+        outboxService.orderStatusChanged(saved, previousStatus);
+        OrderResponse response = DtoMapper.toOrderResponse(saved, saved.getOrderItems());
+        OrderStatusEvent event = statusEvent(orderId, saved.getOrderStatus(), saved.getPaymentStatus(), saved.getVersion());
+        boolean terminal = saved.getOrderStatus().isTerminal(saved.getPaymentStatus());
+        onCompletion(committed -> {
+            if (committed) {
+                if (terminal) {
+                    terminalOrderCache.put(orderId, response);
+                }
+                orderStatusStreamService.publish(event);
+            }
+        });
+        return response;
+    }
+
+    @Override
+    public BulkOrderStatusUpdateResponse bulkUpdateOrderStatus(BulkOrderStatusUpdateRequest request) {
+        return transitionInChunks(resolveBulkOrderIds(request), request.getOrderStatus(), request.getPaymentStatus(), null);
+    }
+
+    @Override
+    public BulkOrderStatusUpdateResponse cancelUnpaidOrders(List<Long> orderIds) {
+        return transitionInChunks(List.copyOf(new LinkedHashSet<>(orderIds)), OrderStatus.CANCELLED,
+                PaymentStatus.FAILED, PaymentStatus.PENDING);
+    }
+
+    private BulkOrderStatusUpdateResponse transitionInChunks(List<Long> orderIds, OrderStatus target,
+                                                             PaymentStatus paymentStatus,
+                                                             PaymentStatus requiredPaymentStatus) {
+        Map<Long, OrderTransitionResult> resultsById = new HashMap<>();
+
+        for (int start = 0; start < orderIds.size(); start += BULK_CHUNK_SIZE) {
+            List<Long> pending = orderIds.subList(start, Math.min(start + BULK_CHUNK_SIZE, orderIds.size()));
+            // one transaction per attempt: orders that lost a compare-and-set are re-read by the next one
+            for (int attempt = 1; attempt <= MAX_TRANSITION_ATTEMPTS && !pending.isEmpty(); attempt++) {
+                List<Long> attemptIds = pending;
+                pending = transactionTemplate.execute(status -> applyBulkTransition(
+                        attemptIds, target, paymentStatus, requiredPaymentStatus, resultsById));
+            }
+            for (Long orderId : pending) {
+                resultsById.put(orderId, transitionResult(orderId, null, TransitionOutcome.CONFLICT,
+                        CONCURRENT_UPDATE_MESSAGE));
+            }
+        }
+
+        List<OrderTransitionResult> results = orderIds.stream().map(resultsById::get).toList();
+        return BulkOrderStatusUpdateResponse.builder()
+                .requested(orderIds.size())
+                .updated(countOutcome(results, TransitionOutcome.UPDATED))
+                .rejected(countOutcome(results, TransitionOutcome.REJECTED))
+                .notFound(countOutcome(results, TransitionOutcome.NOT_FOUND))
+                .conflicted(countOutcome(results, TransitionOutcome.CONFLICT))
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Applies one attempt of a bulk transition and records the outcome of every order it settles.
+     * When {@code requiredPaymentStatus} is given, orders whose payment has moved on are rejected; the
+     * compare-and-set guarantees it has not moved between that check and the update.
+     *
+     * @return ids of the orders whose compare-and-set lost to a concurrent transition
+     */
+    private List<Long> applyBulkTransition(List<Long> orderIds, OrderStatus target, PaymentStatus paymentStatus,
+                                           PaymentStatus requiredPaymentStatus,
+                                           Map<Long, OrderTransitionResult> resultsById) {
+        Map<Long, OrderStatusView> views = new HashMap<>();
+        for (OrderStatusView view : orderRepository.findStatusesByIdIn(orderIds)) {
+            views.put(view.getId(), view);
+        }
+
+        Map<Long, Long> expectedVersions = new LinkedHashMap<>();
+        for (Long orderId : orderIds) {
+            OrderStatusView view = views.get(orderId);
+            if (view == null) {
+                resultsById.put(orderId, transitionResult(orderId, null, TransitionOutcome.NOT_FOUND, "Order not found"));
+                continue;
+            }
+            String rejection = transitionRejection(view.getOrderStatus(), view.getPaymentStatus(), target);
+            if (rejection == null && requiredPaymentStatus != null && view.getPaymentStatus() != requiredPaymentStatus) {
+                rejection = "Payment is no longer " + requiredPaymentStatus;
+            }
+            if (rejection != null) {
+                resultsById.put(orderId, transitionResult(orderId, view.getOrderStatus(), TransitionOutcome.REJECTED, rejection));
+            } else {
+                expectedVersions.put(orderId, view.getVersion());
+            }
+        }
+
+        List<Long> updated = orderRepository.compareAndSetStatuses(expectedVersions, target, paymentStatus, Instant.now());
+        if (!updated.isEmpty()) {
+            // side effects only for the orders whose transition won, from the state it replaced
+            List<OrderStatusView> previousStates = updated.stream().map(views::get).toList();
+            List<Long> toRestock = new ArrayList<>();
+            List<Long> terminalIds = new ArrayList<>();
+            List<OrderStatusEvent> events = new ArrayList<>();
+            for (OrderStatusView previous : previousStates) {
+                PaymentStatus newPaymentStatus = paymentStatus != null ? paymentStatus : previous.getPaymentStatus();
+                events.add(statusEvent(previous.getId(), target, newPaymentStatus, previous.getVersion() + 1));
+                if (target.isTerminal(newPaymentStatus)) {
+                    terminalIds.add(previous.getId());
+                }
+                if (requiresRestock(previous.getOrderStatus(), target)) {
+                    toRestock.add(previous.getId());
+                }
+                resultsById.put(previous.getId(), transitionResult(previous.getId(), previous.getOrderStatus(),
+                        TransitionOutcome.UPDATED, null));
+            }
+            if (!toRestock.isEmpty()) {
+                productRepository.restockForOrders(toRestock);
+                inventoryService.onOrdersRestocked(toRestock);
+            }
+            if (paymentStatus != null) {
+                paymentRepository.updatePaymentStatusByOrderIdIn(updated, paymentStatus);
+            }
+            salesRollupService.orderStatusesChanged(previousStates, target, paymentStatus);
+            orderSummaryService.orderStatusesChanged(updated, target, paymentStatus);
+            outboxService.orderStatusesChanged(previousStates, target, paymentStatus);
+            // read back after every write of this transaction, so the cached responses match what commits
+            List<OrderResponse> terminalResponses = terminalIds.isEmpty() ? List.of()
+                    : orderRepository.findWithItemsByIdIn(terminalIds).stream()
+                            .map(order -> DtoMapper.toOrderResponse(order, order.getOrderItems()))
+                            .toList();
+            onCompletion(committed -> {
+                if (committed) {
+                    terminalResponses.forEach(response -> terminalOrderCache.put(response.getId(), response));
+                    events.forEach(orderStatusStreamService::publish);
+                }
+            });
+        }
+
+        Set<Long> lost = new LinkedHashSet<>(expectedVersions.keySet());
+        updated.forEach(lost::remove);
+        return new ArrayList<>(lost);
+    }
+
+    private List<Long> resolveBulkOrderIds(BulkOrderStatusUpdateRequest request) {
+        boolean hasIds = request.getOrderIds() != null && !request.getOrderIds().isEmpty();
+        OrderSearchRequest filter = request.getFilter();
+        if (hasIds == (filter != null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Provide either orderIds or a filter");
+        }
+        if (hasIds) {
+            return List.copyOf(new LinkedHashSet<>(request.getOrderIds()));
+        }
+
+        List<Long> ids = orderRepository.searchOrderIds(
+                filter.getOrderStatus(),
+                filter.getPaymentStatus(),
+                filter.getPaymentMethod(),
+                filter.getCreatedFrom(),
+                filter.getCreatedTo(),
+                Money.ceiling(filter.getMinAmount()),
+                Money.floor(filter.getMaxAmount()),
+                PageRequest.ofSize(MAX_BULK_ORDERS + 1));
+        if (ids.size() > MAX_BULK_ORDERS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Filter matches more than " + MAX_BULK_ORDERS + " orders");
+        }
+        return ids;
+    }
+
+    // the transition rules live in OrderStatus; this only picks the message for a refused one
+    private static String transitionRejection(OrderStatus current, PaymentStatus currentPaymentStatus,
+                                              OrderStatus target) {
+        if (current.isTerminal(currentPaymentStatus)) {
+            return TERMINAL_ORDER_MESSAGE;
+        }
+        if (!current.canTransitionTo(target)) {
+            return current == OrderStatus.DELIVERED
+                    ? DELIVERED_REVERT_MESSAGE
+                    : "Orders cannot move from " + current + " to " + target;
+        }
+        return null;
+    }
+
+    private static OrderStatusEvent statusEvent(Long orderId, OrderStatus orderStatus, PaymentStatus paymentStatus,
+                                                Long version) {
+        return OrderStatusEvent.builder()
+                .orderId(orderId)
+                .orderStatus(orderStatus)
+                .paymentStatus(paymentStatus)
+                .version(version)
+                .build();
+    }
+
+    private static boolean requiresRestock(OrderStatus current, OrderStatus target) {
+        return target == OrderStatus.CANCELLED && current != OrderStatus.CANCELLED;
+    }
+
+    private static OrderTransitionResult transitionResult(Long orderId, OrderStatus previous,
+                                                          TransitionOutcome outcome, String message) {
+        return OrderTransitionResult.builder()
+                .orderId(orderId)
+                .previousStatus(previous)
+                .outcome(outcome)
+                .message(message)
+                .build();
+    }
+
+    private static int countOutcome(List<OrderTransitionResult> results, TransitionOutcome outcome) {
+        return (int) results.stream().filter(result -> result.getOutcome() == outcome).count();
+    }
+
+    private static final class PreparedCheckout {
+        private final CheckoutRequest request;
+        private final Order order;
+        private final List<CartItem> cartItems;
+        private Map<Long, Integer> quantitiesByProductId;
+
+        private PreparedCheckout(CheckoutRequest request, Order order, List<CartItem> cartItems) {
+            this.request = request;
+            this.order = order;
+            this.cartItems = cartItems;
+        }
+    }
+
+    private static void onCompletion(Consumer<Boolean> callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.accept(status == STATUS_COMMITTED);
+            }
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,274 @@
+package com.myshop.service.impl;
+
+import com.myshop.dto.response.OrderResponse;
+import com.myshop.dto.response.OrderStatusEvent;
+import com.myshop.repository.OrderRepository;
+import com.myshop.repository.projection.OrderStatusView;
+import com.myshop.service.OrderArchiveService;
+import com.myshop.service.OrderStatusStreamService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fan-out registry of open streams by order id. Each connection has a small buffer drained by a shared
+ * sender pool, so publishers never wait on a client; when a buffer is full its oldest event is
+ * dropped, since a reader only needs the latest state. The pool can grow to one thread per connection,
+ * so a client that stops reading blocks only its own stream.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderStatusStreamServiceImpl implements OrderStatusStreamService {
+
+    private static final int RECONCILE_CHUNK_SIZE = 500;
+
+    private final OrderRepository orderRepository;
+    private final OrderArchiveService orderArchiveService;
+
+    private final ConcurrentMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    @Value("${myshop.order-stream.max-connections:10000}")
+    private int maxConnections = 10000;
+
+    @Value("${myshop.order-stream.buffer-size:8}")
+    private int bufferSize = 8;
+
+    @Value("${myshop.order-stream.timeout-ms:300000}")
+    private long timeoutMs = 300000;
+
+    // threads kept when idle; more are started while sends are blocked, up to max-connections
+    @Value("${myshop.order-stream.send-threads:4}")
+    private int sendThreads = 4;
+
+    private ThreadPoolExecutor sender;
+
+    @PostConstruct
+    public void start() {
+        // a connection has at most one drain running, so max-connections threads never leave one waiting
+        sender = new ThreadPoolExecutor(sendThreads, Math.max(sendThreads, maxConnections), 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), new CustomizableThreadFactory("order-stream-"));
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+        sender.shutdownNow();
+    }
+
+    @Override
+    public SseEmitter subscribe(Long orderId) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open order streams, please poll instead");
+        }
+        Subscriber subscriber = new Subscriber(orderId, new SseEmitter(timeoutMs));
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(subscriber.emitter::complete);
+        subscriber.emitter.onError(e -> remove(subscriber));
+        // registered before the current state is read, so no change committed in between is missed
+        subscribers.computeIfAbsent(orderId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        OrderStatusEvent current;
+        try {
+            current = currentState(orderId);
+        } catch (RuntimeException e) {
+            remove(subscriber);
+            throw e;
+        }
+        subscriber.offer(current);
+        return subscriber.emitter;
+    }
+
+    @Override
+    public void publish(OrderStatusEvent event) {
+        Set<Subscriber> listening = subscribers.get(event.getOrderId());
+        if (listening != null) {
+            listening.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+
+    /**
+     * Re-reads the versions of every streamed order in batches, delivering transitions committed on
+     * other nodes, then sends a heartbeat comment so proxies keep idle connections open.
+     */
+    @Scheduled(fixedDelayString = "${myshop.order-stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        List<Long> orderIds = new ArrayList<>(subscribers.keySet());
+        for (int start = 0; start < orderIds.size(); start += RECONCILE_CHUNK_SIZE) {
+            List<Long> chunk = orderIds.subList(start, Math.min(start + RECONCILE_CHUNK_SIZE, orderIds.size()));
+            for (OrderStatusView view : orderRepository.findStatusesByIdIn(chunk)) {
+                publish(OrderStatusEvent.builder()
+                        .orderId(view.getId())
+                        .orderStatus(view.getOrderStatus())
+                        .paymentStatus(view.getPaymentStatus())
+                        .version(view.getVersion())
+                        .build());
+            }
+        }
+        subscribers.values().forEach(set -> set.forEach(Subscriber::heartbeat));
+    }
+
+    private OrderStatusEvent currentState(Long orderId) {
+        List<OrderStatusView> views = orderRepository.findStatusesByIdIn(List.of(orderId));
+        if (!views.isEmpty()) {
+            OrderStatusView view = views.get(0);
+            return OrderStatusEvent.builder()
+                    .orderId(orderId)
+                    .orderStatus(view.getOrderStatus())
+                    .paymentStatus(view.getPaymentStatus())
+                    .version(view.getVersion())
+                    .build();
+        }
+        // archived orders are terminal: the stream sends their state and completes
+        OrderResponse archived = orderArchiveService.getArchivedOrder(orderId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
+        return OrderStatusEvent.builder()
+                .orderId(orderId)
+                .orderStatus(archived.getOrderStatus())
+                .paymentStatus(archived.getPaymentStatus())
+                .build();
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.close()) {
+            return;
+        }
+        connections.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.orderId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private final class Subscriber {
+
+        private final Long orderId;
+        private final SseEmitter emitter;
+        private final ArrayDeque<OrderStatusEvent> buffer = new ArrayDeque<>();
+        // highest version queued; older or repeated states (e.g. from the heartbeat re-read) are skipped
+        private long lastVersion = -1;
+        private boolean heartbeatDue;
+        private boolean sending;
+        private boolean closed;
+
+        private Subscriber(Long orderId, SseEmitter emitter) {
+            this.orderId = orderId;
+            this.emitter = emitter;
+        }
+
+        void offer(OrderStatusEvent event) {
+            synchronized (this) {
+                if (closed || (event.getVersion() != null && event.getVersion() <= lastVersion)) {
+                    return;
+                }
+                if (event.getVersion() != null) {
+                    lastVersion = event.getVersion();
+                }
+                if (buffer.size() >= bufferSize) {
+                    buffer.pollFirst();
+                }
+                buffer.addLast(event);
+                if (!startSending()) {
+                    return;
+                }
+            }
+            dispatch();
+        }
+
+        void heartbeat() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                heartbeatDue = true;
+                if (!startSending()) {
+                    return;
+                }
+            }
+            dispatch();
+        }
+
+        synchronized boolean close() {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            buffer.clear();
+            return true;
+        }
+
+        // one drain per connection at a time keeps its events in order
+        private boolean startSending() {
+            if (sending) {
+                return false;
+            }
+            sending = true;
+            return true;
+        }
+
+        private void dispatch() {
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                remove(this);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                OrderStatusEvent event;
+                boolean sendHeartbeat;
+                synchronized (this) {
+                    event = buffer.pollFirst();
+                    sendHeartbeat = event == null && heartbeatDue;
+                    heartbeatDue = false;
+                    if (event == null && !sendHeartbeat) {
+                        sending = false;
+                        return;
+                    }
+                }
+                try {
+                    if (sendHeartbeat) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                        continue;
+                    }
+                    SseEmitter.SseEventBuilder message = SseEmitter.event().name("status").data(event);
+                    if (event.getVersion() != null) {
+                        message.id(event.getVersion().toString());
+                    }
+                    emitter.send(message);
+                } catch (IOException | IllegalStateException e) {
+                    // the client went away; the container completes the emitter
+                    remove(this);
+                    return;
+                }
+                if (event.getOrderStatus().isTerminal(event.getPaymentStatus())) {
+                    remove(this);
+                    emitter.complete();
+                    return;
+                }
+            }
+        }
+    }
+}
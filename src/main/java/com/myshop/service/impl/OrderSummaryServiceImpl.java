@@ -0,0 +1,82 @@
+package com.myshop.service.impl;
+
+import com.myshop.domain.entity.Order;
+import com.myshop.domain.entity.OrderItem;
+import com.myshop.domain.entity.OrderSummary;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.dto.response.OrderSummaryBackfillResponse;
+import com.myshop.repository.OrderRepository;
+import com.myshop.repository.OrderSummaryRepository;
+import com.myshop.service.OrderSummaryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class OrderSummaryServiceImpl implements OrderSummaryService {
+
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${myshop.order-summary.backfill-chunk-size:1000}")
+    private int backfillChunkSize = 1000;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderPlaced(Order order, List<OrderItem> items) {
+        orderSummaryRepository.save(OrderSummary.builder()
+                .orderId(order.getId())
+                .userId(order.getUser().getId())
+                .orderStatus(order.getOrderStatus())
+                .paymentStatus(order.getPaymentStatus())
+                .paymentMethod(order.getPaymentMethod())
+                .totalAmount(order.getTotalAmount())
+                .itemCount((long) items.size())
+                .firstItemName(items.isEmpty() ? null : items.get(0).getProductName())
+                .createdAt(order.getCreatedAt() != null ? order.getCreatedAt() : Instant.now())
+                .updatedAt(order.getUpdatedAt())
+                .build());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderStatusChanged(Order order) {
+        orderSummaryRepository.updateStatuses(List.of(order.getId()), order.getOrderStatus(),
+                order.getPaymentStatus(), Instant.now());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderStatusesChanged(Collection<Long> orderIds, OrderStatus orderStatus, PaymentStatus paymentStatus) {
+        orderSummaryRepository.updateStatuses(orderIds, orderStatus, paymentStatus, Instant.now());
+    }
+
+    @Override
+    public OrderSummaryBackfillResponse backfill() {
+        Long maxId = orderRepository.findMaxId();
+        long inserted = 0;
+        if (maxId != null) {
+            // one short transaction per id window keeps locks and undo small on a large orders table
+            for (long afterId = 0; afterId < maxId; afterId += backfillChunkSize) {
+                long from = afterId;
+                long until = Math.min(afterId + backfillChunkSize, maxId);
+                Integer rows = transactionTemplate.execute(status -> orderSummaryRepository.backfillRange(from, until));
+                inserted += rows != null ? rows : 0;
+            }
+        }
+        return OrderSummaryBackfillResponse.builder()
+                .inserted(inserted)
+                .scannedUpToOrderId(maxId)
+                .build();
+    }
+}
@@ -0,0 +1,212 @@
+package com.myshop.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myshop.domain.entity.Order;
+import com.myshop.domain.entity.OutboxEvent;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.OutboxEventType;
+import com.myshop.domain.enums.OutboxStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.dto.response.OrderEventPayload;
+import com.myshop.repository.OutboxEventRepository;
+import com.myshop.repository.projection.OrderStatusView;
+import com.myshop.service.OutboxMessage;
+import com.myshop.service.OutboxService;
+import com.myshop.service.OutboxSink;
+import com.myshop.service.SchedulerLeaseService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Events are always written with the change that causes them, on every node. The relay runs only on
+ * the node holding the {@value #RELAY_LEASE} lease, so events leave in id order; that node keeps the
+ * lease between ticks and another takes over once it stops renewing. A failed batch stays pending and
+ * is retried on the next tick, which keeps every aggregate's events in id order.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+
+    static final String RELAY_LEASE = "outbox-relay";
+
+    private static final String ORDER_AGGREGATE = "Order";
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxSink> sinks;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerLeaseService schedulerLeaseService;
+
+    private final ReentrantLock relayLock = new ReentrantLock();
+
+    @Value("${myshop.outbox.relay.enabled:true}")
+    private boolean relayEnabled = true;
+
+    @Value("${myshop.outbox.relay.lease-seconds:30}")
+    private long leaseSeconds = 30;
+
+    @Value("${myshop.outbox.relay.batch-size:100}")
+    private int batchSize = 100;
+
+    @Value("${myshop.outbox.retention-hours:72}")
+    private long retentionHours = 72;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderPlaced(Order order) {
+        save(order.getId(), OrderEventPayload.builder()
+                .eventType(OutboxEventType.ORDER_PLACED)
+                .orderId(order.getId())
+                .userId(order.getUser().getId())
+                .orderStatus(order.getOrderStatus())
+                .paymentStatus(order.getPaymentStatus())
+                .totalAmount(order.getTotalAmount().toBigDecimal())
+                .occurredAt(Instant.now())
+                .build());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderStatusChanged(Order order, OrderStatus previousStatus) {
+        save(order.getId(), OrderEventPayload.builder()
+                .eventType(OutboxEventType.ORDER_STATUS_CHANGED)
+                .orderId(order.getId())
+                .userId(order.getUser().getId())
+                .previousStatus(previousStatus)
+                .orderStatus(order.getOrderStatus())
+                .paymentStatus(order.getPaymentStatus())
+                .totalAmount(order.getTotalAmount().toBigDecimal())
+                .occurredAt(Instant.now())
+                .build());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderStatusesChanged(Collection<OrderStatusView> previousStates, OrderStatus orderStatus,
+                                     PaymentStatus paymentStatus) {
+        if (previousStates.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<OutboxEvent> events = new ArrayList<>(previousStates.size());
+        for (OrderStatusView previous : previousStates) {
+            events.add(event(previous.getId(), OrderEventPayload.builder()
+                    .eventType(OutboxEventType.ORDER_STATUS_CHANGED)
+                    .orderId(previous.getId())
+                    .userId(previous.getUserId())
+                    .previousStatus(previous.getOrderStatus())
+                    .orderStatus(orderStatus)
+                    .paymentStatus(paymentStatus != null ? paymentStatus : previous.getPaymentStatus())
+                    .totalAmount(previous.getTotalAmount().toBigDecimal())
+                    .occurredAt(now)
+                    .build()));
+        }
+        outboxEventRepository.saveAll(events);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${myshop.outbox.relay.interval-ms:1000}")
+    public int relay() {
+        if (!relayEnabled || !relayLock.tryLock()) {
+            return 0;
+        }
+        try {
+            Duration leaseDuration = Duration.ofSeconds(leaseSeconds);
+            int relayed = 0;
+            List<OutboxEvent> batch;
+            // drain while full batches keep coming; a failure or a lost lease ends the run until the next tick
+            do {
+                if (!schedulerLeaseService.tryAcquire(RELAY_LEASE, leaseDuration)) {
+                    break;
+                }
+                batch = outboxEventRepository.findByStatusOrderByIdAsc(OutboxStatus.PENDING, PageRequest.of(0, batchSize));
+                if (batch.isEmpty() || !deliver(batch)) {
+                    break;
+                }
+                relayed += batch.size();
+            } while (batch.size() == batchSize);
+            return relayed;
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${myshop.outbox.purge-interval-ms:3600000}")
+    public void purgePublished() {
+        if (!relayEnabled) {
+            return;
+        }
+        Instant before = Instant.now().minus(Duration.ofHours(retentionHours));
+        transactionTemplate.executeWithoutResult(status ->
+                outboxEventRepository.deletePublishedBefore(OutboxStatus.PUBLISHED, before));
+    }
+
+    private boolean deliver(List<OutboxEvent> batch) {
+        List<OutboxMessage> messages = batch.stream().map(OutboxServiceImpl::toMessage).toList();
+        List<Long> ids = batch.stream().map(OutboxEvent::getId).toList();
+        try {
+            for (OutboxSink sink : sinks) {
+                if (sink.isEnabled()) {
+                    sink.publish(messages);
+                }
+            }
+        } catch (Exception e) {
+            String error = String.valueOf(e.getMessage());
+            String truncated = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+            transactionTemplate.executeWithoutResult(status -> outboxEventRepository.markFailed(ids, truncated));
+            return false;
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                outboxEventRepository.markPublished(ids, OutboxStatus.PUBLISHED, Instant.now()));
+        return true;
+    }
+
+    private void save(Long orderId, OrderEventPayload payload) {
+        outboxEventRepository.save(event(orderId, payload));
+    }
+
+    private OutboxEvent event(Long orderId, OrderEventPayload payload) {
+        return OutboxEvent.builder()
+                .aggregateType(ORDER_AGGREGATE)
+                .aggregateId(orderId)
+                .eventType(payload.getEventType())
+                .payload(toJson(payload))
+                .createdAt(payload.getOccurredAt())
+                .build();
+    }
+
+    private String toJson(OrderEventPayload payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize order event", e);
+        }
+    }
+
+    private static OutboxMessage toMessage(OutboxEvent event) {
+        return OutboxMessage.builder()
+                .id(event.getId())
+                .aggregateType(event.getAggregateType())
+                .aggregateId(event.getAggregateId())
+                .eventType(event.getEventType())
+                .payload(event.getPayload())
+                .createdAt(event.getCreatedAt())
+                .build();
+    }
+}
@@ -2,13 +2,17 @@ package com.myshop.service.impl;
 
 import com.myshop.domain.entity.Category;
 import com.myshop.domain.entity.Product;
+import com.myshop.domain.value.Money;
 import com.myshop.dto.request.CreateProductRequest;
+import com.myshop.dto.request.InventoryShardRequest;
 import com.myshop.dto.request.UpdateProductRequest;
 import com.myshop.dto.response.ProductResponse;
 import com.myshop.mapper.DtoMapper;
 import com.myshop.repository.CategoryRepository;
 import com.myshop.repository.OrderItemRepository;
 import com.myshop.repository.ProductRepository;
+import com.myshop.service.InventoryService;
+import com.myshop.service.InventoryShardService;
 import com.myshop.service.ProductService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -20,6 +24,7 @@ import org.springframework.web.server.ResponseStatusException;
 import java.math.BigDecimal;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +33,8 @@ public class ProductServiceImpl implements ProductService {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final OrderItemRepository orderItemRepository;
+    private final InventoryService inventoryService;
+    private final InventoryShardService inventoryShardService;
 
     @Override
     @Transactional(readOnly = true)
@@ -36,7 +43,7 @@ public class ProductServiceImpl implements ProductService {
                                                 BigDecimal maxPrice,
                                                 String search,
                                                 Sort sort) {
-        List<Product> products = productRepository.searchProducts(categoryId, minPrice, maxPrice,
+        List<Product> products = productRepository.searchProducts(categoryId, Money.ceiling(minPrice), Money.floor(maxPrice),
                 search != null ? search.trim() : null);
 
         if (sort != null && sort.isSorted()) {
@@ -58,8 +65,11 @@ public class ProductServiceImpl implements ProductService {
             }
         }
 
+        Map<Long, Long> shardedStock = inventoryShardService.totalStock(products);
         return products.stream()
-                .map(DtoMapper::toProductResponse)
+                .map(product -> inventoryService.manages(product.getId()) || !shardedStock.containsKey(product.getId())
+                        ? toProductResponse(product)
+                        : DtoMapper.toProductResponse(product, shardedStock.get(product.getId())))
                 .toList();
     }
 
@@ -80,7 +90,7 @@ public class ProductServiceImpl implements ProductService {
     public ProductResponse getProduct(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found"));
-        return DtoMapper.toProductResponse(product);
+        return toProductResponse(product);
     }
 
     @Override
@@ -94,7 +104,7 @@ public class ProductServiceImpl implements ProductService {
                 .category(category)
                 .name(request.getName())
                 .description(request.getDescription())
-                .price(request.getPrice())
+                .price(Money.of(request.getPrice()))
                 .stockQuantity(request.getStockQuantity())
                 .imageUrl(request.getImageUrl())
                 .build();
@@ -110,15 +120,31 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found"));
         Category category = categoryRepository.findById(request.getCategoryId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found"));
+        // reads the stored stock, so it has to see the row before the new value is written
+        inventoryService.onStockOverwritten(id, request.getStockQuantity());
 
         product.setCategory(category);
         product.setName(request.getName());
         product.setDescription(request.getDescription());
-        product.setPrice(request.getPrice());
-        product.setStockQuantity(request.getStockQuantity());
+        product.setPrice(Money.of(request.getPrice()));
         product.setImageUrl(request.getImageUrl());
+        if (product.getInventoryShardCount() > 0) {
+            inventoryShardService.overwriteStock(product, request.getStockQuantity());
+        } else {
+            product.setStockQuantity(request.getStockQuantity());
+        }
 
-        return DtoMapper.toProductResponse(productRepository.save(product));
+        Product saved = productRepository.save(product);
+        // the overwrite settled the pending items, and the counter only moves up once this commits
+        return inventoryService.manages(id)
+                ? DtoMapper.toProductResponse(saved, request.getStockQuantity())
+                : toProductResponse(saved);
+    }
+
+    @Override
+    @Transactional
+    public ProductResponse shardInventory(Long id, InventoryShardRequest request) {
+        return toProductResponse(inventoryShardService.reshard(id, request.getShardCount()));
     }
 
     @Override
@@ -132,10 +158,23 @@ public class ProductServiceImpl implements ProductService {
         productRepository.delete(product);
     }
 
+    // the same stock the cart and checkout accept against: engine products net of their unflushed items
+    private ProductResponse toProductResponse(Product product) {
+        if (inventoryService.manages(product.getId())) {
+            return DtoMapper.toProductResponse(product, inventoryService.availableStock(product));
+        }
+        return product.getInventoryShardCount() > 0
+                ? DtoMapper.toProductResponse(product, inventoryShardService.totalStock(product))
+                : DtoMapper.toProductResponse(product);
+    }
+
     private void validatePriceAndStock(BigDecimal price, Integer stockQuantity) {
         if (price == null || price.signum() <= 0) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Price must be greater than zero");
         }
+        if (price.stripTrailingZeros().scale() > Money.SCALE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Price must have at most 2 decimals");
+        }
         if (stockQuantity == null || stockQuantity < 0) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Stock quantity must be positive");
         }
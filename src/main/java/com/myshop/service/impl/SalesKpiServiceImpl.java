@@ -0,0 +1,131 @@
+package com.myshop.service.impl;
+
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.domain.value.Money;
+import com.myshop.dto.response.SalesKpiResponse;
+import com.myshop.dto.response.SalesKpiWindowResponse;
+import com.myshop.service.SalesKpiService;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Service
+public class SalesKpiServiceImpl implements SalesKpiService {
+
+    private static final int ORDERS = 0;
+    private static final int REVENUE = 1;
+    private static final int UNITS = 2;
+    private static final int FAILED_CHECKOUTS = 3;
+    private static final int CANCELLATIONS = 4;
+    private static final int PAYMENTS_CAPTURED = 5;
+    private static final int METRICS = 6;
+
+    private static final int[] WINDOW_MINUTES = {1, 5, 60};
+    private static final int HISTORY_SECONDS = 60 * 60;
+
+    @Value("${myshop.kpi.stripes:4}")
+    private int stripes = 4;
+
+    private Clock clock = Clock.systemUTC();
+    private SlidingWindowCounters counters;
+
+    @PostConstruct
+    void init() {
+        counters = new SlidingWindowCounters(METRICS, HISTORY_SECONDS, stripes);
+    }
+
+    @Override
+    public void orderPlaced(Money totalAmount, int units) {
+        long revenue = totalAmount.getMinorUnits();
+        onCompletion(committed -> {
+            long now = clock.instant().getEpochSecond();
+            if (committed) {
+                counters.add(now, ORDERS, 1);
+                counters.add(now, REVENUE, revenue);
+                counters.add(now, UNITS, units);
+            } else {
+                counters.add(now, FAILED_CHECKOUTS, 1);
+            }
+        });
+    }
+
+    @Override
+    public void checkoutFailed() {
+        counters.add(clock.instant().getEpochSecond(), FAILED_CHECKOUTS, 1);
+    }
+
+    @Override
+    public void orderStatusChanged(OrderStatus previousStatus, OrderStatus orderStatus,
+                                   PaymentStatus previousPaymentStatus, PaymentStatus paymentStatus) {
+        boolean cancelled = orderStatus == OrderStatus.CANCELLED && previousStatus != OrderStatus.CANCELLED;
+        boolean captured = paymentStatus == PaymentStatus.SUCCESS && previousPaymentStatus != PaymentStatus.SUCCESS;
+        if (!cancelled && !captured) {
+            return;
+        }
+        onCompletion(committed -> {
+            if (committed) {
+                long now = clock.instant().getEpochSecond();
+                if (cancelled) {
+                    counters.add(now, CANCELLATIONS, 1);
+                }
+                if (captured) {
+                    counters.add(now, PAYMENTS_CAPTURED, 1);
+                }
+            }
+        });
+    }
+
+    @Override
+    public SalesKpiResponse snapshot() {
+        Instant now = clock.instant();
+        List<SalesKpiWindowResponse> windows = new ArrayList<>(WINDOW_MINUTES.length);
+        for (int minutes : WINDOW_MINUTES) {
+            long[] totals = counters.sum(now.getEpochSecond(), minutes * 60);
+            long orders = totals[ORDERS];
+            long attempts = orders + totals[FAILED_CHECKOUTS];
+            BigDecimal revenue = BigDecimal.valueOf(totals[REVENUE], Money.SCALE);
+            windows.add(SalesKpiWindowResponse.builder()
+                    .minutes(minutes)
+                    .orders(orders)
+                    .ordersPerMinute((double) orders / minutes)
+                    .revenue(revenue)
+                    .revenuePerMinute(revenue.divide(BigDecimal.valueOf(minutes), Money.SCALE, RoundingMode.HALF_UP))
+                    .failedCheckouts(totals[FAILED_CHECKOUTS])
+                    .checkoutFailureRate(attempts == 0 ? 0 : (double) totals[FAILED_CHECKOUTS] / attempts)
+                    .averageOrderValue(orders == 0 ? BigDecimal.ZERO.setScale(Money.SCALE)
+                            : revenue.divide(BigDecimal.valueOf(orders), Money.SCALE, RoundingMode.HALF_UP))
+                    .averageItemsPerOrder(orders == 0 ? 0 : (double) totals[UNITS] / orders)
+                    .cancellations(totals[CANCELLATIONS])
+                    .paymentsCaptured(totals[PAYMENTS_CAPTURED])
+                    .build());
+        }
+        return SalesKpiResponse.builder()
+                .generatedAt(now)
+                .windows(windows)
+                .build();
+    }
+
+    private static void onCompletion(Consumer<Boolean> callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+}
@@ -0,0 +1,322 @@
+package com.myshop.service.impl;
+
+import com.myshop.domain.entity.Category;
+import com.myshop.domain.entity.DailyCategorySales;
+import com.myshop.domain.entity.DailySales;
+import com.myshop.domain.entity.Order;
+import com.myshop.domain.entity.OrderItem;
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.domain.value.Money;
+import com.myshop.dto.response.CategorySalesResponse;
+import com.myshop.dto.response.DailySalesResponse;
+import com.myshop.dto.response.SalesReportResponse;
+import com.myshop.dto.response.SalesRollupRebuildResponse;
+import com.myshop.mapper.DtoMapper;
+import com.myshop.repository.CategoryRepository;
+import com.myshop.repository.DailyCategorySalesRepository;
+import com.myshop.repository.DailySalesRepository;
+import com.myshop.repository.projection.CategorySalesView;
+import com.myshop.repository.projection.OrderRollupRow;
+import com.myshop.repository.projection.OrderStatusView;
+import com.myshop.service.SalesRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+@RequiredArgsConstructor
+public class SalesRollupServiceImpl implements SalesRollupService {
+
+    private static final int MAX_REPORT_DAYS = 366;
+
+    // row order of every batch, so concurrent transactions lock shared rollup rows in the same order
+    private static final Comparator<SalesKey> SALES_KEY_ORDER = Comparator.comparing(SalesKey::date)
+            .thenComparing(SalesKey::paymentMethod)
+            .thenComparingInt(SalesKey::slot);
+    private static final Comparator<CategoryKey> CATEGORY_KEY_ORDER = Comparator.comparing(CategoryKey::date)
+            .thenComparing(CategoryKey::categoryId)
+            .thenComparing(CategoryKey::paymentMethod)
+            .thenComparingInt(CategoryKey::slot);
+
+    private final DailySalesRepository dailySalesRepository;
+    private final DailyCategorySalesRepository dailyCategorySalesRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    @Value("${myshop.rollup.slots:8}")
+    private int slots = 8;
+
+    @Value("${myshop.rollup.backfill.parallelism:4}")
+    private int parallelism = 4;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderPlaced(Order order, List<OrderItem> items) {
+        Map<Long, long[]> byCategory = new LinkedHashMap<>();
+        for (OrderItem item : items) {
+            long[] line = byCategory.computeIfAbsent(item.getCategoryId(), id -> new long[2]);
+            line[0] += item.getQuantity();
+            line[1] += Money.lineTotal(item.getUnitPrice().getMinorUnits(), item.getQuantity());
+        }
+        List<OrderRollupRow.CategoryLine> lines = new ArrayList<>(byCategory.size());
+        byCategory.forEach((categoryId, line) -> lines.add(new OrderRollupRow.CategoryLine(categoryId, line[0], line[1])));
+
+        Deltas deltas = new Deltas();
+        deltas.add(OrderRollupRow.builder()
+                .orderId(order.getId())
+                .createdAt(order.getCreatedAt() != null ? order.getCreatedAt() : Instant.now())
+                .paymentMethod(order.getPaymentMethod())
+                .totalMinorUnits(order.getTotalAmount().getMinorUnits())
+                .lines(lines)
+                .build(), order.getOrderStatus(), order.getPaymentStatus(), 1);
+        write(deltas);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderStatusChanged(Order order, OrderStatus previousStatus, PaymentStatus previousPaymentStatus) {
+        boolean cancelledFlipped = (previousStatus == OrderStatus.CANCELLED) != (order.getOrderStatus() == OrderStatus.CANCELLED);
+        boolean paidFlipped = (previousPaymentStatus == PaymentStatus.SUCCESS) != (order.getPaymentStatus() == PaymentStatus.SUCCESS);
+        if (!cancelledFlipped && !paidFlipped) {
+            return;
+        }
+        // only cancellations move the per-category measures, so only they need the order's lines
+        List<OrderRollupRow.CategoryLine> lines = cancelledFlipped
+                ? dailySalesRepository.findCategoryLines(List.of(order.getId())).getOrDefault(order.getId(), List.of())
+                : List.of();
+        OrderRollupRow row = OrderRollupRow.builder()
+                .orderId(order.getId())
+                .createdAt(order.getCreatedAt())
+                .paymentMethod(order.getPaymentMethod())
+                .totalMinorUnits(order.getTotalAmount().getMinorUnits())
+                .lines(lines)
+                .build();
+
+        Deltas deltas = new Deltas();
+        deltas.add(row, order.getOrderStatus(), order.getPaymentStatus(), 1);
+        deltas.add(row, previousStatus, previousPaymentStatus, -1);
+        write(deltas);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderStatusesChanged(Collection<OrderStatusView> previousStates, OrderStatus orderStatus,
+                                     PaymentStatus paymentStatus) {
+        // the rows already hold the new state, so the old one comes from the caller
+        Map<Long, OrderStatusView> previousById = new HashMap<>();
+        for (OrderStatusView previous : previousStates) {
+            previousById.put(previous.getId(), previous);
+        }
+        Deltas deltas = new Deltas();
+        for (OrderRollupRow row : dailySalesRepository.findRollupRows(new ArrayList<>(previousById.keySet()))) {
+            OrderStatusView previous = previousById.get(row.getOrderId());
+            deltas.add(row, orderStatus, paymentStatus != null ? paymentStatus : previous.getPaymentStatus(), 1);
+            deltas.add(row, previous.getOrderStatus(), previous.getPaymentStatus(), -1);
+        }
+        write(deltas);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SalesReportResponse report(LocalDate from, LocalDate to, OrderPaymentMethod paymentMethod) {
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_REPORT_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Report range must not exceed " + MAX_REPORT_DAYS + " days");
+        }
+
+        List<DailySalesResponse> days = dailySalesRepository.summarizeByDay(from, to, paymentMethod).stream()
+                .map(DtoMapper::toDailySalesResponse)
+                .toList();
+        List<CategorySalesView> categoryRows = dailyCategorySalesRepository.summarizeByCategory(from, to, paymentMethod);
+        Map<Long, String> categoryNames = new HashMap<>();
+        for (Category category : categoryRepository.findAllById(categoryRows.stream().map(CategorySalesView::getCategoryId).toList())) {
+            categoryNames.put(category.getId(), category.getName());
+        }
+        List<CategorySalesResponse> categories = categoryRows.stream()
+                .map(row -> DtoMapper.toCategorySalesResponse(row, categoryNames.get(row.getCategoryId())))
+                .toList();
+
+        long orderCount = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+        BigDecimal paidRevenue = BigDecimal.ZERO;
+        BigDecimal cancelledRevenue = BigDecimal.ZERO;
+        for (DailySalesResponse day : days) {
+            orderCount += day.getOrderCount();
+            revenue = revenue.add(day.getRevenue());
+            paidRevenue = paidRevenue.add(day.getPaidRevenue());
+            cancelledRevenue = cancelledRevenue.add(day.getCancelledRevenue());
+        }
+        return SalesReportResponse.builder()
+                .from(from)
+                .to(to)
+                .paymentMethod(paymentMethod)
+                .orderCount(orderCount)
+                .revenue(revenue)
+                .paidRevenue(paidRevenue)
+                .cancelledRevenue(cancelledRevenue)
+                .netRevenue(revenue.subtract(cancelledRevenue))
+                .days(days)
+                .categories(categories)
+                .build();
+    }
+
+    @Override
+    public SalesRollupRebuildResponse rebuild(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        // one future per day is queued up front, so the range is capped like a report's
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_REPORT_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Rebuild range must not exceed " + MAX_REPORT_DAYS + " days");
+        }
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A sales rollup rebuild is already running");
+        }
+        long started = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism),
+                new CustomizableThreadFactory("sales-rollup-"));
+        try {
+            List<CompletableFuture<Integer>> days = new ArrayList<>();
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                LocalDate salesDate = day;
+                Instant start = salesDate.atStartOfDay(ZoneOffset.UTC).toInstant();
+                Instant end = salesDate.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+                days.add(CompletableFuture.supplyAsync(() -> transactionTemplate.execute(
+                        status -> dailySalesRepository.rebuildDay(salesDate, start, end, slots)), executor));
+            }
+            long rows = 0;
+            for (CompletableFuture<Integer> day : days) {
+                Integer written = day.join();
+                rows += written != null ? written : 0;
+            }
+            return SalesRollupRebuildResponse.builder()
+                    .from(from)
+                    .to(to)
+                    .days(days.size())
+                    .rowsWritten(rows)
+                    .elapsedMs((System.nanoTime() - started) / 1_000_000)
+                    .build();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        } finally {
+            executor.shutdown();
+            rebuilding.set(false);
+        }
+    }
+
+    private void write(Deltas deltas) {
+        List<DailySales> sales = new ArrayList<>(deltas.sales.size());
+        deltas.sales.forEach((key, m) -> {
+            if (m[0] != 0 || m[1] != 0 || m[2] != 0 || m[3] != 0 || m[4] != 0 || m[5] != 0) {
+                sales.add(DailySales.builder()
+                        .salesDate(key.date())
+                        .paymentMethod(key.paymentMethod())
+                        .slot(key.slot())
+                        .orderCount(m[0])
+                        .revenue(amount(m[1]))
+                        .paidOrderCount(m[2])
+                        .paidRevenue(amount(m[3]))
+                        .cancelledOrderCount(m[4])
+                        .cancelledRevenue(amount(m[5]))
+                        .build());
+            }
+        });
+        List<DailyCategorySales> categories = new ArrayList<>(deltas.categories.size());
+        deltas.categories.forEach((key, m) -> {
+            if (m[0] != 0 || m[1] != 0 || m[2] != 0 || m[3] != 0) {
+                categories.add(DailyCategorySales.builder()
+                        .salesDate(key.date())
+                        .categoryId(key.categoryId())
+                        .paymentMethod(key.paymentMethod())
+                        .slot(key.slot())
+                        .units(m[0])
+                        .revenue(amount(m[1]))
+                        .cancelledUnits(m[2])
+                        .cancelledRevenue(amount(m[3]))
+                        .build());
+            }
+        });
+        dailySalesRepository.addDailySales(sales);
+        dailySalesRepository.addCategorySales(categories);
+    }
+
+    private static BigDecimal amount(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, Money.SCALE);
+    }
+
+    private record SalesKey(LocalDate date, OrderPaymentMethod paymentMethod, int slot) {
+    }
+
+    private record CategoryKey(LocalDate date, Long categoryId, OrderPaymentMethod paymentMethod, int slot) {
+    }
+
+    /**
+     * Signed measures per rollup row: orders, revenue, paid orders, paid revenue, cancelled orders and
+     * cancelled revenue for daily_sales; units, revenue, cancelled units and cancelled revenue per category.
+     */
+    private final class Deltas {
+
+        private final Map<SalesKey, long[]> sales = new TreeMap<>(SALES_KEY_ORDER);
+        private final Map<CategoryKey, long[]> categories = new TreeMap<>(CATEGORY_KEY_ORDER);
+
+        void add(OrderRollupRow row, OrderStatus orderStatus, PaymentStatus paymentStatus, int sign) {
+            LocalDate date = LocalDate.ofInstant(row.getCreatedAt(), ZoneOffset.UTC);
+            int slot = (int) Math.floorMod(row.getOrderId(), (long) slots);
+            boolean paid = paymentStatus == PaymentStatus.SUCCESS;
+            boolean cancelled = orderStatus == OrderStatus.CANCELLED;
+            long total = sign * row.getTotalMinorUnits();
+
+            long[] m = sales.computeIfAbsent(new SalesKey(date, row.getPaymentMethod(), slot), key -> new long[6]);
+            m[0] += sign;
+            m[1] += total;
+            m[2] += paid ? sign : 0;
+            m[3] += paid ? total : 0;
+            m[4] += cancelled ? sign : 0;
+            m[5] += cancelled ? total : 0;
+
+            for (OrderRollupRow.CategoryLine line : row.getLines()) {
+                long[] c = categories.computeIfAbsent(
+                        new CategoryKey(date, line.getCategoryId(), row.getPaymentMethod(), slot), key -> new long[4]);
+                long units = sign * line.getUnits();
+                long revenue = sign * line.getRevenueMinorUnits();
+                c[0] += units;
+                c[1] += revenue;
+                c[2] += cancelled ? units : 0;
+                c[3] += cancelled ? revenue : 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.myshop.service.impl;
+
+import com.myshop.domain.entity.SchedulerLease;
+import com.myshop.repository.SchedulerLeaseRepository;
+import com.myshop.service.SchedulerLeaseService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Leases are taken with a conditional update; the first holder of a name creates its row, and the
+ * unique lease_name constraint decides the winner when nodes race to do so.
+ */
+@Service
+@RequiredArgsConstructor
+public class SchedulerLeaseServiceImpl implements SchedulerLeaseService {
+
+    private final SchedulerLeaseRepository schedulerLeaseRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final String holder = UUID.randomUUID().toString();
+
+    @Override
+    public boolean tryAcquire(String name, Duration duration) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(duration);
+        Integer acquired = transactionTemplate.execute(status -> schedulerLeaseRepository.acquire(name, holder, expiresAt, now));
+        if (acquired != null && acquired == 1) {
+            return true;
+        }
+        if (schedulerLeaseRepository.existsByName(name)) {
+            return false;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> schedulerLeaseRepository.saveAndFlush(SchedulerLease.builder()
+                    .name(name)
+                    .holder(holder)
+                    .expiresAt(expiresAt)
+                    .build()));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // another node created the lease first
+            return false;
+        }
+    }
+
+    @Override
+    public void release(String name) {
+        // expiring it now lets whichever node runs next take it without waiting out the duration
+        transactionTemplate.executeWithoutResult(status -> schedulerLeaseRepository.release(name, holder, Instant.now()));
+    }
+}
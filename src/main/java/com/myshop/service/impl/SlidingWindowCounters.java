@@ -0,0 +1,92 @@
+package com.myshop.service.impl;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-second event counters over a ring of the last {@code seconds} seconds, summed on demand into
+ * sliding windows. Nothing is ever locked: each cell packs the second it counts (low 24 bits of the
+ * epoch second) with its value, so a writer that lands on a cell left from an earlier lap of the ring
+ * replaces it in the same CAS that adds to it, and readers ignore cells stamped outside the window.
+ * <p>
+ * Writers spread over {@code stripes} copies of every second, each on its own cache lines.
+ */
+public final class SlidingWindowCounters {
+
+    private static final int VALUE_BITS = 40;
+    private static final long VALUE_MASK = (1L << VALUE_BITS) - 1;
+    private static final long STAMP_MASK = (1L << (Long.SIZE - VALUE_BITS)) - 1;
+    // 8 longs = one 64-byte cache line
+    private static final int LINE = 8;
+
+    private final int metrics;
+    private final int seconds;
+    private final int stripes;
+    private final int stride;
+    private final AtomicLongArray cells;
+
+    public SlidingWindowCounters(int metrics, int seconds, int stripes) {
+        if (metrics <= 0 || seconds <= 0 || stripes <= 0) {
+            throw new IllegalArgumentException("metrics, seconds and stripes must be positive");
+        }
+        this.metrics = metrics;
+        this.seconds = seconds;
+        this.stripes = stripes;
+        this.stride = (metrics + LINE - 1) / LINE * LINE;
+        this.cells = new AtomicLongArray(seconds * stripes * stride);
+    }
+
+    /**
+     * Adds {@code delta} to {@code metric} for {@code epochSecond}; a second's value saturates at 2^40 - 1.
+     */
+    public void add(long epochSecond, int metric, long delta) {
+        if (delta < 0) {
+            throw new IllegalArgumentException("delta must not be negative");
+        }
+        checkMetric(metric);
+        int index = block(epochSecond, ThreadLocalRandom.current().nextInt(stripes)) + metric;
+        long stamp = epochSecond & STAMP_MASK;
+        while (true) {
+            long current = cells.get(index);
+            long value = (current >>> VALUE_BITS) == stamp ? current & VALUE_MASK : 0;
+            long next = (stamp << VALUE_BITS) | Math.min(VALUE_MASK, value + delta);
+            if (current == next || cells.compareAndSet(index, current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Per-metric totals of the {@code windowSeconds} seconds ending with {@code epochSecond}, inclusive.
+     * A concurrent read sees every add that completed before it started.
+     */
+    public long[] sum(long epochSecond, int windowSeconds) {
+        if (windowSeconds <= 0 || windowSeconds > seconds) {
+            throw new IllegalArgumentException("windowSeconds must be between 1 and " + seconds);
+        }
+        long[] totals = new long[metrics];
+        for (long second = epochSecond - windowSeconds + 1; second <= epochSecond; second++) {
+            long stamp = second & STAMP_MASK;
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                int base = block(second, stripe);
+                for (int metric = 0; metric < metrics; metric++) {
+                    long cell = cells.get(base + metric);
+                    if ((cell >>> VALUE_BITS) == stamp) {
+                        totals[metric] += cell & VALUE_MASK;
+                    }
+                }
+            }
+        }
+        return totals;
+    }
+
+    private int block(long epochSecond, int stripe) {
+        return ((int) Math.floorMod(epochSecond, (long) seconds) * stripes + stripe) * stride;
+    }
+
+    private void checkMetric(int metric) {
+        if (metric < 0 || metric >= metrics) {
+            throw new IllegalArgumentException("Unknown metric " + metric);
+        }
+    }
+}
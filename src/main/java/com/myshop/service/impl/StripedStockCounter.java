@@ -0,0 +1,133 @@
+package com.myshop.service.impl;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Non-negative stock counter split across independently CAS-updated stripes, so concurrent
+ * reservations of the same product rarely retry on the same memory location.
+ * <p>
+ * A reservation sweeps the stripes from a random start, taking what each one holds, and gives
+ * everything back if the sweep comes up short; no stripe ever drops below zero.
+ */
+public final class StripedStockCounter {
+
+    // 16 longs = 128 bytes between stripes, enough to keep them on separate cache lines
+    private static final int PADDING = 16;
+
+    private final int stripes;
+    private final AtomicLongArray cells;
+    // units taken away by adjust() that the stripes did not hold; repaid before any release shows up
+    private final AtomicLong debt = new AtomicLong();
+
+    public StripedStockCounter(int stripes, long initial) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripes must be positive");
+        }
+        this.stripes = stripes;
+        this.cells = new AtomicLongArray(stripes * PADDING);
+        reset(initial);
+    }
+
+    public boolean tryAcquire(long quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("quantity must be positive");
+        }
+        int start = ThreadLocalRandom.current().nextInt(stripes);
+        long taken = 0;
+        for (int i = 0; i < stripes && taken < quantity; i++) {
+            taken += takeUpTo(cell((start + i) % stripes), quantity - taken);
+        }
+        if (taken < quantity) {
+            if (taken > 0) {
+                cells.addAndGet(cell(start), taken);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    public void release(long quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("quantity must be positive");
+        }
+        long remaining = quantity - repay(quantity);
+        if (remaining > 0) {
+            cells.addAndGet(cell(ThreadLocalRandom.current().nextInt(stripes)), remaining);
+        }
+    }
+
+    /**
+     * Moves the counter by {@code delta}. A decrease larger than the stock on hand is kept as debt
+     * and paid off by later releases, so units handed out before the decrease are not counted twice.
+     */
+    public void adjust(long delta) {
+        if (delta > 0) {
+            release(delta);
+            return;
+        }
+        long owed = -delta;
+        for (int i = 0; i < stripes && owed > 0; i++) {
+            owed -= takeUpTo(cell(i), owed);
+        }
+        if (owed > 0) {
+            debt.addAndGet(owed);
+        }
+    }
+
+    /**
+     * Sum of all stripes; may be momentarily low while a sweep is returning stock it could not use.
+     */
+    public long available() {
+        long total = 0;
+        for (int i = 0; i < stripes; i++) {
+            total += cells.get(cell(i));
+        }
+        return total;
+    }
+
+    /**
+     * Overwrites the counter, spreading {@code value} evenly over the stripes. Not atomic with
+     * respect to concurrent reservations; callers serialize resets themselves.
+     */
+    public void reset(long value) {
+        debt.set(0);
+        long bounded = Math.max(0, value);
+        long share = bounded / stripes;
+        long remainder = bounded % stripes;
+        for (int i = 0; i < stripes; i++) {
+            cells.set(cell(i), share + (i < remainder ? 1 : 0));
+        }
+    }
+
+    private long repay(long quantity) {
+        while (true) {
+            long owed = debt.get();
+            if (owed == 0) {
+                return 0;
+            }
+            long paid = Math.min(owed, quantity);
+            if (debt.compareAndSet(owed, owed - paid)) {
+                return paid;
+            }
+        }
+    }
+
+    private long takeUpTo(int cell, long wanted) {
+        while (true) {
+            long current = cells.get(cell);
+            if (current <= 0) {
+                return 0;
+            }
+            long take = Math.min(current, wanted);
+            if (cells.compareAndSet(cell, current, current - take)) {
+                return take;
+            }
+        }
+    }
+
+    private static int cell(int stripe) {
+        return stripe * PADDING;
+    }
+}
@@ -0,0 +1,73 @@
+package com.myshop.service.impl;
+
+import com.myshop.dto.response.OrderResponse;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fully built responses for orders that can no longer change, kept without expiry and bounded by
+ * least-recently-used eviction. Only immutable orders may be stored: nothing is ever invalidated.
+ * <p>
+ * Split into {@code segments} independently locked LRU maps so readers of different orders rarely
+ * contend; each segment holds its share of {@code capacity}.
+ */
+public final class TerminalOrderCache {
+
+    private final Segment[] segments;
+
+    public TerminalOrderCache(int capacity, int segments) {
+        if (capacity <= 0 || segments <= 0) {
+            throw new IllegalArgumentException("capacity and segments must be positive");
+        }
+        this.segments = new Segment[segments];
+        int perSegment = Math.max(1, capacity / segments);
+        for (int i = 0; i < segments; i++) {
+            this.segments[i] = new Segment(perSegment);
+        }
+    }
+
+    public OrderResponse get(long orderId) {
+        Segment segment = segmentFor(orderId);
+        synchronized (segment) {
+            return segment.get(orderId);
+        }
+    }
+
+    public void put(long orderId, OrderResponse response) {
+        Segment segment = segmentFor(orderId);
+        synchronized (segment) {
+            segment.put(orderId, response);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment segmentFor(long orderId) {
+        return segments[(int) Math.floorMod(orderId, (long) segments.length)];
+    }
+
+    private static final class Segment extends LinkedHashMap<Long, OrderResponse> {
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            // access order: get() moves an entry to the tail, so the head is the least recently used
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, OrderResponse> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.myshop.service.impl;
+
+import com.myshop.service.OutboxMessage;
+import com.myshop.service.OutboxSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+/**
+ * Posts each batch as a JSON array; any non-2xx answer fails the batch so it is redelivered.
+ */
+@Component
+public class WebhookOutboxSink implements OutboxSink {
+
+    private final RestClient restClient;
+
+    @Value("${myshop.outbox.sink.webhook.enabled:false}")
+    private boolean enabled;
+
+    @Value("${myshop.outbox.sink.webhook.url:}")
+    private String url = "";
+
+    public WebhookOutboxSink(RestClient.Builder restClientBuilder,
+                             @Value("${myshop.outbox.sink.webhook.timeout-ms:5000}") int timeoutMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMs);
+        requestFactory.setReadTimeout(timeoutMs);
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled && !url.isBlank();
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        restClient.post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(messages)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -0,0 +1,57 @@
+package com.myshop.config;
+
+import com.myshop.domain.entity.IdGenerators;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(IdGeneratorAligner.class)
+class IdGeneratorAlignerTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IdGeneratorAligner idGeneratorAligner;
+
+    @Test
+    void testAlign_RaisesSegmentPastArchivedIds() {
+        jdbcTemplate.update("""
+                INSERT INTO archived_orders (order_id, user_id, total_amount, order_status, payment_method, payment_status,
+                                             shipping_name, shipping_address, shipping_phone, shipping_email,
+                                             created_at, archived_at)
+                VALUES (5000, 1, 10.00, 'DELIVERED', 'CASH_ON_DELIVERY', 'SUCCESS', 'n', 'a', 'p', 'e',
+                        CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+                """);
+
+        idGeneratorAligner.afterSingletonsInstantiated();
+
+        assertEquals(5001L, nextVal("orders"));
+        assertTrue(nextVal("reviews") >= 1L);
+    }
+
+    @Test
+    void testAlign_NeverLowersSegment() {
+        idGeneratorAligner.afterSingletonsInstantiated();
+        jdbcTemplate.update("UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN + " = 9000 WHERE "
+                + IdGenerators.SEGMENT_COLUMN + " = 'cart_items'");
+
+        idGeneratorAligner.afterSingletonsInstantiated();
+
+        assertEquals(9000L, nextVal("cart_items"));
+    }
+
+    private long nextVal(String segment) {
+        return jdbcTemplate.queryForObject("SELECT " + IdGenerators.VALUE_COLUMN + " FROM " + IdGenerators.TABLE
+                + " WHERE " + IdGenerators.SEGMENT_COLUMN + " = ?", Long.class, segment);
+    }
+}
@@ -0,0 +1,187 @@
+package com.myshop.config;
+
+import com.myshop.domain.entity.IdempotencyRecord;
+import com.myshop.domain.enums.IdempotencyStatus;
+import com.myshop.service.IdempotencyClaim;
+import com.myshop.service.IdempotencyService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+
+    private static final String ENDPOINT = "/api/orders/checkout";
+    private static final String BODY = "{\"userId\":1}";
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    private IdempotencyFilter filter;
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private String requestHash;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(idempotencyService, 50);
+        request = new MockHttpServletRequest("POST", ENDPOINT);
+        request.addHeader(IdempotencyFilter.KEY_HEADER, "key-1");
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        response = new MockHttpServletResponse();
+        requestHash = IdempotencyFilter.fingerprint("POST", ENDPOINT, BODY.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void doFilter_WithoutKey_PassesThrough() throws Exception {
+        MockHttpServletRequest plain = new MockHttpServletRequest("POST", ENDPOINT);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(plain, response, chain);
+
+        assertSame(plain, chain.getRequest());
+        verifyNoInteractions(idempotencyService);
+    }
+
+    @Test
+    void doFilter_Owner_ExecutesAndStoresResponse() throws Exception {
+        IdempotencyRecord record = record(IdempotencyStatus.IN_PROGRESS, requestHash);
+        when(idempotencyService.claim("key-1", ENDPOINT, requestHash)).thenReturn(new IdempotencyClaim(true, record));
+
+        filter.doFilter(request, response, (req, res) -> {
+            String body = StreamUtils.copyToString(req.getInputStream(), StandardCharsets.UTF_8);
+            assertEquals(BODY, body);
+            HttpServletResponse http = (HttpServletResponse) res;
+            http.setStatus(201);
+            http.setContentType("application/json");
+            http.getWriter().write("{\"id\":7}");
+        });
+
+        assertEquals(201, response.getStatus());
+        assertEquals("{\"id\":7}", response.getContentAsString());
+        verify(idempotencyService).complete(record, 201, "application/json", null, "{\"id\":7}");
+        verify(idempotencyService, never()).release(any());
+    }
+
+    @Test
+    void doFilter_OwnerServerError_ReleasesKey() throws Exception {
+        IdempotencyRecord record = record(IdempotencyStatus.IN_PROGRESS, requestHash);
+        when(idempotencyService.claim("key-1", ENDPOINT, requestHash)).thenReturn(new IdempotencyClaim(true, record));
+
+        filter.doFilter(request, response, (req, res) -> ((HttpServletResponse) res).setStatus(503));
+
+        assertEquals(503, response.getStatus());
+        verify(idempotencyService).release(record);
+        verify(idempotencyService, never()).complete(any(), anyInt(), any(), any(), any());
+    }
+
+    @Test
+    void doFilter_OwnerSendError_ReleasesKeyInsteadOfStoringEmptyBody() throws Exception {
+        IdempotencyRecord record = record(IdempotencyStatus.IN_PROGRESS, requestHash);
+        when(idempotencyService.claim("key-1", ENDPOINT, requestHash)).thenReturn(new IdempotencyClaim(true, record));
+
+        filter.doFilter(request, response,
+                (req, res) -> ((HttpServletResponse) res).sendError(400, "Quantity must be positive"));
+
+        assertEquals(400, response.getStatus());
+        assertEquals("Quantity must be positive", response.getErrorMessage());
+        verify(idempotencyService).release(record);
+        verify(idempotencyService, never()).complete(any(), anyInt(), any(), any(), any());
+
+        // Nothing was stored, so a retry with the same key runs again rather than replaying an empty 400.
+        MockHttpServletRequest retry = new MockHttpServletRequest("POST", ENDPOINT);
+        retry.addHeader(IdempotencyFilter.KEY_HEADER, "key-1");
+        retry.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse retryResponse = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(retry, retryResponse, chain);
+
+        assertNotNull(chain.getRequest());
+        assertNull(retryResponse.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void doFilter_CompletedKey_ReplaysStoredResponse() throws Exception {
+        IdempotencyRecord record = record(IdempotencyStatus.COMPLETED, requestHash);
+        record.setResponseStatus(201);
+        record.setResponseContentType("application/json");
+        record.setResponseBody("{\"id\":7}");
+        when(idempotencyService.claim("key-1", ENDPOINT, requestHash)).thenReturn(new IdempotencyClaim(false, record));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(201, response.getStatus());
+        assertEquals("{\"id\":7}", response.getContentAsString());
+        assertEquals("true", response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void doFilter_KeyReusedForDifferentRequest_Returns422() throws Exception {
+        IdempotencyRecord record = record(IdempotencyStatus.COMPLETED, "other");
+        when(idempotencyService.claim("key-1", ENDPOINT, requestHash)).thenReturn(new IdempotencyClaim(false, record));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(422, response.getStatus());
+    }
+
+    @Test
+    void doFilter_InProgressKey_WaitsForResult() throws Exception {
+        IdempotencyRecord running = record(IdempotencyStatus.IN_PROGRESS, requestHash);
+        IdempotencyRecord done = record(IdempotencyStatus.COMPLETED, requestHash);
+        done.setResponseStatus(201);
+        done.setResponseBody("{\"id\":7}");
+        when(idempotencyService.claim("key-1", ENDPOINT, requestHash))
+                .thenReturn(new IdempotencyClaim(false, running))
+                .thenReturn(new IdempotencyClaim(false, done));
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        verify(idempotencyService).awaitCompletion(eq(running), anyLong());
+        assertEquals(201, response.getStatus());
+        assertEquals("{\"id\":7}", response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_InProgressPastTimeout_Returns409() throws Exception {
+        IdempotencyRecord running = record(IdempotencyStatus.IN_PROGRESS, requestHash);
+        when(idempotencyService.claim("key-1", ENDPOINT, requestHash)).thenReturn(new IdempotencyClaim(false, running));
+        doAnswer(invocation -> {
+            Thread.sleep(invocation.<Long>getArgument(1));
+            return null;
+        }).when(idempotencyService).awaitCompletion(eq(running), anyLong());
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertEquals(409, response.getStatus());
+    }
+
+    private static IdempotencyRecord record(IdempotencyStatus status, String requestHash) {
+        return IdempotencyRecord.builder()
+                .id(1L)
+                .idempotencyKey("key-1")
+                .endpoint(ENDPOINT)
+                .requestHash(requestHash)
+                .status(status)
+                .build();
+    }
+}
@@ -1,28 +1,54 @@
 package com.myshop.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myshop.dto.request.BulkOrderStatusUpdateRequest;
 import com.myshop.dto.request.CheckoutRequest;
+import com.myshop.dto.request.OrderSearchRequest;
 import com.myshop.dto.request.OrderStatusUpdateRequest;
+import com.myshop.dto.response.AdminOrderSummaryResponse;
+import com.myshop.dto.response.BulkOrderStatusUpdateResponse;
+import com.myshop.dto.response.CheckoutTicketResponse;
+import com.myshop.dto.response.OrderHistoryResponse;
 import com.myshop.dto.response.OrderResponse;
+import com.myshop.dto.response.OrderSummaryResponse;
+import com.myshop.dto.response.PageResponse;
+import com.myshop.domain.enums.CheckoutTicketStatus;
+import com.myshop.domain.enums.ExportFormat;
 import com.myshop.domain.enums.OrderPaymentMethod;
 import com.myshop.domain.enums.OrderStatus;
 import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.service.AsyncCheckoutService;
+import com.myshop.service.CheckoutCoalescer;
+import com.myshop.service.OrderArchiveService;
+import com.myshop.service.OrderAutoCancelService;
+import com.myshop.service.OrderExportService;
+import com.myshop.service.OrderItemSnapshotService;
 import com.myshop.service.OrderService;
+import com.myshop.service.OrderStatusStreamService;
+import com.myshop.service.OrderSummaryService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -39,6 +65,30 @@ class OrderControllerTest {
     @MockBean
     private OrderService orderService;
 
+    @MockBean
+    private OrderExportService orderExportService;
+
+    @MockBean
+    private CheckoutCoalescer checkoutCoalescer;
+
+    @MockBean
+    private AsyncCheckoutService asyncCheckoutService;
+
+    @MockBean
+    private OrderSummaryService orderSummaryService;
+
+    @MockBean
+    private OrderArchiveService orderArchiveService;
+
+    @MockBean
+    private OrderItemSnapshotService orderItemSnapshotService;
+
+    @MockBean
+    private OrderAutoCancelService orderAutoCancelService;
+
+    @MockBean
+    private OrderStatusStreamService orderStatusStreamService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -79,6 +129,49 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.orderStatus").value("PROCESSING"));
     }
 
+    @Test
+    void testCheckout_AsyncModeReturnsTicket() throws Exception {
+        CheckoutRequest request = new CheckoutRequest();
+        request.setUserId(1L);
+        request.setShippingName("John Doe");
+        request.setShippingAddress("123 Main St");
+        request.setShippingPhone("0600000000");
+        request.setShippingEmail("john@example.com");
+        request.setPaymentMethod(OrderPaymentMethod.CASH_ON_DELIVERY);
+
+        when(asyncCheckoutService.isEnabled()).thenReturn(true);
+        when(asyncCheckoutService.submit(any(CheckoutRequest.class))).thenReturn(CheckoutTicketResponse.builder()
+                .token("abc")
+                .status(CheckoutTicketStatus.QUEUED)
+                .build());
+
+        mockMvc.perform(post("/api/orders/checkout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/orders/checkout/abc"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    void testGetCheckoutTicket_Completed() throws Exception {
+        when(asyncCheckoutService.getTicket("abc", 5000L)).thenReturn(CompletableFuture.completedFuture(
+                CheckoutTicketResponse.builder()
+                        .token("abc")
+                        .status(CheckoutTicketStatus.COMPLETED)
+                        .order(OrderResponse.builder().id(9L).build())
+                        .build()));
+
+        MvcResult result = mockMvc.perform(get("/api/orders/checkout/abc").param("waitMs", "5000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.order.id").value(9L));
+    }
+
     @Test
     void testGetOrder_Success() throws Exception {
         OrderResponse response = OrderResponse.builder()
@@ -96,6 +189,14 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.id").value(1L));
     }
 
+    @Test
+    void testStreamOrderStatus_OpensEventStream() throws Exception {
+        when(orderStatusStreamService.subscribe(1L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/orders/1/events").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+
     @Test
     void testListOrders_Success() throws Exception {
         OrderResponse order1 = OrderResponse.builder()
@@ -145,5 +246,102 @@ class OrderControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.orderStatus").value("PAID"));
     }
-}
 
+    @Test
+    void testGetOrderHistory_Success() throws Exception {
+        OrderSummaryResponse summary = OrderSummaryResponse.builder()
+                .id(5L)
+                .orderStatus(OrderStatus.PROCESSING)
+                .totalAmount(new BigDecimal("1999.98"))
+                .itemCount(2L)
+                .createdAt(Instant.now())
+                .build();
+        OrderHistoryResponse response = OrderHistoryResponse.builder()
+                .orders(List.of(summary))
+                .hasMore(false)
+                .build();
+
+        when(orderService.getOrderHistory(eq(1L), isNull(), isNull(), eq(20))).thenReturn(response);
+
+        mockMvc.perform(get("/api/orders/history").param("userId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders.length()").value(1))
+                .andExpect(jsonPath("$.orders[0].itemCount").value(2))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void testSearchOrders_Success() throws Exception {
+        AdminOrderSummaryResponse summary = AdminOrderSummaryResponse.builder()
+                .id(1L)
+                .userId(1L)
+                .orderStatus(OrderStatus.PAID)
+                .paymentStatus(PaymentStatus.SUCCESS)
+                .paymentMethod(OrderPaymentMethod.ONLINE_PAYMENT)
+                .totalAmount(new BigDecimal("1999.98"))
+                .itemCount(2L)
+                .createdAt(Instant.now())
+                .build();
+        PageResponse<AdminOrderSummaryResponse> page = PageResponse.<AdminOrderSummaryResponse>builder()
+                .content(List.of(summary))
+                .page(0)
+                .size(20)
+                .totalElements(1)
+                .totalPages(1)
+                .build();
+
+        when(orderService.searchOrders(any(OrderSearchRequest.class), any(Pageable.class))).thenReturn(page);
+
+        mockMvc.perform(get("/api/orders/admin")
+                        .param("orderStatus", "PAID")
+                        .param("minAmount", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    void testExportOrders_StreamsWithItsOwnAsyncTimeout() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/orders/export")
+                        .param("createdFrom", "2024-01-01T00:00:00Z")
+                        .param("createdTo", "2024-02-01T00:00:00Z"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(1800000L, result.getRequest().getAsyncContext().getTimeout());
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders.csv\""));
+        verify(orderExportService).exportOrders(eq(Instant.parse("2024-01-01T00:00:00Z")),
+                eq(Instant.parse("2024-02-01T00:00:00Z")), eq(ExportFormat.CSV), any());
+    }
+
+    @Test
+    void testExportOrders_InvalidRange() throws Exception {
+        mockMvc.perform(get("/api/orders/export")
+                        .param("createdFrom", "2024-02-01T00:00:00Z")
+                        .param("createdTo", "2024-01-01T00:00:00Z"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testBulkUpdateOrderStatus_Success() throws Exception {
+        BulkOrderStatusUpdateRequest request = new BulkOrderStatusUpdateRequest();
+        request.setOrderIds(List.of(1L, 2L));
+        request.setOrderStatus(OrderStatus.DELIVERED);
+
+        BulkOrderStatusUpdateResponse response = BulkOrderStatusUpdateResponse.builder()
+                .requested(2)
+                .updated(2)
+                .results(List.of())
+                .build();
+
+        when(orderService.bulkUpdateOrderStatus(any(BulkOrderStatusUpdateRequest.class))).thenReturn(response);
+
+        mockMvc.perform(patch("/api/orders/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2));
+    }
+}
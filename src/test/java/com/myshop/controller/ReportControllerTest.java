@@ -0,0 +1,104 @@
+package com.myshop.controller;
+
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.dto.response.SalesKpiResponse;
+import com.myshop.dto.response.SalesKpiWindowResponse;
+import com.myshop.dto.response.SalesReportResponse;
+import com.myshop.dto.response.SalesRollupRebuildResponse;
+import com.myshop.service.SalesKpiService;
+import com.myshop.service.SalesRollupService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = ReportController.class, excludeAutoConfiguration = {
+        org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class
+})
+@AutoConfigureMockMvc(addFilters = false)
+class ReportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SalesRollupService salesRollupService;
+
+    @MockBean
+    private SalesKpiService salesKpiService;
+
+    @Test
+    void testSalesReport_ParsesIsoDatesAndPaymentMethod() throws Exception {
+        LocalDate from = LocalDate.of(2024, 3, 1);
+        LocalDate to = LocalDate.of(2024, 3, 31);
+        when(salesRollupService.report(from, to, OrderPaymentMethod.ONLINE_PAYMENT)).thenReturn(SalesReportResponse.builder()
+                .from(from)
+                .to(to)
+                .paymentMethod(OrderPaymentMethod.ONLINE_PAYMENT)
+                .orderCount(3)
+                .revenue(new BigDecimal("120.00"))
+                .days(List.of())
+                .categories(List.of())
+                .build());
+
+        mockMvc.perform(get("/api/reports/sales")
+                        .param("from", "2024-03-01")
+                        .param("to", "2024-03-31")
+                        .param("paymentMethod", "ONLINE_PAYMENT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderCount").value(3))
+                .andExpect(jsonPath("$.revenue").value(120.00));
+    }
+
+    @Test
+    void testRebuildSales_Success() throws Exception {
+        LocalDate day = LocalDate.of(2024, 3, 1);
+        when(salesRollupService.rebuild(day, day)).thenReturn(SalesRollupRebuildResponse.builder()
+                .from(day)
+                .to(day)
+                .days(1)
+                .rowsWritten(4)
+                .build());
+
+        mockMvc.perform(post("/api/reports/sales/rebuild")
+                        .param("from", "2024-03-01")
+                        .param("to", "2024-03-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.days").value(1))
+                .andExpect(jsonPath("$.rowsWritten").value(4));
+    }
+
+    @Test
+    void testKpis_Success() throws Exception {
+        when(salesKpiService.snapshot()).thenReturn(SalesKpiResponse.builder()
+                .generatedAt(Instant.parse("2024-03-10T12:00:00Z"))
+                .windows(List.of(SalesKpiWindowResponse.builder()
+                        .minutes(1)
+                        .orders(12)
+                        .ordersPerMinute(12)
+                        .build()))
+                .build());
+
+        mockMvc.perform(get("/api/reports/kpis"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.windows[0].minutes").value(1))
+                .andExpect(jsonPath("$.windows[0].orders").value(12));
+    }
+
+    @Test
+    void testSalesReport_MissingRange() throws Exception {
+        mockMvc.perform(get("/api/reports/sales").param("from", "2024-03-01"))
+                .andExpect(status().isBadRequest());
+    }
+}
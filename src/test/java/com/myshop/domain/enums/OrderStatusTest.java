@@ -0,0 +1,32 @@
+package com.myshop.domain.enums;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderStatusTest {
+
+    @Test
+    void canTransitionTo_OpenOrdersMoveForwardOrCancel() {
+        assertTrue(OrderStatus.PROCESSING.canTransitionTo(OrderStatus.PAID));
+        assertTrue(OrderStatus.PAID.canTransitionTo(OrderStatus.DELIVERED));
+        assertTrue(OrderStatus.PAID.canTransitionTo(OrderStatus.CANCELLED));
+        assertFalse(OrderStatus.PROCESSING.canTransitionTo(OrderStatus.PENDING));
+    }
+
+    @Test
+    void canTransitionTo_DeliveredOnlyRecordsPayment() {
+        assertTrue(OrderStatus.DELIVERED.canTransitionTo(OrderStatus.DELIVERED));
+        assertFalse(OrderStatus.DELIVERED.canTransitionTo(OrderStatus.CANCELLED));
+        assertFalse(OrderStatus.CANCELLED.canTransitionTo(OrderStatus.CANCELLED));
+    }
+
+    @Test
+    void isTerminal_CancelledOrPaidDelivery() {
+        assertTrue(OrderStatus.CANCELLED.isTerminal(PaymentStatus.PENDING));
+        assertTrue(OrderStatus.DELIVERED.isTerminal(PaymentStatus.SUCCESS));
+        assertFalse(OrderStatus.DELIVERED.isTerminal(PaymentStatus.PENDING));
+        assertFalse(OrderStatus.DELIVERED.isTerminal(PaymentStatus.FAILED));
+        assertFalse(OrderStatus.PAID.isTerminal(PaymentStatus.SUCCESS));
+    }
+}
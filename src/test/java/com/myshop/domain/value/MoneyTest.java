@@ -0,0 +1,64 @@
+package com.myshop.domain.value;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void of_KeepsExactMinorUnits() {
+        Money money = Money.of(new BigDecimal("999.9"));
+
+        assertEquals(99990, money.getMinorUnits());
+        assertEquals(new BigDecimal("999.90"), money.toBigDecimal());
+        assertEquals(Money.DEFAULT_CURRENCY, money.getCurrency());
+    }
+
+    @Test
+    void of_RejectsSubCentimeAmounts() {
+        assertThrows(ArithmeticException.class, () -> Money.of("0.005"));
+    }
+
+    @Test
+    void lineTotalAndPlus_MatchBigDecimalArithmetic() {
+        Money price = Money.of("19.99");
+
+        Money total = price.times(3).plus(Money.of("0.03"));
+
+        assertEquals(new BigDecimal("19.99").multiply(BigDecimal.valueOf(3)).add(new BigDecimal("0.03")),
+                total.toBigDecimal());
+        assertEquals(5997, Money.lineTotal(price.getMinorUnits(), 3));
+    }
+
+    @Test
+    void lineTotal_OverflowFailsInsteadOfWrapping() {
+        assertThrows(ArithmeticException.class, () -> Money.lineTotal(Long.MAX_VALUE / 2, 3));
+    }
+
+    @Test
+    void plus_RejectsOtherCurrency() {
+        Money euros = Money.ofMinor(100, Currency.getInstance("EUR"));
+
+        assertThrows(IllegalArgumentException.class, () -> Money.of("1.00").plus(euros));
+    }
+
+    @Test
+    void ceilingAndFloor_RoundFilterBoundsInward() {
+        assertEquals(Money.of("10.01"), Money.ceiling(new BigDecimal("10.001")));
+        assertEquals(Money.of("10.00"), Money.floor(new BigDecimal("10.009")));
+        assertNull(Money.ceiling(null));
+    }
+
+    @Test
+    void converter_RoundTripsColumnValue() {
+        MoneyConverter converter = new MoneyConverter();
+
+        assertEquals(new BigDecimal("12.30"), converter.convertToDatabaseColumn(Money.of("12.3")));
+        assertEquals(Money.of("12.30"), converter.convertToEntityAttribute(new BigDecimal("12.30")));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+}
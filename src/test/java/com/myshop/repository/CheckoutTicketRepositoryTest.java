@@ -0,0 +1,82 @@
+package com.myshop.repository;
+
+import com.myshop.domain.entity.CheckoutTicket;
+import com.myshop.domain.enums.CheckoutTicketStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CheckoutTicketRepositoryTest {
+
+    private static final List<CheckoutTicketStatus> DUE =
+            List.of(CheckoutTicketStatus.QUEUED, CheckoutTicketStatus.PROCESSING);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CheckoutTicketRepository checkoutTicketRepository;
+
+    private Instant now;
+    private CheckoutTicket ticket;
+
+    @BeforeEach
+    void setUp() {
+        now = Instant.now();
+        // claimed by a node that went away: its claim expired a second ago
+        ticket = entityManager.persistAndFlush(CheckoutTicket.builder()
+                .token("abc")
+                .status(CheckoutTicketStatus.PROCESSING)
+                .request("{}")
+                .attempts(1)
+                .claimToken("old-claim")
+                .nextAttemptAt(now.minusSeconds(1))
+                .submittedAt(now.minusSeconds(120))
+                .build());
+        entityManager.clear();
+    }
+
+    @Test
+    void testClaim_OneNodeWinsAnExpiredClaim() {
+        assertEquals(List.of(ticket.getId()), checkoutTicketRepository.findDueIds(DUE, now, PageRequest.ofSize(10)));
+
+        int first = checkoutTicketRepository.claim(ticket.getId(), DUE, CheckoutTicketStatus.PROCESSING,
+                "new-claim", now.plusSeconds(60), now);
+        int second = checkoutTicketRepository.claim(ticket.getId(), DUE, CheckoutTicketStatus.PROCESSING,
+                "other-claim", now.plusSeconds(60), now);
+
+        assertEquals(1, first);
+        assertEquals(0, second);
+        assertTrue(checkoutTicketRepository.findDueIds(DUE, now, PageRequest.ofSize(10)).isEmpty());
+    }
+
+    @Test
+    void testComplete_FencedOnTheClaim() {
+        checkoutTicketRepository.claim(ticket.getId(), DUE, CheckoutTicketStatus.PROCESSING,
+                "new-claim", now.plusSeconds(60), now);
+
+        int stale = checkoutTicketRepository.complete(ticket.getId(), "old-claim", CheckoutTicketStatus.COMPLETED, 5L, now);
+        int current = checkoutTicketRepository.complete(ticket.getId(), "new-claim", CheckoutTicketStatus.COMPLETED, 6L, now);
+        entityManager.clear();
+
+        assertEquals(0, stale);
+        assertEquals(1, current);
+        CheckoutTicket completed = checkoutTicketRepository.findByToken("abc").orElseThrow();
+        assertEquals(CheckoutTicketStatus.COMPLETED, completed.getStatus());
+        assertEquals(6L, completed.getOrderId());
+        assertEquals(2, completed.getAttempts());
+    }
+}
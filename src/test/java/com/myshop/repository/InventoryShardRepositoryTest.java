@@ -0,0 +1,73 @@
+package com.myshop.repository;
+
+import com.myshop.domain.entity.Category;
+import com.myshop.domain.entity.InventoryShard;
+import com.myshop.domain.entity.Product;
+import com.myshop.domain.value.Money;
+import com.myshop.repository.projection.ProductQuantityView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class InventoryShardRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private InventoryShardRepository inventoryShardRepository;
+
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        Category category = entityManager.persistAndFlush(Category.builder()
+                .name("Electronique")
+                .createdAt(Instant.now())
+                .build());
+
+        testProduct = entityManager.persistAndFlush(Product.builder()
+                .category(category)
+                .name("Laptop")
+                .price(Money.of("999.99"))
+                .stockQuantity(0)
+                .inventoryShardCount(2)
+                .createdAt(Instant.now())
+                .build());
+
+        entityManager.persist(InventoryShard.builder().product(testProduct).shardNo(1).quantity(5).build());
+        entityManager.persist(InventoryShard.builder().product(testProduct).shardNo(0).quantity(2).build());
+        entityManager.flush();
+    }
+
+    @Test
+    void testDecrementShard_GuardedByShardQuantity() {
+        assertEquals(0, inventoryShardRepository.decrementShard(testProduct.getId(), 0, 3));
+        assertEquals(1, inventoryShardRepository.decrementShard(testProduct.getId(), 1, 3));
+        entityManager.clear();
+
+        List<InventoryShard> shards = inventoryShardRepository.lockByProductId(testProduct.getId());
+        assertEquals(List.of(0, 1), shards.stream().map(InventoryShard::getShardNo).toList());
+        assertEquals(List.of(2, 2), shards.stream().map(InventoryShard::getQuantity).toList());
+    }
+
+    @Test
+    void testSumQuantitiesByProductIdIn() {
+        List<ProductQuantityView> sums = inventoryShardRepository.sumQuantitiesByProductIdIn(List.of(testProduct.getId()));
+
+        assertEquals(1, sums.size());
+        assertEquals(7L, sums.get(0).getQuantity());
+    }
+}
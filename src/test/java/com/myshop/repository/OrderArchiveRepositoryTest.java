@@ -0,0 +1,216 @@
+package com.myshop.repository;
+
+import com.myshop.domain.entity.ArchivedOrder;
+import com.myshop.domain.entity.ArchivedOrderItem;
+import com.myshop.domain.entity.Category;
+import com.myshop.domain.entity.Order;
+import com.myshop.domain.entity.OrderItem;
+import com.myshop.domain.entity.Payment;
+import com.myshop.domain.entity.Product;
+import com.myshop.domain.entity.User;
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentGateway;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.domain.enums.UserRole;
+import com.myshop.domain.value.Money;
+import com.myshop.repository.projection.AdminOrderView;
+import com.myshop.repository.projection.OrderExportRow;
+import com.myshop.repository.projection.OrderStatusCountView;
+import com.myshop.repository.projection.OrderSummaryView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class OrderArchiveRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Autowired
+    private ArchivedOrderItemRepository archivedOrderItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    // the export pool is not part of this slice; the same queries run here on the test transaction's connection
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User testUser;
+    private Product laptop;
+
+    @BeforeEach
+    void setUp() {
+        testUser = entityManager.persistAndFlush(User.builder()
+                .fullName("John Doe")
+                .email("john@example.com")
+                .passwordHash("encodedPassword")
+                .role(UserRole.CLIENT)
+                .createdAt(Instant.now())
+                .build());
+
+        Category category = entityManager.persistAndFlush(Category.builder()
+                .name("Electronique")
+                .createdAt(Instant.now())
+                .build());
+
+        laptop = entityManager.persistAndFlush(Product.builder()
+                .category(category)
+                .name("Laptop")
+                .price(Money.of("999.99"))
+                .stockQuantity(10)
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    @Test
+    void testArchiveOrders_MovesOrderItemsAndPayment() {
+        Order delivered = order(OrderStatus.DELIVERED, OrderPaymentMethod.ONLINE_PAYMENT, PaymentStatus.SUCCESS);
+        entityManager.persistAndFlush(Payment.builder()
+                .order(delivered)
+                .paymentMethod(PaymentGateway.STRIPE)
+                .paymentStatus(PaymentStatus.SUCCESS)
+                .amount(new BigDecimal("1999.98"))
+                .transactionReference("pi_123")
+                .build());
+        Order processing = order(OrderStatus.PROCESSING, OrderPaymentMethod.CASH_ON_DELIVERY, PaymentStatus.PENDING);
+        entityManager.clear();
+
+        Instant cutoff = Instant.now().plusSeconds(60);
+        List<Long> candidates = archivedOrderRepository.findArchivableIds(0, cutoff, 10);
+        assertEquals(List.of(delivered.getId()), candidates);
+
+        assertEquals(1, archivedOrderRepository.archiveOrders(
+                List.of(delivered.getId(), processing.getId()), cutoff, Instant.now()));
+        entityManager.clear();
+
+        assertFalse(orderRepository.existsById(delivered.getId()));
+        assertTrue(orderRepository.existsById(processing.getId()));
+        ArchivedOrder archived = archivedOrderRepository.findById(delivered.getId()).orElseThrow();
+        assertEquals(testUser.getId(), archived.getUserId());
+        assertEquals(Money.of("1999.98"), archived.getTotalAmount());
+        assertEquals(PaymentStatus.SUCCESS, archived.getPaymentRecordStatus());
+        assertEquals("pi_123", archived.getTransactionReference());
+        List<ArchivedOrderItem> items = archivedOrderItemRepository.findByOrderIdInOrderByIdAsc(List.of(delivered.getId()));
+        assertEquals(1, items.size());
+        // the item predates snapshots, so archiving takes it from the live product
+        assertEquals("Laptop", items.get(0).getProductName());
+        assertEquals("Electronique", items.get(0).getCategoryName());
+        assertEquals(laptop.getCategory().getId(), items.get(0).getCategoryId());
+        assertTrue(archivedOrderRepository.findArchivableIds(0, cutoff, 10).isEmpty());
+
+        List<OrderSummaryView> history = archivedOrderRepository.findHistoryByUserId(testUser.getId(), PageRequest.ofSize(10));
+        assertEquals(1, history.size());
+        assertEquals(1L, history.get(0).getItemCount());
+    }
+
+    @Test
+    void testArchiveOrders_SkipsOrdersYoungerThanCutoff() {
+        Order cancelled = order(OrderStatus.CANCELLED, OrderPaymentMethod.CASH_ON_DELIVERY, PaymentStatus.PENDING);
+        Instant cutoff = Instant.now().minusSeconds(3600);
+
+        assertTrue(archivedOrderRepository.findArchivableIds(0, cutoff, 10).isEmpty());
+        assertEquals(0, archivedOrderRepository.archiveOrders(List.of(cancelled.getId()), cutoff, Instant.now()));
+    }
+
+    @Test
+    void testArchiveOrders_KeepsDeliveriesWhosePaymentHasNotSucceeded() {
+        Order unpaid = order(OrderStatus.DELIVERED, OrderPaymentMethod.CASH_ON_DELIVERY, PaymentStatus.PENDING);
+        Order failed = order(OrderStatus.DELIVERED, OrderPaymentMethod.ONLINE_PAYMENT, PaymentStatus.FAILED);
+        Order cancelled = order(OrderStatus.CANCELLED, OrderPaymentMethod.CASH_ON_DELIVERY, PaymentStatus.PENDING);
+        entityManager.clear();
+        Instant cutoff = Instant.now().plusSeconds(60);
+
+        assertEquals(List.of(cancelled.getId()), archivedOrderRepository.findArchivableIds(0, cutoff, 10));
+        assertEquals(1, archivedOrderRepository.archiveOrders(
+                List.of(unpaid.getId(), failed.getId(), cancelled.getId()), cutoff, Instant.now()));
+        entityManager.clear();
+
+        assertTrue(orderRepository.existsById(unpaid.getId()));
+        assertTrue(orderRepository.existsById(failed.getId()));
+        assertFalse(archivedOrderRepository.existsById(unpaid.getId()));
+        assertFalse(archivedOrderRepository.existsById(failed.getId()));
+        assertTrue(archivedOrderRepository.existsById(cancelled.getId()));
+    }
+
+    @Test
+    void testArchivedReads_ExportSearchAndCounts() {
+        Order delivered = order(OrderStatus.DELIVERED, OrderPaymentMethod.CASH_ON_DELIVERY, PaymentStatus.SUCCESS);
+        Order open = order(OrderStatus.PROCESSING, OrderPaymentMethod.CASH_ON_DELIVERY, PaymentStatus.PENDING);
+        Instant cutoff = Instant.now().plusSeconds(60);
+        archivedOrderRepository.archiveOrders(List.of(delivered.getId()), cutoff, Instant.now());
+        entityManager.clear();
+
+        Instant from = Instant.now().minusSeconds(3600);
+        Instant to = Instant.now().plusSeconds(3600);
+        OrderExportRepository orderExportRepository = new OrderExportRepository(jdbcTemplate);
+        try (Stream<OrderExportRow> rows = orderExportRepository.streamArchivedRows(from, to)) {
+            List<OrderExportRow> exported = rows.toList();
+            assertEquals(1, exported.size());
+            assertEquals(delivered.getId(), exported.get(0).getOrderId());
+            assertEquals(testUser.getId(), exported.get(0).getUserId());
+            assertEquals(OrderStatus.DELIVERED, exported.get(0).getOrderStatus());
+            assertEquals("Laptop", exported.get(0).getProductName());
+            assertEquals(Money.of("999.99"), exported.get(0).getUnitPrice());
+        }
+        try (Stream<OrderExportRow> rows = orderExportRepository.streamRows(from, to)) {
+            assertEquals(List.of(open.getId()), rows.map(OrderExportRow::getOrderId).toList());
+        }
+
+        Page<AdminOrderView> page = archivedOrderRepository.searchOrders(OrderStatus.DELIVERED, null, null,
+                null, null, null, null, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt")));
+        assertEquals(1, page.getTotalElements());
+        assertEquals(1L, page.getContent().get(0).getItemCount());
+        assertEquals(0, archivedOrderRepository.searchOrders(OrderStatus.CANCELLED, null, null,
+                null, null, null, null, PageRequest.of(0, 10)).getTotalElements());
+
+        List<OrderStatusCountView> counts = archivedOrderRepository.countByStatus(from, to);
+        assertEquals(1, counts.size());
+        assertEquals(OrderStatus.DELIVERED, counts.get(0).getOrderStatus());
+        assertEquals(1L, counts.get(0).getTotal());
+        assertEquals(1, archivedOrderRepository.findByUserIdOrderByCreatedAtDescIdDesc(testUser.getId()).size());
+    }
+
+    private Order order(OrderStatus status, OrderPaymentMethod paymentMethod, PaymentStatus paymentStatus) {
+        Order order = entityManager.persistAndFlush(Order.builder()
+                .user(testUser)
+                .totalAmount(Money.of("1999.98"))
+                .orderStatus(status)
+                .paymentMethod(paymentMethod)
+                .paymentStatus(paymentStatus)
+                .shippingName("John Doe")
+                .shippingAddress("123 Main St")
+                .shippingPhone("0600000000")
+                .shippingEmail("john@example.com")
+                .build());
+        entityManager.persistAndFlush(OrderItem.builder()
+                .order(order)
+                .product(laptop)
+                .quantity(2)
+                .unitPrice(Money.of("999.99"))
+                .build());
+        return order;
+    }
+}
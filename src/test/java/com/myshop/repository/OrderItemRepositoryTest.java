@@ -0,0 +1,142 @@
+package com.myshop.repository;
+
+import com.myshop.domain.entity.Category;
+import com.myshop.domain.entity.Order;
+import com.myshop.domain.entity.OrderItem;
+import com.myshop.domain.entity.Product;
+import com.myshop.domain.entity.User;
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.domain.enums.UserRole;
+import com.myshop.domain.value.Money;
+import com.myshop.repository.projection.PendingStockView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class OrderItemRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    private Order order;
+    private Product laptop;
+
+    @BeforeEach
+    void setUp() {
+        User user = entityManager.persistAndFlush(User.builder()
+                .fullName("John Doe")
+                .email("john@example.com")
+                .passwordHash("encodedPassword")
+                .role(UserRole.CLIENT)
+                .createdAt(Instant.now())
+                .build());
+
+        Category category = entityManager.persistAndFlush(Category.builder()
+                .name("Electronique")
+                .createdAt(Instant.now())
+                .build());
+
+        laptop = entityManager.persistAndFlush(Product.builder()
+                .category(category)
+                .name("Laptop")
+                .price(Money.of("999.99"))
+                .stockQuantity(10)
+                .imageUrl("https://cdn.example.com/laptop.png")
+                .createdAt(Instant.now())
+                .build());
+
+        order = entityManager.persistAndFlush(Order.builder()
+                .user(user)
+                .totalAmount(Money.of("1999.98"))
+                .orderStatus(OrderStatus.PROCESSING)
+                .paymentMethod(OrderPaymentMethod.CASH_ON_DELIVERY)
+                .paymentStatus(PaymentStatus.PENDING)
+                .shippingName("John Doe")
+                .shippingAddress("123 Main St")
+                .shippingPhone("0600000000")
+                .shippingEmail("john@example.com")
+                .build());
+    }
+
+    @Test
+    void testBackfillSnapshotRange_FillsOnlyMissingSnapshots() {
+        OrderItem legacy = item(null);
+        OrderItem snapshotted = item("Laptop (2023)");
+        entityManager.clear();
+
+        Long maxId = orderItemRepository.findMaxId();
+        // the named line still lacks its category id, which is filled without touching the name
+        assertEquals(2, orderItemRepository.backfillSnapshotRange(0, maxId));
+        assertEquals(0, orderItemRepository.backfillSnapshotRange(0, maxId));
+        entityManager.clear();
+
+        OrderItem filled = orderItemRepository.findById(legacy.getId()).orElseThrow();
+        assertEquals("Laptop", filled.getProductName());
+        assertEquals("https://cdn.example.com/laptop.png", filled.getProductImageUrl());
+        assertEquals("Electronique", filled.getCategoryName());
+        assertEquals(laptop.getCategory().getId(), filled.getCategoryId());
+        OrderItem kept = orderItemRepository.findById(snapshotted.getId()).orElseThrow();
+        assertEquals("Laptop (2023)", kept.getProductName());
+        assertNull(kept.getProductImageUrl());
+        assertEquals(laptop.getCategory().getId(), kept.getCategoryId());
+    }
+
+    @Test
+    void testClearPendingStock_CountsOnlyRowsStillPending() {
+        OrderItem first = pendingItem(2);
+        OrderItem second = pendingItem(3);
+        item("Laptop");
+        entityManager.clear();
+
+        List<PendingStockView> pending = orderItemRepository.findPendingStock(PageRequest.ofSize(10));
+        assertEquals(List.of(first.getId(), second.getId()), pending.stream().map(PendingStockView::getId).toList());
+        assertEquals(List.of(laptop.getId(), laptop.getId()), pending.stream().map(PendingStockView::getProductId).toList());
+        assertEquals(List.of(2, 3), pending.stream().map(PendingStockView::getQuantity).toList());
+
+        // an overwrite settling the product's items makes a flush holding the same ids see a short count
+        List<OrderItem> locked = orderItemRepository.findByProductIdAndStockPendingTrue(laptop.getId());
+        assertEquals(2, locked.size());
+        assertEquals(1, orderItemRepository.clearPendingStock(List.of(second.getId())));
+        assertEquals(1, orderItemRepository.clearPendingStock(List.of(first.getId(), second.getId())));
+        assertTrue(orderItemRepository.findPendingStock(PageRequest.ofSize(10)).isEmpty());
+    }
+
+    private OrderItem item(String productName) {
+        return entityManager.persistAndFlush(OrderItem.builder()
+                .order(order)
+                .product(laptop)
+                .productName(productName)
+                .quantity(1)
+                .unitPrice(Money.of("999.99"))
+                .build());
+    }
+
+    private OrderItem pendingItem(int quantity) {
+        return entityManager.persistAndFlush(OrderItem.builder()
+                .order(order)
+                .product(laptop)
+                .productName("Laptop")
+                .quantity(quantity)
+                .unitPrice(Money.of("999.99"))
+                .stockPending(true)
+                .build());
+    }
+}
@@ -6,17 +6,26 @@ import com.myshop.domain.enums.OrderPaymentMethod;
 import com.myshop.domain.enums.OrderStatus;
 import com.myshop.domain.enums.PaymentStatus;
 import com.myshop.domain.enums.UserRole;
+import com.myshop.domain.value.Money;
+import com.myshop.repository.projection.AdminOrderView;
+import com.myshop.repository.projection.OrderStatusCountView;
+import com.myshop.repository.projection.OrderStatusView;
+import com.myshop.repository.projection.StaleOrderView;
+import com.myshop.repository.projection.OrderSummaryView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -47,7 +56,7 @@ class OrderRepositoryTest {
 
         testOrder = Order.builder()
                 .user(testUser)
-                .totalAmount(new BigDecimal("1999.98"))
+                .totalAmount(Money.of("1999.98"))
                 .orderStatus(OrderStatus.PROCESSING)
                 .paymentMethod(OrderPaymentMethod.CASH_ON_DELIVERY)
                 .paymentStatus(PaymentStatus.PENDING)
@@ -78,11 +87,121 @@ class OrderRepositoryTest {
         assertEquals(OrderStatus.PROCESSING, found.getOrderStatus());
     }
 
+    @Test
+    void testFindWithItemsById_Success() {
+        entityManager.clear();
+
+        Order found = orderRepository.findWithItemsById(testOrder.getId()).orElse(null);
+
+        assertNotNull(found);
+        assertTrue(found.getOrderItems().isEmpty());
+        assertNull(found.getPayment());
+    }
+
+    @Test
+    void testFindHistoryByUserId_Success() {
+        List<OrderSummaryView> history = orderRepository.findHistoryByUserId(testUser.getId(), PageRequest.ofSize(10));
+
+        assertEquals(1, history.size());
+        assertEquals(testOrder.getId(), history.get(0).getId());
+        assertEquals(0L, history.get(0).getItemCount());
+
+        List<OrderSummaryView> next = orderRepository.findHistoryByUserIdBefore(testUser.getId(),
+                history.get(0).getCreatedAt(), history.get(0).getId(), PageRequest.ofSize(10));
+        assertTrue(next.isEmpty());
+    }
+
+    @Test
+    void testSearchOrders_Success() {
+        Page<AdminOrderView> page = orderRepository.searchOrders(OrderStatus.PROCESSING, null, null,
+                null, null, Money.of("1000.00"), null, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt")));
+
+        assertEquals(1, page.getTotalElements());
+        assertEquals(testUser.getId(), page.getContent().get(0).getUserId());
+
+        Page<AdminOrderView> none = orderRepository.searchOrders(OrderStatus.DELIVERED, null, null,
+                null, null, null, null, PageRequest.of(0, 10));
+        assertEquals(0, none.getTotalElements());
+    }
+
+    @Test
+    void testCountByStatus_Success() {
+        List<OrderStatusCountView> counts = orderRepository.countByStatus(null, null);
+
+        assertEquals(1, counts.size());
+        assertEquals(OrderStatus.PROCESSING, counts.get(0).getOrderStatus());
+        assertEquals(1L, counts.get(0).getTotal());
+    }
+
+    @Test
+    void testCompareAndSetStatuses_OnlyAtExpectedVersion() {
+        assertEquals(0L, testOrder.getVersion());
+        entityManager.clear();
+
+        List<Long> stale = orderRepository.compareAndSetStatuses(Map.of(testOrder.getId(), 7L),
+                OrderStatus.CANCELLED, null, Instant.now());
+        List<Long> current = orderRepository.compareAndSetStatuses(Map.of(testOrder.getId(), 0L),
+                OrderStatus.DELIVERED, PaymentStatus.SUCCESS, Instant.now());
+
+        assertTrue(stale.isEmpty());
+        assertEquals(List.of(testOrder.getId()), current);
+        OrderStatusView view = orderRepository.findStatusesByIdIn(List.of(testOrder.getId())).get(0);
+        assertEquals(OrderStatus.DELIVERED, view.getOrderStatus());
+        assertEquals(PaymentStatus.SUCCESS, view.getPaymentStatus());
+        assertEquals(1L, view.getVersion());
+        assertEquals(testUser.getId(), view.getUserId());
+        assertEquals(Money.of("1999.98"), view.getTotalAmount());
+    }
+
+    @Test
+    void testFindStaleIds_OnlyOldUnpaidOnlineOrders() {
+        Instant beforeCreation = testOrder.getCreatedAt().minusSeconds(60);
+        Order unpaid = entityManager.persistAndFlush(onlineOrder(OrderStatus.PROCESSING));
+        entityManager.persistAndFlush(onlineOrder(OrderStatus.CANCELLED));
+        List<OrderStatus> open = List.of(OrderStatus.PENDING, OrderStatus.PROCESSING);
+        Instant later = Instant.now().plusSeconds(60);
+
+        List<StaleOrderView> stale = orderRepository.findStaleIds(PaymentStatus.PENDING,
+                OrderPaymentMethod.ONLINE_PAYMENT, open, later, Instant.EPOCH, 0L, PageRequest.ofSize(10));
+        List<StaleOrderView> afterCursor = orderRepository.findStaleIds(PaymentStatus.PENDING,
+                OrderPaymentMethod.ONLINE_PAYMENT, open, later, stale.get(0).getCreatedAt(), unpaid.getId(),
+                PageRequest.ofSize(10));
+        List<StaleOrderView> tooRecent = orderRepository.findStaleIds(PaymentStatus.PENDING,
+                OrderPaymentMethod.ONLINE_PAYMENT, open, beforeCreation, Instant.EPOCH, 0L, PageRequest.ofSize(10));
+
+        assertEquals(List.of(unpaid.getId()), stale.stream().map(StaleOrderView::getId).toList());
+        assertTrue(afterCursor.isEmpty());
+        assertTrue(tooRecent.isEmpty());
+    }
+
+    @Test
+    void testFindStaleIds_PagesInCreationOrder() {
+        Order newer = entityManager.persistAndFlush(onlineOrder(OrderStatus.PENDING));
+        Order older = entityManager.persistAndFlush(onlineOrder(OrderStatus.PENDING));
+        Instant earlier = newer.getCreatedAt().minusSeconds(3600);
+        entityManager.getEntityManager().createQuery("UPDATE Order o SET o.createdAt = :createdAt WHERE o.id = :id")
+                .setParameter("createdAt", earlier)
+                .setParameter("id", older.getId())
+                .executeUpdate();
+        entityManager.clear();
+        List<OrderStatus> open = List.of(OrderStatus.PENDING, OrderStatus.PROCESSING);
+        Instant later = Instant.now().plusSeconds(60);
+
+        List<StaleOrderView> first = orderRepository.findStaleIds(PaymentStatus.PENDING,
+                OrderPaymentMethod.ONLINE_PAYMENT, open, later, Instant.EPOCH, 0L, PageRequest.ofSize(1));
+        List<StaleOrderView> second = orderRepository.findStaleIds(PaymentStatus.PENDING,
+                OrderPaymentMethod.ONLINE_PAYMENT, open, later, first.get(0).getCreatedAt(), first.get(0).getId(),
+                PageRequest.ofSize(1));
+
+        assertEquals(older.getId(), first.get(0).getId());
+        assertEquals(newer.getId(), second.get(0).getId());
+    }
+
     @Test
     void testSaveOrder_Success() {
         Order newOrder = Order.builder()
                 .user(testUser)
-                .totalAmount(new BigDecimal("599.99"))
+                .totalAmount(Money.of("599.99"))
                 .orderStatus(OrderStatus.PENDING)
                 .paymentMethod(OrderPaymentMethod.CASH_ON_DELIVERY)
                 .paymentStatus(PaymentStatus.PENDING)
@@ -96,7 +215,21 @@ class OrderRepositoryTest {
         Order saved = orderRepository.save(newOrder);
 
         assertNotNull(saved.getId());
-        assertEquals(new BigDecimal("599.99"), saved.getTotalAmount());
+        assertEquals(Money.of("599.99"), saved.getTotalAmount());
     }
-}
 
+    private Order onlineOrder(OrderStatus status) {
+        return Order.builder()
+                .user(testUser)
+                .totalAmount(Money.of("99.99"))
+                .orderStatus(status)
+                .paymentMethod(OrderPaymentMethod.ONLINE_PAYMENT)
+                .paymentStatus(PaymentStatus.PENDING)
+                .shippingName("John Doe")
+                .shippingAddress("123 Main St")
+                .shippingPhone("0600000000")
+                .shippingEmail("john@example.com")
+                .createdAt(Instant.now())
+                .build();
+    }
+}
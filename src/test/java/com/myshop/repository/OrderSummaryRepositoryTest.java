@@ -0,0 +1,132 @@
+package com.myshop.repository;
+
+import com.myshop.domain.entity.Category;
+import com.myshop.domain.entity.Order;
+import com.myshop.domain.entity.OrderItem;
+import com.myshop.domain.entity.OrderSummary;
+import com.myshop.domain.entity.Product;
+import com.myshop.domain.entity.User;
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.domain.enums.UserRole;
+import com.myshop.domain.value.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class OrderSummaryRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderSummaryRepository orderSummaryRepository;
+
+    private User testUser;
+    private Order testOrder;
+
+    @BeforeEach
+    void setUp() {
+        testUser = entityManager.persistAndFlush(User.builder()
+                .fullName("John Doe")
+                .email("john@example.com")
+                .passwordHash("encodedPassword")
+                .role(UserRole.CLIENT)
+                .createdAt(Instant.now())
+                .build());
+
+        Category category = entityManager.persistAndFlush(Category.builder()
+                .name("Electronique")
+                .createdAt(Instant.now())
+                .build());
+
+        Product laptop = entityManager.persistAndFlush(Product.builder()
+                .category(category)
+                .name("Laptop")
+                .price(Money.of("999.99"))
+                .stockQuantity(10)
+                .createdAt(Instant.now())
+                .build());
+
+        testOrder = entityManager.persistAndFlush(Order.builder()
+                .user(testUser)
+                .totalAmount(Money.of("1999.98"))
+                .orderStatus(OrderStatus.PROCESSING)
+                .paymentMethod(OrderPaymentMethod.CASH_ON_DELIVERY)
+                .paymentStatus(PaymentStatus.PENDING)
+                .shippingName("John Doe")
+                .shippingAddress("123 Main St")
+                .shippingPhone("0600000000")
+                .shippingEmail("john@example.com")
+                .createdAt(Instant.now())
+                .build());
+
+        entityManager.persistAndFlush(OrderItem.builder()
+                .order(testOrder)
+                .product(laptop)
+                .quantity(2)
+                .unitPrice(Money.of("999.99"))
+                .build());
+    }
+
+    @Test
+    void testBackfillRange_InsertsMissingSummariesOnce() {
+        assertEquals(1, orderSummaryRepository.backfillRange(0, testOrder.getId()));
+        assertEquals(0, orderSummaryRepository.backfillRange(0, testOrder.getId()));
+        entityManager.clear();
+
+        OrderSummary summary = orderSummaryRepository.findById(testOrder.getId()).orElseThrow();
+        assertEquals(testUser.getId(), summary.getUserId());
+        assertEquals(OrderStatus.PROCESSING, summary.getOrderStatus());
+        assertEquals(1L, summary.getItemCount());
+        assertEquals("Laptop", summary.getFirstItemName());
+        assertEquals(Money.of("1999.98"), summary.getTotalAmount());
+    }
+
+    @Test
+    void testSave_PersistsANewSummaryWithoutMerging() {
+        OrderSummary summary = OrderSummary.builder()
+                .orderId(testOrder.getId())
+                .userId(testUser.getId())
+                .orderStatus(OrderStatus.PROCESSING)
+                .paymentStatus(PaymentStatus.PENDING)
+                .paymentMethod(testOrder.getPaymentMethod())
+                .totalAmount(Money.of("1999.98"))
+                .itemCount(1L)
+                .createdAt(Instant.now())
+                .build();
+
+        // merge() would hand back a copy; persist() manages the instance it was given
+        assertSame(summary, orderSummaryRepository.saveAndFlush(summary));
+        assertFalse(summary.isNew());
+        entityManager.clear();
+        assertFalse(orderSummaryRepository.findById(testOrder.getId()).orElseThrow().isNew());
+    }
+
+    @Test
+    void testUpdateStatuses_KeepsPaymentStatusWhenNotGiven() {
+        orderSummaryRepository.backfillRange(0, testOrder.getId());
+
+        orderSummaryRepository.updateStatuses(List.of(testOrder.getId()), OrderStatus.DELIVERED, null, Instant.now());
+        entityManager.clear();
+
+        List<OrderSummary> history = orderSummaryRepository.findHistoryByUserId(testUser.getId(), PageRequest.ofSize(10));
+        assertEquals(1, history.size());
+        assertEquals(OrderStatus.DELIVERED, history.get(0).getOrderStatus());
+        assertEquals(PaymentStatus.PENDING, history.get(0).getPaymentStatus());
+    }
+}
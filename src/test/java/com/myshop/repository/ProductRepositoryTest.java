@@ -1,7 +1,15 @@
 package com.myshop.repository;
 
 import com.myshop.domain.entity.Category;
+import com.myshop.domain.entity.Order;
+import com.myshop.domain.entity.OrderItem;
 import com.myshop.domain.entity.Product;
+import com.myshop.domain.entity.User;
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.domain.enums.UserRole;
+import com.myshop.domain.value.Money;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,9 +18,10 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 
-import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -44,7 +53,7 @@ class ProductRepositoryTest {
                 .category(testCategory)
                 .name("Laptop")
                 .description("Portable 14 pouces")
-                .price(new BigDecimal("999.99"))
+                .price(Money.of("999.99"))
                 .stockQuantity(10)
                 .createdAt(Instant.now())
                 .build();
@@ -54,7 +63,7 @@ class ProductRepositoryTest {
                 .category(testCategory)
                 .name("Smartphone")
                 .description("Téléphone intelligent")
-                .price(new BigDecimal("599.99"))
+                .price(Money.of("599.99"))
                 .stockQuantity(20)
                 .createdAt(Instant.now())
                 .build();
@@ -73,7 +82,7 @@ class ProductRepositoryTest {
     @Test
     void testSearchProducts_ByPriceRange() {
         List<Product> products = productRepository.searchProducts(
-                null, new BigDecimal("500"), new BigDecimal("1000"), null);
+                null, Money.of("500"), Money.of("1000"), null);
 
         assertNotNull(products);
         assertEquals(2, products.size());
@@ -94,5 +103,88 @@ class ProductRepositoryTest {
         assertTrue(productRepository.existsByCategoryId(testCategory.getId()));
         assertFalse(productRepository.existsByCategoryId(999L));
     }
-}
 
+    @Test
+    void testRestockForOrders() {
+        Order order = persistOrderWithItem(testProduct1, 3);
+
+        int updated = productRepository.restockForOrders(List.of(order.getId()));
+        entityManager.clear();
+
+        assertEquals(1, updated);
+        assertEquals(13, productRepository.findById(testProduct1.getId()).orElseThrow().getStockQuantity());
+        assertEquals(20, productRepository.findById(testProduct2.getId()).orElseThrow().getStockQuantity());
+    }
+
+    @Test
+    void testLockAllByIdIn_ReturnsProductsInIdOrder() {
+        List<Product> locked = productRepository.lockAllByIdIn(List.of(testProduct2.getId(), testProduct1.getId()));
+
+        assertEquals(List.of(testProduct1.getId(), testProduct2.getId()), locked.stream().map(Product::getId).toList());
+    }
+
+    @Test
+    void testLockStock_ReturnsCurrentStock() {
+        productRepository.decrementStock(Map.of(testProduct1.getId(), 4));
+
+        Map<Long, Integer> stock = productRepository.lockStock(List.of(testProduct1.getId(), testProduct2.getId()));
+
+        assertEquals(Map.of(testProduct1.getId(), 6, testProduct2.getId(), 20), stock);
+    }
+
+    @Test
+    void testDecrementStock_GuardedByAvailableQuantity() {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(testProduct1.getId(), 4);
+        quantities.put(testProduct2.getId(), 21);
+
+        List<Long> insufficient = productRepository.decrementStock(quantities);
+        entityManager.clear();
+
+        assertEquals(List.of(testProduct2.getId()), insufficient);
+        assertEquals(6, productRepository.findById(testProduct1.getId()).orElseThrow().getStockQuantity());
+        assertEquals(20, productRepository.findById(testProduct2.getId()).orElseThrow().getStockQuantity());
+    }
+
+    @Test
+    void testFindStockNetOfPending_SubtractsOnlyPendingItems() {
+        Order order = persistOrderWithItem(testProduct1, 3);
+        order.getOrderItems().get(0).setStockPending(true);
+        entityManager.flush();
+        persistOrderWithItem(testProduct1, 2, "jane.stock@example.com");
+
+        assertEquals(7L, productRepository.findStockNetOfPending(testProduct1.getId()));
+        assertEquals(20L, productRepository.findStockNetOfPending(testProduct2.getId()));
+    }
+
+    private Order persistOrderWithItem(Product product, int quantity) {
+        return persistOrderWithItem(product, quantity, "john.stock@example.com");
+    }
+
+    private Order persistOrderWithItem(Product product, int quantity, String email) {
+        User user = entityManager.persistAndFlush(User.builder()
+                .fullName("John Doe")
+                .email(email)
+                .passwordHash("encodedPassword")
+                .role(UserRole.CLIENT)
+                .build());
+        Order order = Order.builder()
+                .user(user)
+                .totalAmount(product.getPrice().times(quantity))
+                .orderStatus(OrderStatus.PROCESSING)
+                .paymentMethod(OrderPaymentMethod.CASH_ON_DELIVERY)
+                .paymentStatus(PaymentStatus.PENDING)
+                .shippingName("John Doe")
+                .shippingAddress("123 Main St")
+                .shippingPhone("0600000000")
+                .shippingEmail(email)
+                .build();
+        order.getOrderItems().add(OrderItem.builder()
+                .order(order)
+                .product(product)
+                .quantity(quantity)
+                .unitPrice(product.getPrice())
+                .build());
+        return entityManager.persistAndFlush(order);
+    }
+}
@@ -0,0 +1,189 @@
+package com.myshop.repository;
+
+import com.myshop.domain.entity.Category;
+import com.myshop.domain.entity.DailySales;
+import com.myshop.domain.entity.Order;
+import com.myshop.domain.entity.OrderItem;
+import com.myshop.domain.entity.Product;
+import com.myshop.domain.entity.User;
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.domain.enums.UserRole;
+import com.myshop.domain.value.Money;
+import com.myshop.repository.projection.CategorySalesView;
+import com.myshop.repository.projection.DailySalesView;
+import com.myshop.repository.projection.OrderRollupRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SalesRollupRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DailySalesRepository dailySalesRepository;
+
+    @Autowired
+    private DailyCategorySalesRepository dailyCategorySalesRepository;
+
+    private Category category;
+    private Product laptop;
+    private Order testOrder;
+
+    @BeforeEach
+    void setUp() {
+        User user = entityManager.persistAndFlush(User.builder()
+                .fullName("John Doe")
+                .email("john@example.com")
+                .passwordHash("encodedPassword")
+                .role(UserRole.CLIENT)
+                .createdAt(Instant.now())
+                .build());
+
+        category = entityManager.persistAndFlush(Category.builder()
+                .name("Electronique")
+                .createdAt(Instant.now())
+                .build());
+
+        laptop = entityManager.persistAndFlush(Product.builder()
+                .category(category)
+                .name("Laptop")
+                .price(Money.of("999.99"))
+                .stockQuantity(10)
+                .createdAt(Instant.now())
+                .build());
+
+        testOrder = entityManager.persistAndFlush(Order.builder()
+                .user(user)
+                .totalAmount(Money.of("1999.98"))
+                .orderStatus(OrderStatus.PAID)
+                .paymentMethod(OrderPaymentMethod.ONLINE_PAYMENT)
+                .paymentStatus(PaymentStatus.SUCCESS)
+                .shippingName("John Doe")
+                .shippingAddress("123 Main St")
+                .shippingPhone("0600000000")
+                .shippingEmail("john@example.com")
+                .createdAt(Instant.now())
+                .build());
+
+        entityManager.persistAndFlush(OrderItem.builder()
+                .order(testOrder)
+                .product(laptop)
+                .quantity(2)
+                .unitPrice(Money.of("999.99"))
+                .build());
+    }
+
+    @Test
+    void testAddDailySales_SumsIntoExistingRow() {
+        LocalDate day = LocalDate.of(2024, 3, 10);
+        dailySalesRepository.addDailySales(List.of(delta(day, 1, "10.00")));
+        dailySalesRepository.addDailySales(List.of(delta(day, 1, "5.50"), delta(day, -1, "-10.00")));
+
+        DailySalesView row = single(dailySalesRepository.summarizeByDay(day, day, null));
+        assertEquals(1L, row.getOrderCount());
+        assertEquals(0, new BigDecimal("5.50").compareTo(row.getRevenue()));
+        assertEquals(1L, dailySalesRepository.count());
+    }
+
+    @Test
+    void testFindRollupRows_GroupsLinesByCategory() {
+        OrderRollupRow row = single(dailySalesRepository.findRollupRows(List.of(testOrder.getId())));
+
+        assertEquals(OrderPaymentMethod.ONLINE_PAYMENT, row.getPaymentMethod());
+        assertEquals(199998, row.getTotalMinorUnits());
+        assertEquals(PaymentStatus.SUCCESS, row.getPaymentStatus());
+        assertEquals(List.of(new OrderRollupRow.CategoryLine(category.getId(), 2, 199998)), row.getLines());
+    }
+
+    @Test
+    void testFindRollupRows_KeepsTheCategorySnapshottedAtCheckout() {
+        Category moved = entityManager.persistAndFlush(Category.builder()
+                .name("Informatique")
+                .createdAt(Instant.now())
+                .build());
+        entityManager.persistAndFlush(OrderItem.builder()
+                .order(testOrder)
+                .product(laptop)
+                .categoryId(category.getId())
+                .quantity(1)
+                .unitPrice(Money.of("999.99"))
+                .build());
+        laptop.setCategory(moved);
+        entityManager.persistAndFlush(laptop);
+
+        OrderRollupRow row = single(dailySalesRepository.findRollupRows(List.of(testOrder.getId())));
+
+        // the unsnapshotted line falls back to the product's current category
+        assertEquals(2, row.getLines().size());
+        assertTrue(row.getLines().contains(new OrderRollupRow.CategoryLine(category.getId(), 1, 99999)));
+        assertTrue(row.getLines().contains(new OrderRollupRow.CategoryLine(moved.getId(), 2, 199998)));
+
+        LocalDate today = LocalDate.ofInstant(testOrder.getCreatedAt(), ZoneOffset.UTC);
+        dailySalesRepository.rebuildDay(today, today.atStartOfDay(ZoneOffset.UTC).toInstant(),
+                today.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant(), 8);
+        List<CategorySalesView> sales = dailyCategorySalesRepository.summarizeByCategory(today, today, null);
+        assertEquals(List.of(category.getId(), moved.getId()),
+                sales.stream().map(CategorySalesView::getCategoryId).sorted().toList());
+    }
+
+    @Test
+    void testRebuildDay_ReplacesRowsWithAggregates() {
+        LocalDate today = LocalDate.ofInstant(testOrder.getCreatedAt(), ZoneOffset.UTC);
+        Instant from = today.atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant until = today.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        dailySalesRepository.addDailySales(List.of(delta(today, 7, "70.00")));
+
+        assertEquals(2, dailySalesRepository.rebuildDay(today, from, until, 8));
+        assertEquals(2, dailySalesRepository.rebuildDay(today, from, until, 8));
+
+        DailySalesView day = single(dailySalesRepository.summarizeByDay(today, today, OrderPaymentMethod.ONLINE_PAYMENT));
+        assertEquals(1L, day.getOrderCount());
+        assertEquals(1L, day.getPaidOrderCount());
+        assertEquals(0L, day.getCancelledOrderCount());
+        assertEquals(0, new BigDecimal("1999.98").compareTo(day.getPaidRevenue()));
+        assertTrue(dailySalesRepository.summarizeByDay(today, today, OrderPaymentMethod.CASH_ON_DELIVERY).isEmpty());
+
+        CategorySalesView sales = single(dailyCategorySalesRepository.summarizeByCategory(today, today, null));
+        assertEquals(category.getId(), sales.getCategoryId());
+        assertEquals(2L, sales.getUnits());
+        assertEquals(0, new BigDecimal("1999.98").compareTo(sales.getRevenue()));
+    }
+
+    private DailySales delta(LocalDate day, long orders, String revenue) {
+        return DailySales.builder()
+                .salesDate(day)
+                .paymentMethod(OrderPaymentMethod.CASH_ON_DELIVERY)
+                .slot(0)
+                .orderCount(orders)
+                .revenue(new BigDecimal(revenue))
+                .paidOrderCount(0L)
+                .paidRevenue(BigDecimal.ZERO)
+                .cancelledOrderCount(0L)
+                .cancelledRevenue(BigDecimal.ZERO)
+                .build();
+    }
+
+    private static <T> T single(List<T> rows) {
+        assertEquals(1, rows.size());
+        return rows.get(0);
+    }
+}
@@ -0,0 +1,55 @@
+package com.myshop.repository;
+
+import com.myshop.domain.entity.SchedulerLease;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SchedulerLeaseRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SchedulerLeaseRepository schedulerLeaseRepository;
+
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        now = Instant.now();
+        entityManager.persistAndFlush(SchedulerLease.builder()
+                .name("job")
+                .holder("node-a")
+                .expiresAt(now.plusSeconds(60))
+                .build());
+        entityManager.clear();
+    }
+
+    @Test
+    void testAcquire_HolderRenewsOthersWait() {
+        assertEquals(0, schedulerLeaseRepository.acquire("job", "node-b", now.plusSeconds(300), now));
+        assertEquals(1, schedulerLeaseRepository.acquire("job", "node-a", now.plusSeconds(300), now));
+    }
+
+    @Test
+    void testAcquire_TakesOverAfterRelease() {
+        assertEquals(0, schedulerLeaseRepository.release("job", "node-b", now));
+        assertEquals(1, schedulerLeaseRepository.release("job", "node-a", now));
+
+        assertEquals(1, schedulerLeaseRepository.acquire("job", "node-b", now.plusSeconds(300), now.plusMillis(1)));
+        assertTrue(schedulerLeaseRepository.existsByName("job"));
+        assertFalse(schedulerLeaseRepository.existsByName("other"));
+    }
+}
@@ -0,0 +1,241 @@
+package com.myshop.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myshop.domain.entity.CheckoutTicket;
+import com.myshop.domain.enums.CheckoutTicketStatus;
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.dto.request.CheckoutRequest;
+import com.myshop.dto.response.CheckoutTicketResponse;
+import com.myshop.dto.response.OrderResponse;
+import com.myshop.repository.CheckoutTicketRepository;
+import com.myshop.service.impl.AsyncCheckoutServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncCheckoutServiceTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private CheckoutTicketRepository checkoutTicketRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private AsyncCheckoutServiceImpl asyncCheckoutService;
+
+    private CheckoutRequest request;
+
+    @BeforeEach
+    void setUp() {
+        asyncCheckoutService = new AsyncCheckoutServiceImpl(orderService, checkoutTicketRepository,
+                transactionTemplate, objectMapper);
+        ReflectionTestUtils.setField(asyncCheckoutService, "enabled", true);
+        asyncCheckoutService.start();
+
+        request = new CheckoutRequest();
+        request.setUserId(1L);
+        request.setPaymentMethod(OrderPaymentMethod.CASH_ON_DELIVERY);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        asyncCheckoutService.stop();
+    }
+
+    @Test
+    void testSubmit_PlacesOrderAndCompletesTicketInOneTransaction() throws InterruptedException {
+        runTransactionsInline();
+        storeSubmittedTickets();
+        when(orderService.checkout(any(CheckoutRequest.class))).thenReturn(OrderResponse.builder().id(5L).build());
+        when(checkoutTicketRepository.complete(eq(10L), anyString(), eq(CheckoutTicketStatus.COMPLETED), eq(5L), any()))
+                .thenReturn(1);
+
+        CheckoutTicketResponse ticket = asyncCheckoutService.submit(request);
+        asyncCheckoutService.stop();
+
+        assertEquals(CheckoutTicketStatus.PROCESSING, ticket.getStatus());
+        ArgumentCaptor<CheckoutTicket> stored = ArgumentCaptor.forClass(CheckoutTicket.class);
+        verify(checkoutTicketRepository).saveAndFlush(stored.capture());
+        assertTrue(stored.getValue().getRequest().contains("\"userId\":1"));
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void testSubmit_TransientFailureIsQueuedForRetry() throws InterruptedException {
+        runTransactionsInline();
+        storeSubmittedTickets();
+        when(orderService.checkout(any(CheckoutRequest.class))).thenThrow(new CannotAcquireLockException("lock wait timeout"));
+
+        asyncCheckoutService.submit(request);
+        asyncCheckoutService.stop();
+
+        verify(checkoutTicketRepository).retryLater(eq(10L), anyString(), eq(CheckoutTicketStatus.QUEUED), any(Instant.class));
+        verify(checkoutTicketRepository, never()).fail(anyLong(), anyString(), any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void testSubmit_RetriesStopAfterMaxPending() throws InterruptedException {
+        ReflectionTestUtils.setField(asyncCheckoutService, "maxPendingMs", 0L);
+        runTransactionsInline();
+        storeSubmittedTickets();
+        when(orderService.checkout(any(CheckoutRequest.class))).thenThrow(new DataAccessResourceFailureException("down"));
+
+        asyncCheckoutService.submit(request);
+        asyncCheckoutService.stop();
+
+        verify(checkoutTicketRepository).fail(eq(10L), anyString(), eq(CheckoutTicketStatus.FAILED), eq(503), any(), any());
+    }
+
+    @Test
+    void testSubmit_BusinessErrorIsFinal() throws InterruptedException {
+        runTransactionsInline();
+        storeSubmittedTickets();
+        when(orderService.checkout(any(CheckoutRequest.class)))
+                .thenThrow(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cart is empty"));
+
+        asyncCheckoutService.submit(request);
+        asyncCheckoutService.stop();
+
+        verify(checkoutTicketRepository).fail(eq(10L), anyString(), eq(CheckoutTicketStatus.FAILED), eq(400),
+                eq("Cart is empty"), any());
+        verify(orderService, times(1)).checkout(any(CheckoutRequest.class));
+    }
+
+    @Test
+    void testSubmit_LostClaimRecordsNothing() throws InterruptedException {
+        runTransactionsInline();
+        storeSubmittedTickets();
+        when(orderService.checkout(any(CheckoutRequest.class))).thenReturn(OrderResponse.builder().id(5L).build());
+        // the claim expired and another node took the ticket over: this attempt rolls back
+        when(checkoutTicketRepository.complete(anyLong(), anyString(), any(), anyLong(), any())).thenReturn(0);
+
+        asyncCheckoutService.submit(request);
+        asyncCheckoutService.stop();
+
+        verify(checkoutTicketRepository, never()).fail(anyLong(), anyString(), any(), anyInt(), any(), any());
+        verify(checkoutTicketRepository, never()).retryLater(anyLong(), anyString(), any(), any());
+    }
+
+    @Test
+    void testSubmit_DatabaseDownIsRejected() {
+        when(transactionTemplate.execute(any())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> asyncCheckoutService.submit(request));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatusCode());
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void testClaimDueTickets_RunsTicketsFromOtherNodes() throws Exception {
+        runTransactionsInline();
+        when(checkoutTicketRepository.findDueIds(any(), any(Instant.class), any(Pageable.class))).thenReturn(List.of(10L));
+        when(checkoutTicketRepository.claim(eq(10L), any(), eq(CheckoutTicketStatus.PROCESSING), anyString(), any(), any()))
+                .thenReturn(1);
+        when(checkoutTicketRepository.findById(10L)).thenReturn(Optional.of(ticket(CheckoutTicketStatus.PROCESSING)));
+        when(orderService.checkout(any(CheckoutRequest.class))).thenReturn(OrderResponse.builder().id(5L).build());
+        when(checkoutTicketRepository.complete(eq(10L), anyString(), eq(CheckoutTicketStatus.COMPLETED), eq(5L), any()))
+                .thenReturn(1);
+
+        asyncCheckoutService.claimDueTickets();
+        asyncCheckoutService.stop();
+
+        verify(orderService).checkout(argThat(placed -> placed.getUserId() == 1L));
+    }
+
+    @Test
+    void testGetTicket_CompletedLoadsOrder() {
+        CheckoutTicket completed = ticket(CheckoutTicketStatus.COMPLETED);
+        completed.setOrderId(5L);
+        when(checkoutTicketRepository.findByToken("abc")).thenReturn(Optional.of(completed));
+        when(orderService.getOrder(5L)).thenReturn(OrderResponse.builder().id(5L).build());
+
+        CheckoutTicketResponse result = asyncCheckoutService.getTicket("abc", 5000).join();
+
+        assertEquals(CheckoutTicketStatus.COMPLETED, result.getStatus());
+        assertEquals(5L, result.getOrder().getId());
+    }
+
+    @Test
+    void testGetTicket_WaitReadsTicketOnWaitPool() {
+        CheckoutTicket completed = ticket(CheckoutTicketStatus.COMPLETED);
+        completed.setOrderId(5L);
+        when(checkoutTicketRepository.findByToken("abc")).thenReturn(Optional.of(ticket(CheckoutTicketStatus.PROCESSING)));
+        List<String> readers = new CopyOnWriteArrayList<>();
+        when(checkoutTicketRepository.findById(10L)).thenAnswer(invocation -> {
+            readers.add(Thread.currentThread().getName());
+            return Optional.of(completed);
+        });
+        when(orderService.getOrder(5L)).thenReturn(OrderResponse.builder().id(5L).build());
+
+        CheckoutTicketResponse result = asyncCheckoutService.getTicket("abc", 5000).join();
+
+        assertEquals(CheckoutTicketStatus.COMPLETED, result.getStatus());
+        assertEquals(5L, result.getOrder().getId());
+        assertFalse(readers.isEmpty());
+        assertTrue(readers.stream().allMatch(name -> name.startsWith("checkout-wait-")), readers.toString());
+    }
+
+    @Test
+    void testGetTicket_UnknownToken() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> asyncCheckoutService.getTicket("missing", 0));
+        assertEquals(404, ex.getStatusCode().value());
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private void storeSubmittedTickets() {
+        when(checkoutTicketRepository.saveAndFlush(any(CheckoutTicket.class))).thenAnswer(invocation -> {
+            CheckoutTicket ticket = invocation.getArgument(0);
+            ticket.setId(10L);
+            return ticket;
+        });
+    }
+
+    private CheckoutTicket ticket(CheckoutTicketStatus status) {
+        return CheckoutTicket.builder()
+                .id(10L)
+                .token("abc")
+                .status(status)
+                .request("{\"userId\":1,\"paymentMethod\":\"CASH_ON_DELIVERY\"}")
+                .attempts(1)
+                .nextAttemptAt(Instant.now())
+                .submittedAt(Instant.now())
+                .build();
+    }
+}
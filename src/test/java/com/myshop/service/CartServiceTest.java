@@ -5,6 +5,7 @@ import com.myshop.domain.entity.Category;
 import com.myshop.domain.entity.Product;
 import com.myshop.domain.entity.User;
 import com.myshop.domain.enums.UserRole;
+import com.myshop.domain.value.Money;
 import com.myshop.dto.request.CartItemRequest;
 import com.myshop.dto.response.CartItemResponse;
 import com.myshop.repository.CartItemRepository;
@@ -19,7 +20,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
@@ -41,6 +41,12 @@ class CartServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private InventoryShardService inventoryShardService;
+
     @InjectMocks
     private CartServiceImpl cartService;
 
@@ -70,7 +76,7 @@ class CartServiceTest {
                 .id(1L)
                 .category(testCategory)
                 .name("Laptop")
-                .price(new BigDecimal("999.99"))
+                .price(Money.of("999.99"))
                 .stockQuantity(10)
                 .createdAt(Instant.now())
                 .build();
@@ -156,6 +162,21 @@ class CartServiceTest {
         verify(cartItemRepository, never()).save(any());
     }
 
+    @Test
+    void testAddItem_HotProductUsesInMemoryStock() {
+        CartItemRequest request = new CartItemRequest();
+        request.setProductId(1L);
+        request.setQuantity(2);
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(inventoryService.manages(1L)).thenReturn(true);
+        when(inventoryService.availableStock(testProduct)).thenReturn(1L);
+
+        assertThrows(ResponseStatusException.class, () -> cartService.addItem(1L, request));
+        verify(cartItemRepository, never()).save(any());
+    }
+
     @Test
     void testRemoveItem_Success() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
@@ -0,0 +1,90 @@
+package com.myshop.service;
+
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.dto.request.CheckoutRequest;
+import com.myshop.dto.response.OrderResponse;
+import com.myshop.service.impl.CheckoutCoalescerImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CheckoutCoalescerTest {
+
+    @Mock
+    private OrderService orderService;
+
+    private CheckoutCoalescerImpl checkoutCoalescer;
+
+    @BeforeEach
+    void setUp() {
+        checkoutCoalescer = new CheckoutCoalescerImpl(orderService);
+        ReflectionTestUtils.setField(checkoutCoalescer, "enabled", true);
+        ReflectionTestUtils.setField(checkoutCoalescer, "lingerMs", 50L);
+        checkoutCoalescer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        checkoutCoalescer.stop();
+    }
+
+    @Test
+    void testCheckout_ConcurrentRequestsShareOneBatch() {
+        when(orderService.checkoutBatch(anyList())).thenAnswer(invocation -> {
+            List<CheckoutRequest> requests = invocation.getArgument(0);
+            List<CheckoutOutcome> outcomes = new ArrayList<>();
+            for (CheckoutRequest request : requests) {
+                outcomes.add(request.getUserId() == 3L
+                        ? CheckoutOutcome.failed(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cart is empty"))
+                        : CheckoutOutcome.completed(OrderResponse.builder().id(request.getUserId()).build()));
+            }
+            return outcomes;
+        });
+
+        List<CompletableFuture<OrderResponse>> results = new ArrayList<>();
+        for (long userId = 1; userId <= 3; userId++) {
+            CheckoutRequest request = checkoutRequest(userId);
+            results.add(CompletableFuture.supplyAsync(() -> checkoutCoalescer.checkout(request)));
+        }
+
+        assertEquals(1L, results.get(0).join().getId());
+        assertEquals(2L, results.get(1).join().getId());
+        CompletableFuture<OrderResponse> failed = results.get(2);
+        Exception ex = assertThrows(Exception.class, failed::join);
+        assertInstanceOf(ResponseStatusException.class, ex.getCause());
+        verify(orderService, atMost(3)).checkoutBatch(anyList());
+        verify(orderService, never()).checkout(any());
+    }
+
+    @Test
+    void testCheckout_FailedBatchRetriesIndividually() {
+        CheckoutRequest request = checkoutRequest(1L);
+        OrderResponse order = OrderResponse.builder().id(7L).build();
+        when(orderService.checkoutBatch(anyList())).thenThrow(new IllegalStateException("deadlock"));
+        when(orderService.checkout(request)).thenReturn(order);
+
+        assertSame(order, checkoutCoalescer.checkout(request));
+    }
+
+    private static CheckoutRequest checkoutRequest(Long userId) {
+        CheckoutRequest request = new CheckoutRequest();
+        request.setUserId(userId);
+        request.setPaymentMethod(OrderPaymentMethod.CASH_ON_DELIVERY);
+        return request;
+    }
+}
@@ -0,0 +1,96 @@
+package com.myshop.service;
+
+import com.myshop.domain.entity.IdempotencyRecord;
+import com.myshop.domain.enums.IdempotencyStatus;
+import com.myshop.repository.IdempotencyRecordRepository;
+import com.myshop.service.impl.IdempotencyServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private IdempotencyServiceImpl idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImpl(idempotencyRecordRepository, transactionTemplate);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(idempotencyRecordRepository.findByIdempotencyKeyAndEndpoint("key-1", "/api/orders/checkout"))
+                .thenReturn(Optional.empty());
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class))).thenAnswer(invocation -> {
+            IdempotencyRecord record = invocation.getArgument(0);
+            record.setId(5L);
+            return record;
+        });
+    }
+
+    @Test
+    void testComplete_FencedOnTheRenewedLock() {
+        IdempotencyRecord record = claim();
+        Instant claimedAt = record.getLockedAt();
+        when(idempotencyRecordRepository.takeOver(eq(5L), eq(IdempotencyStatus.IN_PROGRESS), eq(claimedAt), any()))
+                .thenReturn(1);
+
+        idempotencyService.renewLocks();
+        Instant renewedAt = record.getLockedAt();
+        assertFalse(renewedAt.isBefore(claimedAt));
+        when(idempotencyRecordRepository.complete(5L, renewedAt, IdempotencyStatus.COMPLETED, 201, "application/json", null, "{}"))
+                .thenReturn(1);
+
+        assertTrue(idempotencyService.complete(record, 201, "application/json", null, "{}"));
+    }
+
+    @Test
+    void testRenewLocks_StopsOnceTheKeyWasTakenOver() {
+        IdempotencyRecord record = claim();
+        Instant claimedAt = record.getLockedAt();
+        when(idempotencyRecordRepository.takeOver(eq(5L), eq(IdempotencyStatus.IN_PROGRESS), eq(claimedAt), any()))
+                .thenReturn(0);
+        when(idempotencyRecordRepository.complete(5L, claimedAt, IdempotencyStatus.COMPLETED, 201, "application/json", null, "{}"))
+                .thenReturn(0);
+
+        idempotencyService.renewLocks();
+        idempotencyService.renewLocks();
+
+        verify(idempotencyRecordRepository, times(1)).takeOver(any(), any(), any(), any());
+        assertFalse(idempotencyService.complete(record, 201, "application/json", null, "{}"));
+    }
+
+    @Test
+    void testRelease_LeavesATakenOverRecordAlone() {
+        IdempotencyRecord record = claim();
+        when(idempotencyRecordRepository.release(5L, record.getLockedAt())).thenReturn(0);
+
+        assertFalse(idempotencyService.release(record));
+
+        idempotencyService.renewLocks();
+        verify(idempotencyRecordRepository, never()).takeOver(any(), any(), any(), any());
+    }
+
+    private IdempotencyRecord claim() {
+        IdempotencyClaim claim = idempotencyService.claim("key-1", "/api/orders/checkout", "hash");
+        assertTrue(claim.isOwner());
+        return claim.getRecord();
+    }
+}
@@ -0,0 +1,189 @@
+package com.myshop.service;
+
+import com.myshop.domain.entity.OrderItem;
+import com.myshop.domain.entity.Product;
+import com.myshop.repository.OrderItemRepository;
+import com.myshop.repository.ProductRepository;
+import com.myshop.repository.projection.PendingStockView;
+import com.myshop.service.impl.InventoryServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TransactionStatus transactionStatus;
+
+    private InventoryServiceImpl inventoryService;
+
+    private Product hotProduct;
+
+    @BeforeEach
+    void setUp() {
+        inventoryService = new InventoryServiceImpl(productRepository, orderItemRepository, transactionTemplate);
+        ReflectionTestUtils.setField(inventoryService, "enabled", true);
+        ReflectionTestUtils.setField(inventoryService, "hotProductIds", Set.of(1L));
+
+        hotProduct = Product.builder()
+                .id(1L)
+                .name("Laptop")
+                .stockQuantity(5)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testManages_OnlyConfiguredProductsWhenEnabled() {
+        assertTrue(inventoryService.manages(1L));
+        assertFalse(inventoryService.manages(2L));
+
+        ReflectionTestUtils.setField(inventoryService, "enabled", false);
+        assertFalse(inventoryService.manages(1L));
+    }
+
+    @Test
+    void testTryReserve_RollbackReturnsStock() {
+        when(productRepository.findStockNetOfPending(1L)).thenReturn(5L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertTrue(inventoryService.tryReserve(hotProduct, 3));
+        assertFalse(inventoryService.tryReserve(hotProduct, 3));
+        assertEquals(2, inventoryService.availableStock(hotProduct));
+
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(5, inventoryService.availableStock(hotProduct));
+    }
+
+    @Test
+    void testCounter_StartsFromStockNetOfPendingItems() {
+        // stock 5 with 3 units committed but never flushed before a restart
+        when(productRepository.findStockNetOfPending(1L)).thenReturn(2L);
+
+        assertFalse(inventoryService.tryReserve(hotProduct, 3));
+        assertEquals(2, inventoryService.availableStock(hotProduct));
+    }
+
+    @Test
+    void testFlush_SubtractsPendingItemsAndSettlesThem() {
+        runTransactionsInline();
+        when(orderItemRepository.findPendingStock(any())).thenReturn(List.of(pending(10L, 2), pending(11L, 1)));
+        when(orderItemRepository.clearPendingStock(List.of(10L, 11L))).thenReturn(2);
+
+        inventoryService.flush();
+
+        verify(productRepository).adjustStock(Map.of(1L, -3L));
+        verify(transactionStatus, never()).setRollbackOnly();
+    }
+
+    @Test
+    void testFlush_RollsBackWhenOverwriteSettledItemsAfterTheyWereRead() {
+        runTransactionsInline();
+        when(orderItemRepository.findPendingStock(any())).thenReturn(List.of(pending(10L, 2), pending(11L, 1)));
+        // the overwrite committed between the read and the product lock, settling item 11 against its new value
+        when(orderItemRepository.clearPendingStock(List.of(10L, 11L))).thenReturn(1);
+
+        inventoryService.flush();
+
+        verify(productRepository).adjustStock(Map.of(1L, -3L));
+        verify(transactionStatus).setRollbackOnly();
+        verify(orderItemRepository, times(1)).findPendingStock(any());
+    }
+
+    @Test
+    void testOnStockOverwritten_KeepsInFlightReservationsCounted() {
+        when(productRepository.findStockNetOfPending(1L)).thenReturn(6L);
+        when(productRepository.lockStock(List.of(1L))).thenReturn(Map.of(1L, 10));
+        when(orderItemRepository.findByProductIdAndStockPendingTrue(1L))
+                .thenReturn(List.of(OrderItem.builder().id(10L).quantity(4).stockPending(true).build()));
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertTrue(inventoryService.tryReserve(hotProduct, 2));
+        inventoryService.onStockOverwritten(1L, 20);
+        verify(orderItemRepository).clearPendingStock(List.of(10L));
+        assertEquals(4, inventoryService.availableStock(hotProduct));
+
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(18, inventoryService.availableStock(hotProduct));
+    }
+
+    @Test
+    void testOnStockOverwritten_DecreaseAppliesAtOnceAndRevertsOnRollback() {
+        when(productRepository.findStockNetOfPending(1L)).thenReturn(6L);
+        when(productRepository.lockStock(List.of(1L))).thenReturn(Map.of(1L, 6));
+        when(orderItemRepository.findByProductIdAndStockPendingTrue(1L)).thenReturn(List.of());
+        assertEquals(6, inventoryService.availableStock(hotProduct));
+        TransactionSynchronizationManager.initSynchronization();
+
+        inventoryService.onStockOverwritten(1L, 1);
+        assertEquals(1, inventoryService.availableStock(hotProduct));
+
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(6, inventoryService.availableStock(hotProduct));
+        verify(orderItemRepository, never()).clearPendingStock(any());
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(transactionStatus));
+    }
+
+    private static PendingStockView pending(Long id, int quantity) {
+        return new PendingStockView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getProductId() {
+                return 1L;
+            }
+
+            @Override
+            public Integer getQuantity() {
+                return quantity;
+            }
+        };
+    }
+
+    private static void completeTransaction(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(status);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
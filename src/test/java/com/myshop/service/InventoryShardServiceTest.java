@@ -0,0 +1,109 @@
+package com.myshop.service;
+
+import com.myshop.domain.entity.InventoryShard;
+import com.myshop.domain.entity.Product;
+import com.myshop.repository.InventoryShardRepository;
+import com.myshop.repository.ProductRepository;
+import com.myshop.service.impl.InventoryShardServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryShardServiceTest {
+
+    @Mock
+    private InventoryShardRepository inventoryShardRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private InventoryShardServiceImpl inventoryShardService;
+
+    private Product shardedProduct;
+
+    @BeforeEach
+    void setUp() {
+        shardedProduct = Product.builder()
+                .id(1L)
+                .name("Laptop")
+                .stockQuantity(2)
+                .inventoryShardCount(2)
+                .build();
+    }
+
+    @Test
+    void testTryDecrement_FallsBackToOtherShard() {
+        when(inventoryShardRepository.decrementShard(eq(1L), anyInt(), eq(3))).thenReturn(0, 1);
+
+        assertTrue(inventoryShardService.tryDecrement(shardedProduct, 3));
+        verify(inventoryShardRepository, times(2)).decrementShard(eq(1L), anyInt(), eq(3));
+        verify(inventoryShardRepository, never()).lockByProductId(any());
+    }
+
+    @Test
+    void testTryDecrement_SpansShardsAndOverflow() {
+        InventoryShard first = shard(0, 3);
+        InventoryShard second = shard(1, 4);
+        when(inventoryShardRepository.decrementShard(eq(1L), anyInt(), eq(9))).thenReturn(0);
+        when(inventoryShardRepository.lockByProductId(1L)).thenReturn(List.of(first, second));
+        when(productRepository.decrementStock(Map.of(1L, 2))).thenReturn(List.of());
+
+        assertTrue(inventoryShardService.tryDecrement(shardedProduct, 9));
+        assertEquals(0, first.getQuantity());
+        assertEquals(0, second.getQuantity());
+    }
+
+    @Test
+    void testTryDecrement_InsufficientTotal() {
+        when(inventoryShardRepository.decrementShard(eq(1L), anyInt(), eq(10))).thenReturn(0);
+        when(inventoryShardRepository.lockByProductId(1L)).thenReturn(List.of(shard(0, 3), shard(1, 4)));
+        when(productRepository.decrementStock(Map.of(1L, 3))).thenReturn(List.of(1L));
+
+        assertFalse(inventoryShardService.tryDecrement(shardedProduct, 10));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReshard_SpreadsTotalAndEmptiesOverflow() {
+        Product product = Product.builder()
+                .id(1L)
+                .stockQuantity(7)
+                .build();
+        when(inventoryShardRepository.lockByProductId(1L)).thenReturn(new ArrayList<>(List.of(shard(0, 3))));
+        when(productRepository.lockAllByIdIn(List.of(1L))).thenReturn(List.of(product));
+
+        inventoryShardService.reshard(1L, 3);
+
+        assertEquals(0, product.getStockQuantity());
+        assertEquals(3, product.getInventoryShardCount());
+        verify(inventoryShardRepository).saveAll(argThat(shards -> {
+            List<Integer> quantities = new ArrayList<>();
+            ((Iterable<InventoryShard>) shards).forEach(shard -> quantities.add(shard.getQuantity()));
+            return quantities.equals(List.of(4, 3, 3));
+        }));
+        verify(inventoryShardRepository).deleteAll(anyIterable());
+    }
+
+    private InventoryShard shard(int shardNo, int quantity) {
+        return InventoryShard.builder()
+                .product(shardedProduct)
+                .shardNo(shardNo)
+                .quantity(quantity)
+                .build();
+    }
+}
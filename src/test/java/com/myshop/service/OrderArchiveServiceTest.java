@@ -0,0 +1,79 @@
+package com.myshop.service;
+
+import com.myshop.dto.response.OrderArchiveResponse;
+import com.myshop.repository.ArchivedOrderItemRepository;
+import com.myshop.repository.ArchivedOrderRepository;
+import com.myshop.repository.ProductRepository;
+import com.myshop.service.impl.OrderArchiveServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderArchiveServiceTest {
+
+    @Mock
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Mock
+    private ArchivedOrderItemRepository archivedOrderItemRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private OrderArchiveServiceImpl orderArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderArchiveService, "chunkSize", 2);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void testArchive_WalksChunksByOrderIdUntilNoCandidatesRemain() {
+        when(archivedOrderRepository.findArchivableIds(eq(0L), any(Instant.class), eq(2))).thenReturn(List.of(3L, 5L));
+        when(archivedOrderRepository.findArchivableIds(eq(5L), any(Instant.class), eq(2))).thenReturn(List.of(8L));
+        when(archivedOrderRepository.findArchivableIds(eq(8L), any(Instant.class), eq(2))).thenReturn(List.of());
+        when(archivedOrderRepository.archiveOrders(eq(List.of(3L, 5L)), any(), any())).thenReturn(2);
+        // order 8 changed status after it was listed: the locked re-check skips it
+        when(archivedOrderRepository.archiveOrders(eq(List.of(8L)), any(), any())).thenReturn(0);
+
+        OrderArchiveResponse response = orderArchiveService.archive();
+
+        assertEquals(2, response.getArchived());
+        assertEquals(2, response.getChunks());
+        assertEquals(8L, response.getLastOrderId());
+        verify(transactionTemplate, times(3)).execute(any());
+    }
+
+    @Test
+    void testArchive_NothingToDo() {
+        when(archivedOrderRepository.findArchivableIds(anyLong(), any(Instant.class), eq(2))).thenReturn(List.of());
+
+        OrderArchiveResponse response = orderArchiveService.archive();
+
+        assertEquals(0, response.getArchived());
+        assertNull(response.getLastOrderId());
+        verify(archivedOrderRepository, never()).archiveOrders(any(), any(), any());
+    }
+}
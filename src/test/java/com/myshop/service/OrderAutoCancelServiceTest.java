@@ -0,0 +1,114 @@
+package com.myshop.service;
+
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.dto.response.BulkOrderStatusUpdateResponse;
+import com.myshop.dto.response.OrderAutoCancelResponse;
+import com.myshop.repository.OrderRepository;
+import com.myshop.repository.projection.StaleOrderView;
+import com.myshop.service.impl.OrderAutoCancelServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderAutoCancelServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private SchedulerLeaseService schedulerLeaseService;
+
+    @InjectMocks
+    private OrderAutoCancelServiceImpl orderAutoCancelService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderAutoCancelService, "batchSize", 2);
+    }
+
+    @Test
+    void testCancelStaleOrders_CancelsBatchesUnderTheLease() {
+        when(schedulerLeaseService.tryAcquire(anyString(), any(Duration.class))).thenReturn(true);
+        Instant createdAt = Instant.parse("2026-01-01T10:00:00Z");
+        Instant laterCreatedAt = createdAt.plusSeconds(30);
+        List<StaleOrderView> firstBatch = List.of(stale(3L, createdAt), stale(5L, createdAt));
+        List<StaleOrderView> secondBatch = List.of(stale(8L, laterCreatedAt));
+        when(orderRepository.findStaleIds(eq(PaymentStatus.PENDING), eq(OrderPaymentMethod.ONLINE_PAYMENT), any(),
+                any(Instant.class), eq(Instant.EPOCH), eq(0L), any(Pageable.class))).thenReturn(firstBatch);
+        when(orderRepository.findStaleIds(eq(PaymentStatus.PENDING), eq(OrderPaymentMethod.ONLINE_PAYMENT), any(),
+                any(Instant.class), eq(createdAt), eq(5L), any(Pageable.class))).thenReturn(secondBatch);
+        when(orderRepository.findStaleIds(eq(PaymentStatus.PENDING), eq(OrderPaymentMethod.ONLINE_PAYMENT), any(),
+                any(Instant.class), eq(laterCreatedAt), eq(8L), any(Pageable.class))).thenReturn(List.of());
+        when(orderService.cancelUnpaidOrders(List.of(3L, 5L)))
+                .thenReturn(BulkOrderStatusUpdateResponse.builder().requested(2).updated(2).build());
+        // order 8 was paid after it was listed
+        when(orderService.cancelUnpaidOrders(List.of(8L)))
+                .thenReturn(BulkOrderStatusUpdateResponse.builder().requested(1).rejected(1).build());
+
+        OrderAutoCancelResponse response = orderAutoCancelService.cancelStaleOrders();
+
+        assertEquals(2, response.getCancelled());
+        assertEquals(1, response.getSkipped());
+        assertEquals(2, response.getBatches());
+        verify(schedulerLeaseService, times(3)).tryAcquire(anyString(), any(Duration.class));
+        verify(schedulerLeaseService).release(anyString());
+    }
+
+    @Test
+    void testCancelStaleOrders_LeaseHeldElsewhere() {
+        when(schedulerLeaseService.tryAcquire(anyString(), any(Duration.class))).thenReturn(false);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> orderAutoCancelService.cancelStaleOrders());
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+        verify(orderRepository, never()).findStaleIds(any(), any(), any(), any(), any(), anyLong(), any());
+        verify(schedulerLeaseService, never()).release(anyString());
+    }
+
+    @Test
+    void testCancelStaleOrders_StopsWhenTheLeaseIsLost() {
+        when(schedulerLeaseService.tryAcquire(anyString(), any(Duration.class))).thenReturn(true, false);
+        List<StaleOrderView> batch = List.of(stale(3L, Instant.EPOCH), stale(5L, Instant.EPOCH));
+        when(orderRepository.findStaleIds(any(), any(), any(), any(Instant.class), any(Instant.class), eq(0L),
+                any(Pageable.class))).thenReturn(batch);
+        when(orderService.cancelUnpaidOrders(List.of(3L, 5L)))
+                .thenReturn(BulkOrderStatusUpdateResponse.builder().requested(2).updated(2).build());
+
+        OrderAutoCancelResponse response = orderAutoCancelService.cancelStaleOrders();
+
+        assertEquals(2, response.getCancelled());
+        assertEquals(1, response.getBatches());
+        verify(orderRepository, times(1)).findStaleIds(any(), any(), any(), any(), any(), anyLong(), any());
+    }
+
+    private StaleOrderView stale(Long id, Instant createdAt) {
+        StaleOrderView view = mock(StaleOrderView.class);
+        when(view.getId()).thenReturn(id);
+        lenient().when(view.getCreatedAt()).thenReturn(createdAt);
+        return view;
+    }
+}
@@ -0,0 +1,101 @@
+package com.myshop.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myshop.domain.enums.ExportFormat;
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.domain.value.Money;
+import com.myshop.repository.OrderExportRepository;
+import com.myshop.repository.projection.OrderExportRow;
+import com.myshop.service.impl.OrderExportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderExportServiceTest {
+
+    private static final Instant FROM = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant TO = Instant.parse("2024-02-01T00:00:00Z");
+
+    @Mock
+    private OrderExportRepository orderExportRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private OrderExportServiceImpl orderExportService;
+
+    @BeforeEach
+    void setUp() {
+        orderExportService = new OrderExportServiceImpl(orderExportRepository, objectMapper);
+    }
+
+    @Test
+    void testExportOrders_Csv() throws Exception {
+        Stream<OrderExportRow> rows = Stream.of(row(1L, 10L, "Laptop, 14\""), row(1L, 11L, "Mouse"));
+        when(orderExportRepository.streamArchivedRows(FROM, TO)).thenReturn(Stream.empty());
+        when(orderExportRepository.streamRows(FROM, TO)).thenReturn(rows);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderExportService.exportOrders(FROM, TO, ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("order_id,"));
+        assertTrue(lines[1].contains(",\"Laptop, 14\"\"\","));
+        assertTrue(lines[2].endsWith(",Mouse,2,49.99"));
+    }
+
+    @Test
+    void testExportOrders_NdjsonGroupsItemsPerOrder() throws Exception {
+        // order 1 was archived, order 2 is still hot
+        Stream<OrderExportRow> archived = Stream.of(row(1L, 10L, "Laptop"), row(1L, 11L, "Mouse"));
+        AtomicBoolean archivedClosed = new AtomicBoolean();
+        when(orderExportRepository.streamArchivedRows(FROM, TO)).thenReturn(archived.onClose(() -> archivedClosed.set(true)));
+        when(orderExportRepository.streamRows(FROM, TO)).thenAnswer(invocation -> {
+            assertTrue(archivedClosed.get());
+            return Stream.of(row(2L, 12L, "Keyboard"));
+        });
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderExportService.exportOrders(FROM, TO, ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(1L, first.get("orderId").asLong());
+        assertEquals(2, first.get("items").size());
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertEquals("Keyboard", second.get("items").get(0).get("productName").asText());
+    }
+
+    private OrderExportRow row(Long orderId, Long itemId, String productName) {
+        return OrderExportRow.builder()
+                .orderId(orderId)
+                .createdAt(FROM)
+                .userId(1L)
+                .orderStatus(OrderStatus.DELIVERED)
+                .paymentStatus(PaymentStatus.SUCCESS)
+                .paymentMethod(OrderPaymentMethod.ONLINE_PAYMENT)
+                .totalAmount(Money.of("1099.97"))
+                .itemId(itemId)
+                .productId(itemId)
+                .productName(productName)
+                .quantity(2)
+                .unitPrice(Money.of("49.99"))
+                .build();
+    }
+}
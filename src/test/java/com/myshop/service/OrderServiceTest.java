@@ -3,37 +3,72 @@ package com.myshop.service;
 import com.myshop.domain.entity.CartItem;
 import com.myshop.domain.entity.Category;
 import com.myshop.domain.entity.Order;
+import com.myshop.domain.entity.OrderItem;
+import com.myshop.domain.entity.OrderSummary;
 import com.myshop.domain.entity.Product;
 import com.myshop.domain.entity.User;
 import com.myshop.domain.enums.OrderPaymentMethod;
 import com.myshop.domain.enums.OrderStatus;
 import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.domain.enums.TransitionOutcome;
 import com.myshop.domain.enums.UserRole;
+import com.myshop.domain.value.Money;
+import com.myshop.dto.request.BulkOrderStatusUpdateRequest;
 import com.myshop.dto.request.CheckoutRequest;
+import com.myshop.dto.request.OrderSearchRequest;
 import com.myshop.dto.request.OrderStatusUpdateRequest;
+import com.myshop.dto.response.OrderHistoryResponse;
 import com.myshop.dto.response.OrderResponse;
+import com.myshop.dto.response.OrderStatusEvent;
+import com.myshop.dto.response.OrderSummaryResponse;
+import com.myshop.dto.response.PageResponse;
+import com.myshop.dto.response.AdminOrderSummaryResponse;
+import com.myshop.dto.response.BulkOrderStatusUpdateResponse;
 import com.myshop.repository.CartItemRepository;
 import com.myshop.repository.OrderRepository;
+import com.myshop.repository.OrderSummaryRepository;
 import com.myshop.repository.PaymentRepository;
 import com.myshop.repository.ProductRepository;
 import com.myshop.repository.UserRepository;
+import com.myshop.repository.projection.AdminOrderView;
+import com.myshop.repository.projection.OrderStatusCountView;
+import com.myshop.repository.projection.OrderStatusView;
+import com.myshop.repository.projection.OrderSummaryView;
 import com.myshop.service.impl.OrderServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -54,6 +89,36 @@ class OrderServiceTest {
     @Mock
     private PaymentRepository paymentRepository;
 
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private InventoryShardService inventoryShardService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private OrderSummaryService orderSummaryService;
+
+    @Mock
+    private OrderSummaryRepository orderSummaryRepository;
+
+    @Mock
+    private SalesRollupService salesRollupService;
+
+    @Mock
+    private SalesKpiService salesKpiService;
+
+    @Mock
+    private OrderArchiveService orderArchiveService;
+
+    @Mock
+    private OrderStatusStreamService orderStatusStreamService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -65,6 +130,8 @@ class OrderServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.invokeMethod(orderService, "init");
+
         testUser = User.builder()
                 .id(1L)
                 .fullName("John Doe")
@@ -83,7 +150,7 @@ class OrderServiceTest {
                 .id(1L)
                 .category(testCategory)
                 .name("Laptop")
-                .price(new BigDecimal("999.99"))
+                .price(Money.of("999.99"))
                 .stockQuantity(10)
                 .createdAt(Instant.now())
                 .build();
@@ -98,7 +165,7 @@ class OrderServiceTest {
         testOrder = Order.builder()
                 .id(1L)
                 .user(testUser)
-                .totalAmount(new BigDecimal("1999.98"))
+                .totalAmount(Money.of("1999.98"))
                 .orderStatus(OrderStatus.PROCESSING)
                 .paymentMethod(OrderPaymentMethod.CASH_ON_DELIVERY)
                 .paymentStatus(PaymentStatus.PENDING)
@@ -122,7 +189,7 @@ class OrderServiceTest {
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(cartItemRepository.findByUserId(1L)).thenReturn(Arrays.asList(testCartItem));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(productRepository.lockAllByIdIn(Set.of(1L))).thenReturn(List.of(testProduct));
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
 
         OrderResponse response = orderService.checkout(request);
@@ -131,6 +198,183 @@ class OrderServiceTest {
         verify(userRepository, times(1)).findById(1L);
         verify(cartItemRepository, times(1)).findByUserId(1L);
         verify(orderRepository, times(1)).save(any(Order.class));
+        verify(productRepository, never()).findById(any());
+        verify(orderSummaryService).orderPlaced(eq(testOrder), anyList());
+        verify(salesRollupService).orderPlaced(eq(testOrder), anyList());
+        verify(outboxService).orderPlaced(testOrder);
+        verify(salesKpiService).orderPlaced(Money.of("1999.98"), 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCheckout_ItemsSnapshotProduct() {
+        CheckoutRequest request = new CheckoutRequest();
+        request.setUserId(1L);
+        request.setShippingName("John Doe");
+        request.setShippingAddress("123 Main St");
+        request.setShippingPhone("0600000000");
+        request.setShippingEmail("john@example.com");
+        request.setPaymentMethod(OrderPaymentMethod.CASH_ON_DELIVERY);
+        testProduct.setImageUrl("https://cdn.example.com/laptop.png");
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(cartItemRepository.findByUserId(1L)).thenReturn(Arrays.asList(testCartItem));
+        when(productRepository.lockAllByIdIn(Set.of(1L))).thenReturn(List.of(testProduct));
+        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+
+        orderService.checkout(request);
+        testProduct.setName("Laptop Pro");
+
+        ArgumentCaptor<List<OrderItem>> items = ArgumentCaptor.forClass(List.class);
+        verify(orderSummaryService).orderPlaced(eq(testOrder), items.capture());
+        OrderItem item = items.getValue().get(0);
+        assertEquals("Laptop", item.getProductName());
+        assertEquals("https://cdn.example.com/laptop.png", item.getProductImageUrl());
+        assertEquals("Electronique", item.getCategoryName());
+    }
+
+    @Test
+    void testCheckout_LockTimeoutIsRetryableConflict() {
+        CheckoutRequest request = new CheckoutRequest();
+        request.setUserId(1L);
+        request.setPaymentMethod(OrderPaymentMethod.CASH_ON_DELIVERY);
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(cartItemRepository.findByUserId(1L)).thenReturn(Arrays.asList(testCartItem));
+        when(productRepository.lockAllByIdIn(Set.of(1L))).thenThrow(new CannotAcquireLockException("lock wait timeout"));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> orderService.checkout(request));
+        assertEquals(409, ex.getStatusCode().value());
+        verify(productRepository, never()).decrementStock(any());
+    }
+
+    @Test
+    void testCheckout_NotEnoughStock() {
+        CheckoutRequest request = new CheckoutRequest();
+        request.setUserId(1L);
+        request.setPaymentMethod(OrderPaymentMethod.CASH_ON_DELIVERY);
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(cartItemRepository.findByUserId(1L)).thenReturn(Arrays.asList(testCartItem));
+        when(productRepository.lockAllByIdIn(Set.of(1L))).thenReturn(List.of(testProduct));
+        when(productRepository.decrementStock(Map.of(1L, 2))).thenReturn(List.of(1L));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> orderService.checkout(request));
+        assertTrue(ex.getReason().contains("Laptop"));
+        verify(orderRepository, never()).save(any());
+        verify(salesKpiService).checkoutFailed();
+    }
+
+    @Test
+    void testCheckout_HotProductReservesInMemoryWithoutRowLock() {
+        CheckoutRequest request = new CheckoutRequest();
+        request.setUserId(1L);
+        request.setPaymentMethod(OrderPaymentMethod.CASH_ON_DELIVERY);
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(cartItemRepository.findByUserId(1L)).thenReturn(Arrays.asList(testCartItem));
+        when(inventoryService.manages(1L)).thenReturn(true);
+        when(productRepository.findAllById(Set.of(1L))).thenReturn(List.of(testProduct));
+        when(inventoryService.tryReserve(testProduct, 2)).thenReturn(false);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> orderService.checkout(request));
+        assertTrue(ex.getReason().contains("Laptop"));
+        verify(productRepository, never()).lockAllByIdIn(any());
+        verify(productRepository, never()).decrementStock(any());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void testCheckout_HotProductItemsCommitTheReservation() {
+        CheckoutRequest request = new CheckoutRequest();
+        request.setUserId(1L);
+        request.setPaymentMethod(OrderPaymentMethod.CASH_ON_DELIVERY);
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(cartItemRepository.findByUserId(1L)).thenReturn(Arrays.asList(testCartItem));
+        when(inventoryService.manages(1L)).thenReturn(true);
+        when(productRepository.findAllById(Set.of(1L))).thenReturn(List.of(testProduct));
+        when(inventoryService.tryReserve(testProduct, 2)).thenReturn(true);
+        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+
+        orderService.checkout(request);
+
+        ArgumentCaptor<Order> saved = ArgumentCaptor.forClass(Order.class);
+        verify(orderRepository).save(saved.capture());
+        assertTrue(saved.getValue().getOrderItems().get(0).isStockPending());
+        verify(productRepository).decrementStock(Map.of());
+    }
+
+    @Test
+    void testCheckoutBatch_AllocatesStockInArrivalOrder() {
+        User otherUser = User.builder()
+                .id(2L)
+                .fullName("Jane Doe")
+                .email("jane@example.com")
+                .role(UserRole.CLIENT)
+                .build();
+        CartItem otherCartItem = CartItem.builder()
+                .id(2L)
+                .user(otherUser)
+                .product(testProduct)
+                .quantity(2)
+                .build();
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(otherUser));
+        when(cartItemRepository.findByUserId(1L)).thenReturn(List.of(testCartItem));
+        when(cartItemRepository.findByUserId(2L)).thenReturn(List.of(otherCartItem));
+        when(productRepository.lockStock(Set.of(1L))).thenReturn(new HashMap<>(Map.of(1L, 3)));
+        when(productRepository.decrementStock(Map.of(1L, 2))).thenReturn(List.of());
+        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+
+        List<CheckoutOutcome> outcomes = orderService.checkoutBatch(List.of(
+                checkoutRequest(1L), checkoutRequest(1L), checkoutRequest(2L)));
+
+        assertNotNull(outcomes.get(0).getOrder());
+        assertEquals("Cart is empty", outcomes.get(1).getError().getReason());
+        assertTrue(outcomes.get(2).getError().getReason().contains("Laptop"));
+        verify(orderRepository, times(1)).save(any(Order.class));
+        verify(cartItemRepository).delete(testCartItem);
+        verify(cartItemRepository, never()).delete(otherCartItem);
+    }
+
+    @Test
+    void testCheckoutBatch_DefersHotProducts() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(cartItemRepository.findByUserId(1L)).thenReturn(List.of(testCartItem));
+        when(inventoryService.manages(1L)).thenReturn(true);
+
+        List<CheckoutOutcome> outcomes = orderService.checkoutBatch(List.of(checkoutRequest(1L)));
+
+        assertTrue(outcomes.get(0).isDeferred());
+        verify(productRepository, never()).lockStock(any());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void testCheckoutBatch_CountsFailuresOnlyOnceTheBatchCommits() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(cartItemRepository.findByUserId(1L)).thenReturn(List.of(testCartItem));
+        when(inventoryService.manages(1L)).thenReturn(true);
+
+        for (int status : new int[] {TransactionSynchronization.STATUS_ROLLED_BACK, TransactionSynchronization.STATUS_COMMITTED}) {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                List<CheckoutOutcome> outcomes = orderService.checkoutBatch(List.of(checkoutRequest(1L), checkoutRequest(1L)));
+
+                assertEquals("Cart is empty", outcomes.get(1).getError().getReason());
+                verify(salesKpiService, never()).checkoutFailed();
+                for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                    synchronization.afterCompletion(status);
+                }
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+
+        // the rolled-back batch counted nothing: its callers are counted when they retry on their own
+        verify(salesKpiService, times(1)).checkoutFailed();
     }
 
     @Test
@@ -147,17 +391,70 @@ class OrderServiceTest {
 
     @Test
     void testGetOrder_Success() {
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(testOrder));
 
         OrderResponse response = orderService.getOrder(1L);
 
         assertNotNull(response);
         assertEquals(1L, response.getId());
-        verify(orderRepository, times(1)).findById(1L);
+        verify(orderRepository, times(1)).findWithItemsById(1L);
+    }
+
+    @Test
+    void testGetOrder_CachesTerminalOrders() {
+        testOrder.setOrderStatus(OrderStatus.DELIVERED);
+        testOrder.setPaymentStatus(PaymentStatus.SUCCESS);
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(testOrder));
+
+        OrderResponse first = orderService.getOrder(1L);
+
+        assertSame(first, orderService.getOrder(1L));
+        verify(orderRepository, times(1)).findWithItemsById(1L);
+    }
+
+    @Test
+    void testGetOrder_DoesNotCacheUnsettledDelivery() {
+        testOrder.setOrderStatus(OrderStatus.DELIVERED);
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(testOrder));
+
+        orderService.getOrder(1L);
+        orderService.getOrder(1L);
+
+        verify(orderRepository, times(2)).findWithItemsById(1L);
+    }
+
+    @Test
+    void testGetOrder_DoesNotCacheDeliveryWithFailedPayment() {
+        testOrder.setOrderStatus(OrderStatus.DELIVERED);
+        testOrder.setPaymentStatus(PaymentStatus.FAILED);
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(testOrder));
+
+        orderService.getOrder(1L);
+        orderService.getOrder(1L);
+
+        verify(orderRepository, times(2)).findWithItemsById(1L);
+    }
+
+    @Test
+    void testGetOrder_FallsBackToArchive() {
+        OrderResponse archived = OrderResponse.builder().id(9L).orderStatus(OrderStatus.DELIVERED).build();
+        when(orderRepository.findWithItemsById(9L)).thenReturn(Optional.empty());
+        when(orderArchiveService.getArchivedOrder(9L)).thenReturn(Optional.of(archived));
+
+        assertSame(archived, orderService.getOrder(9L));
+    }
+
+    @Test
+    void testGetOrder_NotFoundAnywhere() {
+        when(orderRepository.findWithItemsById(9L)).thenReturn(Optional.empty());
+        when(orderArchiveService.getArchivedOrder(9L)).thenReturn(Optional.empty());
+
+        assertThrows(ResponseStatusException.class, () -> orderService.getOrder(9L));
     }
 
     @Test
     void testUpdateOrderStatus_Success() {
+        runTransactionsInline();
         OrderStatusUpdateRequest request = new OrderStatusUpdateRequest();
         request.setOrderStatus(OrderStatus.PAID);
         request.setPaymentStatus(PaymentStatus.SUCCESS);
@@ -165,22 +462,438 @@ class OrderServiceTest {
         when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
 
+        OrderStatus previousStatus = testOrder.getOrderStatus();
+
         OrderResponse response = orderService.updateOrderStatus(1L, request);
 
         assertNotNull(response);
         verify(orderRepository, times(1)).save(any(Order.class));
+        verify(orderSummaryService).orderStatusChanged(testOrder);
+        verify(salesRollupService).orderStatusChanged(testOrder, previousStatus, PaymentStatus.PENDING);
+        verify(outboxService).orderStatusChanged(testOrder, previousStatus);
+        ArgumentCaptor<OrderStatusEvent> event = ArgumentCaptor.forClass(OrderStatusEvent.class);
+        verify(orderStatusStreamService).publish(event.capture());
+        assertEquals(OrderStatus.PAID, event.getValue().getOrderStatus());
+        assertEquals(PaymentStatus.SUCCESS, event.getValue().getPaymentStatus());
+    }
+
+    @Test
+    void testUpdateOrderStatus_CancelRestocksInOneStatement() {
+        runTransactionsInline();
+        OrderStatusUpdateRequest request = new OrderStatusUpdateRequest();
+        request.setOrderStatus(OrderStatus.CANCELLED);
+
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+
+        OrderResponse response = orderService.updateOrderStatus(1L, request);
+
+        assertEquals(OrderStatus.CANCELLED, response.getOrderStatus());
+        verify(productRepository, times(1)).restockForOrders(List.of(1L));
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    void testUpdateOrderStatus_CancelWarmsTerminalCache() {
+        runTransactionsInline();
+        OrderStatusUpdateRequest request = new OrderStatusUpdateRequest();
+        request.setOrderStatus(OrderStatus.CANCELLED);
+
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+
+        OrderResponse response = orderService.updateOrderStatus(1L, request);
+
+        assertSame(response, orderService.getOrder(1L));
+        verify(orderRepository).flush();
+        verify(orderRepository, never()).findWithItemsById(any());
+    }
+
+    @Test
+    void testUpdateOrderStatus_TerminalOrderCannotChange() {
+        runTransactionsInline();
+        testOrder.setOrderStatus(OrderStatus.CANCELLED);
+        OrderStatusUpdateRequest request = new OrderStatusUpdateRequest();
+        request.setOrderStatus(OrderStatus.PROCESSING);
+
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+
+        assertThrows(ResponseStatusException.class, () -> orderService.updateOrderStatus(1L, request));
+        verify(orderRepository, never()).save(any());
     }
 
     @Test
-    void testGetOrdersForUser_Success() {
+    void testUpdateOrderStatus_RetriesAfterOptimisticConflict() {
+        OrderStatusUpdateRequest request = new OrderStatusUpdateRequest();
+        request.setOrderStatus(OrderStatus.CANCELLED);
+
+        when(transactionTemplate.execute(any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Order.class, 1L))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+
+        OrderResponse response = orderService.updateOrderStatus(1L, request);
+
+        assertEquals(OrderStatus.CANCELLED, response.getOrderStatus());
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(productRepository, times(1)).restockForOrders(List.of(1L));
+    }
+
+    @Test
+    void testUpdateOrderStatus_ConflictAfterBoundedRetries() {
+        OrderStatusUpdateRequest request = new OrderStatusUpdateRequest();
+        request.setOrderStatus(OrderStatus.CANCELLED);
+
+        when(transactionTemplate.execute(any())).thenThrow(new ObjectOptimisticLockingFailureException(Order.class, 1L));
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> orderService.updateOrderStatus(1L, request));
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+        verify(transactionTemplate, times(3)).execute(any());
+    }
+
+    @Test
+    void testUpdateOrderStatus_DeliveredCannotRevert() {
+        runTransactionsInline();
+        testOrder.setOrderStatus(OrderStatus.DELIVERED);
+        OrderStatusUpdateRequest request = new OrderStatusUpdateRequest();
+        request.setOrderStatus(OrderStatus.CANCELLED);
+
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+
+        assertThrows(ResponseStatusException.class, () -> orderService.updateOrderStatus(1L, request));
+        verify(productRepository, never()).restockForOrders(any());
+    }
+
+    @Test
+    void testUpdateOrderStatus_DeliveryWithFailedPaymentCanBeCorrected() {
+        runTransactionsInline();
+        testOrder.setOrderStatus(OrderStatus.DELIVERED);
+        testOrder.setPaymentStatus(PaymentStatus.FAILED);
+        OrderStatusUpdateRequest request = new OrderStatusUpdateRequest();
+        request.setOrderStatus(OrderStatus.DELIVERED);
+        request.setPaymentStatus(PaymentStatus.SUCCESS);
+
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+
+        OrderResponse response = orderService.updateOrderStatus(1L, request);
+
+        assertEquals(PaymentStatus.SUCCESS, response.getPaymentStatus());
+        verify(salesKpiService).orderStatusChanged(OrderStatus.DELIVERED, OrderStatus.DELIVERED,
+                PaymentStatus.FAILED, PaymentStatus.SUCCESS);
+    }
+
+    @Test
+    void testGetOrdersForUser_IncludesArchivedOrders() {
         when(userRepository.existsById(1L)).thenReturn(true);
-        when(orderRepository.findByUserId(1L)).thenReturn(Arrays.asList(testOrder));
+        when(orderRepository.findWithItemsByUserId(1L)).thenReturn(Arrays.asList(testOrder));
+        when(orderArchiveService.getArchivedOrders(1L)).thenReturn(List.of(OrderResponse.builder()
+                .id(9L)
+                .orderStatus(OrderStatus.DELIVERED)
+                .createdAt(testOrder.getCreatedAt().minusSeconds(3600))
+                .build()));
 
         List<OrderResponse> responses = orderService.getOrdersForUser(1L);
 
-        assertNotNull(responses);
-        assertEquals(1, responses.size());
-        verify(orderRepository, times(1)).findByUserId(1L);
+        assertEquals(List.of(1L, 9L), responses.stream().map(OrderResponse::getId).toList());
+        verify(orderRepository, times(1)).findWithItemsByUserId(1L);
+    }
+
+    @Test
+    void testGetOrderHistory_FirstPageHasMore() {
+        Instant now = Instant.now();
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(orderRepository.findHistoryByUserId(eq(1L), any(Pageable.class))).thenReturn(List.of(
+                summary(3L, now),
+                summary(2L, now.minusSeconds(60)),
+                summary(1L, now.minusSeconds(120))));
+
+        OrderHistoryResponse response = orderService.getOrderHistory(1L, null, null, 2);
+
+        assertEquals(2, response.getOrders().size());
+        assertTrue(response.isHasMore());
+        assertEquals(2L, response.getNextBeforeId());
+        assertEquals(now.minusSeconds(60), response.getNextBeforeCreatedAt());
+        verify(orderRepository, never()).findHistoryByUserIdBefore(any(), any(), any(), any());
+    }
+
+    @Test
+    void testGetOrderHistory_MergesArchivedOrders() {
+        Instant now = Instant.now();
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(orderRepository.findHistoryByUserId(eq(1L), any(Pageable.class))).thenReturn(List.of(
+                summary(5L, now),
+                summary(3L, now.minusSeconds(300))));
+        when(orderArchiveService.getArchivedHistory(1L, null, null, 3)).thenReturn(List.of(
+                OrderSummaryResponse.builder().id(4L).orderStatus(OrderStatus.DELIVERED).createdAt(now.minusSeconds(60)).build(),
+                OrderSummaryResponse.builder().id(1L).orderStatus(OrderStatus.DELIVERED).createdAt(now.minusSeconds(600)).build()));
+
+        OrderHistoryResponse response = orderService.getOrderHistory(1L, null, null, 2);
+
+        assertEquals(List.of(5L, 4L), response.getOrders().stream().map(OrderSummaryResponse::getId).toList());
+        assertTrue(response.isHasMore());
+        assertEquals(4L, response.getNextBeforeId());
+    }
+
+    @Test
+    void testGetOrderHistory_ReadsSummaryTableWhenEnabled() {
+        ReflectionTestUtils.setField(orderService, "summaryReads", true);
+        Instant now = Instant.now();
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(orderSummaryRepository.findHistoryByUserId(eq(1L), any(Pageable.class))).thenReturn(List.of(
+                OrderSummary.builder().orderId(2L).orderStatus(OrderStatus.PENDING).itemCount(1L)
+                        .firstItemName("Laptop").createdAt(now).build()));
+
+        OrderHistoryResponse response = orderService.getOrderHistory(1L, null, null, 2);
+
+        assertEquals(1, response.getOrders().size());
+        assertEquals("Laptop", response.getOrders().get(0).getFirstItemName());
+        assertFalse(response.isHasMore());
+        verify(orderRepository, never()).findHistoryByUserId(any(), any());
+        verifyNoInteractions(orderArchiveService);
+    }
+
+    @Test
+    void testGetOrderHistory_IncompleteCursor() {
+        assertThrows(ResponseStatusException.class,
+                () -> orderService.getOrderHistory(1L, Instant.now(), null, 20));
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void testSearchOrders_InvalidAmountRange() {
+        OrderSearchRequest criteria = new OrderSearchRequest();
+        criteria.setMinAmount(new BigDecimal("100"));
+        criteria.setMaxAmount(new BigDecimal("10"));
+
+        assertThrows(ResponseStatusException.class,
+                () -> orderService.searchOrders(criteria, PageRequest.of(0, 20)));
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void testSearchOrders_Success() {
+        OrderSearchRequest criteria = new OrderSearchRequest();
+        criteria.setOrderStatus(OrderStatus.PROCESSING);
+        AdminOrderView view = mock(AdminOrderView.class);
+        when(view.getId()).thenReturn(1L);
+        Page<AdminOrderView> page = new PageImpl<>(List.of(view), PageRequest.of(0, 20), 41);
+
+        when(orderRepository.searchOrders(eq(OrderStatus.PROCESSING), any(), any(), any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(page);
+        when(orderArchiveService.searchArchivedOrders(eq(criteria), any(Pageable.class))).thenReturn(Page.empty());
+
+        PageResponse<AdminOrderSummaryResponse> response = orderService.searchOrders(criteria, PageRequest.of(0, 20));
+
+        assertEquals(1, response.getContent().size());
+        assertEquals(41, response.getTotalElements());
+        assertEquals(3, response.getTotalPages());
+    }
+
+    @Test
+    void testSearchOrders_MergesArchivedOrdersIntoThePage() {
+        OrderSearchRequest criteria = new OrderSearchRequest();
+        Instant now = Instant.now();
+        AdminOrderView newest = mock(AdminOrderView.class);
+        when(newest.getId()).thenReturn(5L);
+        when(newest.getCreatedAt()).thenReturn(now);
+        AdminOrderView oldest = mock(AdminOrderView.class);
+        when(oldest.getId()).thenReturn(1L);
+        when(oldest.getCreatedAt()).thenReturn(now.minusSeconds(600));
+        AdminOrderSummaryResponse archived = AdminOrderSummaryResponse.builder().id(3L).createdAt(now.minusSeconds(60)).build();
+        Sort sort = Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id"));
+        PageRequest head = PageRequest.of(0, 4, sort);
+
+        when(orderRepository.searchOrders(any(), any(), any(), any(), any(), any(), any(), eq(head)))
+                .thenReturn(new PageImpl<>(List.of(newest, oldest), head, 2));
+        when(orderArchiveService.searchArchivedOrders(criteria, head))
+                .thenReturn(new PageImpl<>(List.of(archived), head, 1));
+
+        PageResponse<AdminOrderSummaryResponse> response = orderService.searchOrders(criteria, PageRequest.of(1, 2, sort));
+
+        assertEquals(List.of(1L), response.getContent().stream().map(AdminOrderSummaryResponse::getId).toList());
+        assertEquals(3, response.getTotalElements());
+        assertEquals(2, response.getTotalPages());
+    }
+
+    @Test
+    void testCountOrdersByStatus_FillsMissingStatuses() {
+        OrderStatusCountView row = mock(OrderStatusCountView.class);
+        when(row.getOrderStatus()).thenReturn(OrderStatus.PAID);
+        when(row.getTotal()).thenReturn(7L);
+        when(orderRepository.countByStatus(null, null)).thenReturn(List.of(row));
+        when(orderArchiveService.countArchivedOrdersByStatus(null, null)).thenReturn(Map.of(OrderStatus.DELIVERED, 4L));
+
+        Map<OrderStatus, Long> counts = orderService.countOrdersByStatus(null, null);
+
+        assertEquals(OrderStatus.values().length, counts.size());
+        assertEquals(7L, counts.get(OrderStatus.PAID));
+        assertEquals(4L, counts.get(OrderStatus.DELIVERED));
+        assertEquals(0L, counts.get(OrderStatus.CANCELLED));
+    }
+
+    @Test
+    void testBulkUpdateOrderStatus_CancelReportsPerOrderOutcome() {
+        runTransactionsInline();
+        BulkOrderStatusUpdateRequest request = new BulkOrderStatusUpdateRequest();
+        request.setOrderIds(List.of(1L, 2L, 3L, 1L));
+        request.setOrderStatus(OrderStatus.CANCELLED);
+        request.setPaymentStatus(PaymentStatus.FAILED);
+
+        OrderStatusView processing = statusView(1L, OrderStatus.PROCESSING);
+        when(processing.getVersion()).thenReturn(4L);
+        OrderStatusView delivered = statusView(2L, OrderStatus.DELIVERED);
+        when(delivered.getPaymentStatus()).thenReturn(PaymentStatus.SUCCESS);
+        when(orderRepository.findStatusesByIdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(processing, delivered));
+        when(orderRepository.compareAndSetStatuses(eq(Map.of(1L, 4L)), eq(OrderStatus.CANCELLED),
+                eq(PaymentStatus.FAILED), any(Instant.class))).thenReturn(List.of(1L));
+
+        BulkOrderStatusUpdateResponse response = orderService.bulkUpdateOrderStatus(request);
+
+        assertEquals(3, response.getRequested());
+        assertEquals(1, response.getUpdated());
+        assertEquals(1, response.getRejected());
+        assertEquals(1, response.getNotFound());
+        assertEquals(TransitionOutcome.REJECTED, response.getResults().get(1).getOutcome());
+        verify(productRepository).restockForOrders(List.of(1L));
+        verify(paymentRepository).updatePaymentStatusByOrderIdIn(List.of(1L), PaymentStatus.FAILED);
+        verify(orderSummaryService).orderStatusesChanged(List.of(1L), OrderStatus.CANCELLED, PaymentStatus.FAILED);
+        verify(salesRollupService).orderStatusesChanged(List.of(processing), OrderStatus.CANCELLED, PaymentStatus.FAILED);
+        verify(outboxService).orderStatusesChanged(List.of(processing), OrderStatus.CANCELLED, PaymentStatus.FAILED);
+        verify(orderStatusStreamService).publish(OrderStatusEvent.builder()
+                .orderId(1L)
+                .orderStatus(OrderStatus.CANCELLED)
+                .paymentStatus(PaymentStatus.FAILED)
+                .version(5L)
+                .build());
+    }
+
+    @Test
+    void testBulkUpdateOrderStatus_CachesOrdersItMadeTerminal() {
+        runTransactionsInline();
+        BulkOrderStatusUpdateRequest request = new BulkOrderStatusUpdateRequest();
+        request.setOrderIds(List.of(1L));
+        request.setOrderStatus(OrderStatus.CANCELLED);
+
+        OrderStatusView processing = statusView(1L, OrderStatus.PROCESSING);
+        when(processing.getVersion()).thenReturn(4L);
+        when(orderRepository.findStatusesByIdIn(List.of(1L))).thenReturn(List.of(processing));
+        when(orderRepository.compareAndSetStatuses(eq(Map.of(1L, 4L)), eq(OrderStatus.CANCELLED), isNull(),
+                any(Instant.class))).thenReturn(List.of(1L));
+        testOrder.setOrderStatus(OrderStatus.CANCELLED);
+        when(orderRepository.findWithItemsByIdIn(List.of(1L))).thenReturn(List.of(testOrder));
+
+        orderService.bulkUpdateOrderStatus(request);
+        OrderResponse cached = orderService.getOrder(1L);
+
+        assertEquals(OrderStatus.CANCELLED, cached.getOrderStatus());
+        verify(orderRepository, never()).findWithItemsById(1L);
     }
-}
 
+    @Test
+    void testBulkUpdateOrderStatus_RetriesLostCompareAndSet() {
+        runTransactionsInline();
+        BulkOrderStatusUpdateRequest request = new BulkOrderStatusUpdateRequest();
+        request.setOrderIds(List.of(1L));
+        request.setOrderStatus(OrderStatus.CANCELLED);
+
+        OrderStatusView stale = statusView(1L, OrderStatus.PROCESSING);
+        when(stale.getVersion()).thenReturn(4L);
+        OrderStatusView fresh = statusView(1L, OrderStatus.PAID);
+        when(fresh.getVersion()).thenReturn(5L);
+        when(orderRepository.findStatusesByIdIn(List.of(1L))).thenReturn(List.of(stale), List.of(fresh));
+        when(orderRepository.compareAndSetStatuses(eq(Map.of(1L, 4L)), eq(OrderStatus.CANCELLED), isNull(), any(Instant.class)))
+                .thenReturn(List.of());
+        when(orderRepository.compareAndSetStatuses(eq(Map.of(1L, 5L)), eq(OrderStatus.CANCELLED), isNull(), any(Instant.class)))
+                .thenReturn(List.of(1L));
+
+        BulkOrderStatusUpdateResponse response = orderService.bulkUpdateOrderStatus(request);
+
+        assertEquals(1, response.getUpdated());
+        assertEquals(OrderStatus.PAID, response.getResults().get(0).getPreviousStatus());
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(productRepository, times(1)).restockForOrders(List.of(1L));
+    }
+
+    @Test
+    void testBulkUpdateOrderStatus_ReportsConflictAfterBoundedRetries() {
+        runTransactionsInline();
+        BulkOrderStatusUpdateRequest request = new BulkOrderStatusUpdateRequest();
+        request.setOrderIds(List.of(1L));
+        request.setOrderStatus(OrderStatus.DELIVERED);
+
+        OrderStatusView processing = statusView(1L, OrderStatus.PROCESSING);
+        when(orderRepository.findStatusesByIdIn(List.of(1L))).thenReturn(List.of(processing));
+        when(orderRepository.compareAndSetStatuses(anyMap(), eq(OrderStatus.DELIVERED), isNull(), any(Instant.class)))
+                .thenReturn(List.of());
+
+        BulkOrderStatusUpdateResponse response = orderService.bulkUpdateOrderStatus(request);
+
+        assertEquals(1, response.getConflicted());
+        assertEquals(TransitionOutcome.CONFLICT, response.getResults().get(0).getOutcome());
+        verify(transactionTemplate, times(3)).execute(any());
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void testCancelUnpaidOrders_SkipsOrdersPaidInTheMeantime() {
+        runTransactionsInline();
+        OrderStatusView unpaid = statusView(1L, OrderStatus.PROCESSING);
+        when(unpaid.getPaymentStatus()).thenReturn(PaymentStatus.PENDING);
+        when(unpaid.getVersion()).thenReturn(2L);
+        OrderStatusView paid = statusView(2L, OrderStatus.PROCESSING);
+        when(paid.getPaymentStatus()).thenReturn(PaymentStatus.SUCCESS);
+        when(orderRepository.findStatusesByIdIn(List.of(1L, 2L))).thenReturn(List.of(unpaid, paid));
+        when(orderRepository.compareAndSetStatuses(eq(Map.of(1L, 2L)), eq(OrderStatus.CANCELLED),
+                eq(PaymentStatus.FAILED), any(Instant.class))).thenReturn(List.of(1L));
+
+        BulkOrderStatusUpdateResponse response = orderService.cancelUnpaidOrders(List.of(1L, 2L));
+
+        assertEquals(1, response.getUpdated());
+        assertEquals(1, response.getRejected());
+        assertEquals("Payment is no longer PENDING", response.getResults().get(1).getMessage());
+        verify(productRepository).restockForOrders(List.of(1L));
+        verify(inventoryService).onOrdersRestocked(List.of(1L));
+        verify(paymentRepository).updatePaymentStatusByOrderIdIn(List.of(1L), PaymentStatus.FAILED);
+    }
+
+    @Test
+    void testBulkUpdateOrderStatus_RequiresIdsOrFilter() {
+        BulkOrderStatusUpdateRequest request = new BulkOrderStatusUpdateRequest();
+        request.setOrderStatus(OrderStatus.DELIVERED);
+
+        assertThrows(ResponseStatusException.class, () -> orderService.bulkUpdateOrderStatus(request));
+        verifyNoInteractions(orderRepository);
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private OrderStatusView statusView(Long id, OrderStatus status) {
+        OrderStatusView view = mock(OrderStatusView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getOrderStatus()).thenReturn(status);
+        return view;
+    }
+
+    private OrderSummaryView summary(Long id, Instant createdAt) {
+        return new OrderSummaryView() {
+            public Long getId() { return id; }
+            public OrderStatus getOrderStatus() { return OrderStatus.PROCESSING; }
+            public Money getTotalAmount() { return Money.of("999.99"); }
+            public Long getItemCount() { return 1L; }
+            public Instant getCreatedAt() { return createdAt; }
+        };
+    }
+
+    private static CheckoutRequest checkoutRequest(Long userId) {
+        CheckoutRequest request = new CheckoutRequest();
+        request.setUserId(userId);
+        request.setPaymentMethod(OrderPaymentMethod.CASH_ON_DELIVERY);
+        return request;
+    }
+}
@@ -0,0 +1,199 @@
+package com.myshop.service;
+
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.dto.response.OrderResponse;
+import com.myshop.dto.response.OrderStatusEvent;
+import com.myshop.repository.OrderRepository;
+import com.myshop.repository.projection.OrderStatusView;
+import com.myshop.service.impl.OrderStatusStreamServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatusStreamServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderArchiveService orderArchiveService;
+
+    @InjectMocks
+    private OrderStatusStreamServiceImpl orderStatusStreamService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderStatusStreamService, "maxConnections", 1);
+        orderStatusStreamService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderStatusStreamService.stop();
+    }
+
+    @Test
+    void testSubscribe_RejectsBeyondMaxConnections() {
+        OrderStatusView processing = statusView(1L, OrderStatus.PROCESSING);
+        when(orderRepository.findStatusesByIdIn(List.of(1L))).thenReturn(List.of(processing));
+
+        assertNotNull(orderStatusStreamService.subscribe(1L));
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> orderStatusStreamService.subscribe(2L));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+    }
+
+    @Test
+    void testSubscribe_UnknownOrderReleasesItsConnection() {
+        when(orderRepository.findStatusesByIdIn(List.of(9L))).thenReturn(List.of());
+        when(orderArchiveService.getArchivedOrder(9L)).thenReturn(Optional.empty());
+        OrderStatusView processing = statusView(1L, OrderStatus.PROCESSING);
+        when(orderRepository.findStatusesByIdIn(List.of(1L))).thenReturn(List.of(processing));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> orderStatusStreamService.subscribe(9L));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+        assertNotNull(orderStatusStreamService.subscribe(1L));
+    }
+
+    @Test
+    void testSubscribe_TerminalOrderEndsTheStream() throws InterruptedException {
+        when(orderRepository.findStatusesByIdIn(List.of(7L))).thenReturn(List.of());
+        when(orderArchiveService.getArchivedOrder(7L)).thenReturn(Optional.of(OrderResponse.builder()
+                .id(7L)
+                .orderStatus(OrderStatus.CANCELLED)
+                .paymentStatus(PaymentStatus.FAILED)
+                .build()));
+        OrderStatusView processing = statusView(1L, OrderStatus.PROCESSING);
+        when(orderRepository.findStatusesByIdIn(List.of(1L))).thenReturn(List.of(processing));
+
+        orderStatusStreamService.subscribe(7L);
+        awaitSends();
+
+        // the terminal state was sent and the connection given back
+        assertNotNull(orderStatusStreamService.subscribe(1L));
+    }
+
+    @Test
+    void testHeartbeat_RereadsStreamedOrdersInOneQuery() throws InterruptedException {
+        OrderStatusView processing = statusView(1L, OrderStatus.PROCESSING);
+        when(orderRepository.findStatusesByIdIn(List.of(1L))).thenReturn(List.of(processing));
+
+        orderStatusStreamService.subscribe(1L);
+        orderStatusStreamService.heartbeat();
+        awaitSends();
+
+        verify(orderRepository, times(2)).findStatusesByIdIn(List.of(1L));
+    }
+
+    @Test
+    void testPublish_BlockedClientDoesNotStallOtherStreams() throws Exception {
+        orderStatusStreamService.stop();
+        ReflectionTestUtils.setField(orderStatusStreamService, "maxConnections", 2);
+        ReflectionTestUtils.setField(orderStatusStreamService, "sendThreads", 1);
+        orderStatusStreamService.start();
+        OrderStatusView first = statusView(1L, OrderStatus.PROCESSING);
+        OrderStatusView second = statusView(2L, OrderStatus.PROCESSING);
+        when(orderRepository.findStatusesByIdIn(List.of(1L))).thenReturn(List.of(first));
+        when(orderRepository.findStatusesByIdIn(List.of(2L))).thenReturn(List.of(second));
+        CountDownLatch unblock = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(1);
+        OrderStatusEvent slowUpdate = event(1L);
+        OrderStatusEvent fastUpdate = event(2L);
+
+        attach(orderStatusStreamService.subscribe(1L), items -> {
+            if (carries(items, slowUpdate)) {
+                blocked.countDown();
+                unblock.await();
+            }
+        });
+        attach(orderStatusStreamService.subscribe(2L), items -> {
+            if (carries(items, fastUpdate)) {
+                delivered.countDown();
+            }
+        });
+        try {
+            orderStatusStreamService.publish(slowUpdate);
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+            orderStatusStreamService.publish(fastUpdate);
+
+            assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        } finally {
+            unblock.countDown();
+        }
+    }
+
+    @Test
+    void testHeartbeat_NoStreamsNoQuery() {
+        orderStatusStreamService.heartbeat();
+
+        verifyNoInteractions(orderRepository);
+    }
+
+    private void awaitSends() throws InterruptedException {
+        ExecutorService sender = (ExecutorService) ReflectionTestUtils.getField(orderStatusStreamService, "sender");
+        sender.shutdown();
+        assertTrue(sender.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    private static OrderStatusEvent event(Long orderId) {
+        return OrderStatusEvent.builder()
+                .orderId(orderId)
+                .orderStatus(OrderStatus.PAID)
+                .paymentStatus(PaymentStatus.PENDING)
+                .version(2L)
+                .build();
+    }
+
+    // stands in for the container behind an emitter; Spring keeps that interface package-private
+    private static void attach(SseEmitter emitter, SendListener listener) throws ClassNotFoundException {
+        Class<?> handlerType = Class.forName(ResponseBodyEmitter.class.getName() + "$Handler");
+        Object handler = mock(handlerType, invocation -> {
+            if (invocation.getMethod().getName().equals("send") && invocation.getArguments().length == 1) {
+                listener.onSend(invocation.getArgument(0));
+            }
+            return null;
+        });
+        ReflectionTestUtils.invokeMethod(emitter, "initialize", handler);
+    }
+
+    private static boolean carries(Set<?> items, OrderStatusEvent event) {
+        return items.stream().anyMatch(item -> ((ResponseBodyEmitter.DataWithMediaType) item).getData() == event);
+    }
+
+    private interface SendListener {
+        void onSend(Set<?> items) throws InterruptedException;
+    }
+
+    private OrderStatusView statusView(Long id, OrderStatus status) {
+        OrderStatusView view = mock(OrderStatusView.class);
+        when(view.getOrderStatus()).thenReturn(status);
+        when(view.getPaymentStatus()).thenReturn(PaymentStatus.PENDING);
+        when(view.getVersion()).thenReturn(1L);
+        return view;
+    }
+}
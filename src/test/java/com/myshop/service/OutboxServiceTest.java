@@ -0,0 +1,175 @@
+package com.myshop.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myshop.domain.entity.Order;
+import com.myshop.domain.entity.OutboxEvent;
+import com.myshop.domain.entity.User;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.OutboxEventType;
+import com.myshop.domain.enums.OutboxStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.domain.value.Money;
+import com.myshop.repository.OutboxEventRepository;
+import com.myshop.repository.projection.OrderStatusView;
+import com.myshop.service.impl.OutboxServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxSink sink;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private SchedulerLeaseService schedulerLeaseService;
+
+    private OutboxServiceImpl outboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = new OutboxServiceImpl(outboxEventRepository, List.of(sink),
+                new ObjectMapper().findAndRegisterModules(), transactionTemplate, schedulerLeaseService);
+        ReflectionTestUtils.setField(outboxService, "batchSize", 2);
+    }
+
+    @Test
+    void orderPlaced_WritesEventWithOrderPayload() {
+        Order order = Order.builder()
+                .id(7L)
+                .user(User.builder().id(3L).build())
+                .orderStatus(OrderStatus.PENDING)
+                .paymentStatus(PaymentStatus.PENDING)
+                .totalAmount(Money.of("19.99"))
+                .build();
+
+        outboxService.orderPlaced(order);
+
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(captor.capture());
+        OutboxEvent event = captor.getValue();
+        assertEquals("Order", event.getAggregateType());
+        assertEquals(7L, event.getAggregateId());
+        assertEquals(OutboxEventType.ORDER_PLACED, event.getEventType());
+        assertEquals(OutboxStatus.PENDING, event.getStatus());
+        assertTrue(event.getPayload().contains("\"orderId\":7"));
+        assertTrue(event.getPayload().contains("\"userId\":3"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void orderStatusesChanged_CarriesTheSinglePayloadShape() {
+        OrderStatusView previous = mock(OrderStatusView.class);
+        when(previous.getId()).thenReturn(7L);
+        when(previous.getUserId()).thenReturn(3L);
+        when(previous.getOrderStatus()).thenReturn(OrderStatus.PROCESSING);
+        when(previous.getPaymentStatus()).thenReturn(PaymentStatus.SUCCESS);
+        when(previous.getTotalAmount()).thenReturn(Money.of("19.99"));
+
+        outboxService.orderStatusesChanged(List.of(previous), OrderStatus.DELIVERED, null);
+
+        ArgumentCaptor<List<OutboxEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(outboxEventRepository).saveAll(captor.capture());
+        String payload = captor.getValue().get(0).getPayload();
+        assertTrue(payload.contains("\"userId\":3"));
+        assertTrue(payload.contains("\"totalAmount\":19.99"));
+        assertTrue(payload.contains("\"paymentStatus\":\"SUCCESS\""));
+        assertTrue(payload.contains("\"previousStatus\":\"PROCESSING\""));
+    }
+
+    @Test
+    void relay_Disabled_StillLeavesEventsToAnotherNode() {
+        ReflectionTestUtils.setField(outboxService, "relayEnabled", false);
+
+        assertEquals(0, outboxService.relay());
+
+        verifyNoInteractions(outboxEventRepository, schedulerLeaseService);
+    }
+
+    @Test
+    void relay_LeaseHeldElsewhere_PublishesNothing() {
+        when(schedulerLeaseService.tryAcquire(anyString(), any(Duration.class))).thenReturn(false);
+
+        assertEquals(0, outboxService.relay());
+
+        verifyNoInteractions(outboxEventRepository, sink);
+    }
+
+    @Test
+    void relay_PublishesFullBatchesThenMarksThemPublished() throws Exception {
+        runTransactionsInline();
+        when(schedulerLeaseService.tryAcquire(anyString(), any(Duration.class))).thenReturn(true);
+        when(sink.isEnabled()).thenReturn(true);
+        when(outboxEventRepository.findByStatusOrderByIdAsc(eq(OutboxStatus.PENDING), any(Pageable.class)))
+                .thenReturn(List.of(event(1L), event(2L)))
+                .thenReturn(List.of(event(3L)));
+
+        int relayed = outboxService.relay();
+
+        assertEquals(3, relayed);
+        verify(sink, times(2)).publish(anyList());
+        verify(outboxEventRepository).markPublished(eq(List.of(1L, 2L)), eq(OutboxStatus.PUBLISHED), any(Instant.class));
+        verify(outboxEventRepository).markPublished(eq(List.of(3L)), eq(OutboxStatus.PUBLISHED), any(Instant.class));
+    }
+
+    @Test
+    void relay_SinkFailure_KeepsBatchPendingAndStops() throws Exception {
+        runTransactionsInline();
+        when(schedulerLeaseService.tryAcquire(anyString(), any(Duration.class))).thenReturn(true);
+        when(sink.isEnabled()).thenReturn(true);
+        when(outboxEventRepository.findByStatusOrderByIdAsc(eq(OutboxStatus.PENDING), any(Pageable.class)))
+                .thenReturn(List.of(event(1L), event(2L)));
+        doThrow(new IOException("webhook down")).when(sink).publish(anyList());
+
+        int relayed = outboxService.relay();
+
+        assertEquals(0, relayed);
+        verify(outboxEventRepository).markFailed(List.of(1L, 2L), "webhook down");
+        verify(outboxEventRepository, never()).markPublished(anyList(), any(), any());
+        verify(outboxEventRepository, times(1)).findByStatusOrderByIdAsc(any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any(Consumer.class));
+    }
+
+    private static OutboxEvent event(Long id) {
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateType("Order")
+                .aggregateId(id)
+                .eventType(OutboxEventType.ORDER_PLACED)
+                .payload("{}")
+                .createdAt(Instant.now())
+                .build();
+    }
+}
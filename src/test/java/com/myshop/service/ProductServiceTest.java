@@ -2,6 +2,7 @@ package com.myshop.service;
 
 import com.myshop.domain.entity.Category;
 import com.myshop.domain.entity.Product;
+import com.myshop.domain.value.Money;
 import com.myshop.dto.request.CreateProductRequest;
 import com.myshop.dto.request.UpdateProductRequest;
 import com.myshop.dto.response.ProductResponse;
@@ -22,6 +23,7 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -40,6 +42,12 @@ class ProductServiceTest {
     @Mock
     private OrderItemRepository orderItemRepository;
 
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private InventoryShardService inventoryShardService;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -60,7 +68,7 @@ class ProductServiceTest {
                 .category(testCategory)
                 .name("Laptop")
                 .description("Portable 14 pouces")
-                .price(new BigDecimal("999.99"))
+                .price(Money.of("999.99"))
                 .stockQuantity(10)
                 .imageUrl("https://example.com/laptop.jpg")
                 .createdAt(Instant.now())
@@ -80,6 +88,28 @@ class ProductServiceTest {
         verify(productRepository, times(1)).findById(1L);
     }
 
+    @Test
+    void testGetProduct_EngineProductReportsStockNetOfPending() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(inventoryService.manages(1L)).thenReturn(true);
+        // 10 stored, 3 reserved by orders whose items are not flushed yet
+        when(inventoryService.availableStock(testProduct)).thenReturn(7L);
+
+        assertEquals(7, productService.getProduct(1L).getStockQuantity());
+    }
+
+    @Test
+    void testSearchProducts_EngineProductReportsStockNetOfPending() {
+        when(productRepository.searchProducts(null, null, null, null)).thenReturn(List.of(testProduct));
+        when(inventoryShardService.totalStock(List.of(testProduct))).thenReturn(Map.of());
+        when(inventoryService.manages(1L)).thenReturn(true);
+        when(inventoryService.availableStock(testProduct)).thenReturn(7L);
+
+        List<ProductResponse> results = productService.searchProducts(null, null, null, null, Sort.unsorted());
+
+        assertEquals(7, results.get(0).getStockQuantity());
+    }
+
     @Test
     void testGetProduct_NotFound() {
         when(productRepository.findById(999L)).thenReturn(Optional.empty());
@@ -181,12 +211,12 @@ class ProductServiceTest {
                 .id(2L)
                 .category(testCategory)
                 .name("Smartphone")
-                .price(new BigDecimal("599.99"))
+                .price(Money.of("599.99"))
                 .stockQuantity(5)
                 .createdAt(Instant.now())
                 .build();
 
-        when(productRepository.searchProducts(1L, new BigDecimal("500"), new BigDecimal("1000"), "Laptop"))
+        when(productRepository.searchProducts(1L, Money.of("500"), Money.of("1000"), "Laptop"))
                 .thenReturn(Arrays.asList(testProduct, product2));
 
         List<ProductResponse> results = productService.searchProducts(
@@ -194,7 +224,7 @@ class ProductServiceTest {
 
         assertNotNull(results);
         assertEquals(2, results.size());
-        verify(productRepository, times(1)).searchProducts(1L, new BigDecimal("500"), new BigDecimal("1000"), "Laptop");
+        verify(productRepository, times(1)).searchProducts(1L, Money.of("500"), Money.of("1000"), "Laptop");
     }
 }
 
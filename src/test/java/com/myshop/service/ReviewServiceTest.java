@@ -5,6 +5,7 @@ import com.myshop.domain.entity.Product;
 import com.myshop.domain.entity.Review;
 import com.myshop.domain.entity.User;
 import com.myshop.domain.enums.UserRole;
+import com.myshop.domain.value.Money;
 import com.myshop.dto.request.ReviewRequest;
 import com.myshop.dto.response.ReviewResponse;
 import com.myshop.repository.ProductRepository;
@@ -19,7 +20,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
@@ -69,7 +69,7 @@ class ReviewServiceTest {
                 .id(1L)
                 .category(testCategory)
                 .name("Laptop")
-                .price(new BigDecimal("999.99"))
+                .price(Money.of("999.99"))
                 .stockQuantity(10)
                 .createdAt(Instant.now())
                 .build();
@@ -0,0 +1,75 @@
+package com.myshop.service;
+
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.domain.value.Money;
+import com.myshop.dto.response.SalesKpiResponse;
+import com.myshop.dto.response.SalesKpiWindowResponse;
+import com.myshop.service.impl.SalesKpiServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalesKpiServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-10T12:00:00Z");
+
+    private SalesKpiServiceImpl salesKpiService;
+
+    @BeforeEach
+    void setUp() {
+        salesKpiService = new SalesKpiServiceImpl();
+        ReflectionTestUtils.invokeMethod(salesKpiService, "init");
+    }
+
+    @Test
+    void testSnapshot_WindowsRatesAndAverages() {
+        at(NOW.minusSeconds(4 * 60));
+        salesKpiService.orderPlaced(Money.of("300.00"), 5);
+        at(NOW.minusSeconds(10));
+        salesKpiService.orderPlaced(Money.of("100.00"), 1);
+        salesKpiService.checkoutFailed();
+        salesKpiService.orderStatusChanged(OrderStatus.PROCESSING, OrderStatus.CANCELLED,
+                PaymentStatus.PENDING, PaymentStatus.PENDING);
+        at(NOW);
+
+        SalesKpiResponse snapshot = salesKpiService.snapshot();
+
+        SalesKpiWindowResponse minute = snapshot.getWindows().get(0);
+        assertEquals(1, minute.getMinutes());
+        assertEquals(1, minute.getOrders());
+        assertEquals(0.5, minute.getCheckoutFailureRate());
+        assertEquals(1, minute.getCancellations());
+        assertEquals(0, minute.getPaymentsCaptured());
+
+        SalesKpiWindowResponse fiveMinutes = snapshot.getWindows().get(1);
+        assertEquals(2, fiveMinutes.getOrders());
+        assertEquals(0.4, fiveMinutes.getOrdersPerMinute());
+        assertEquals(new BigDecimal("400.00"), fiveMinutes.getRevenue());
+        assertEquals(new BigDecimal("80.00"), fiveMinutes.getRevenuePerMinute());
+        assertEquals(new BigDecimal("200.00"), fiveMinutes.getAverageOrderValue());
+        assertEquals(3.0, fiveMinutes.getAverageItemsPerOrder());
+    }
+
+    @Test
+    void testSnapshot_EmptyWindows() {
+        at(NOW);
+
+        SalesKpiWindowResponse hour = salesKpiService.snapshot().getWindows().get(2);
+        assertEquals(60, hour.getMinutes());
+        assertEquals(0, hour.getOrders());
+        assertEquals(0, hour.getCheckoutFailureRate());
+        assertEquals(new BigDecimal("0.00"), hour.getAverageOrderValue());
+    }
+
+    private void at(Instant instant) {
+        ReflectionTestUtils.setField(salesKpiService, "clock", Clock.fixed(instant, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,205 @@
+package com.myshop.service;
+
+import com.myshop.domain.entity.Category;
+import com.myshop.domain.entity.DailyCategorySales;
+import com.myshop.domain.entity.DailySales;
+import com.myshop.domain.entity.Order;
+import com.myshop.domain.entity.OrderItem;
+import com.myshop.domain.entity.Product;
+import com.myshop.domain.enums.OrderPaymentMethod;
+import com.myshop.domain.enums.OrderStatus;
+import com.myshop.domain.enums.PaymentStatus;
+import com.myshop.domain.value.Money;
+import com.myshop.repository.CategoryRepository;
+import com.myshop.repository.DailyCategorySalesRepository;
+import com.myshop.repository.DailySalesRepository;
+import com.myshop.repository.projection.OrderRollupRow;
+import com.myshop.repository.projection.OrderStatusView;
+import com.myshop.service.impl.SalesRollupServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SalesRollupServiceTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2024-03-10T23:30:00Z");
+
+    @Mock
+    private DailySalesRepository dailySalesRepository;
+
+    @Mock
+    private DailyCategorySalesRepository dailyCategorySalesRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private SalesRollupServiceImpl salesRollupService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(salesRollupService, "slots", 4);
+    }
+
+    @Test
+    void orderPlaced_AddsOrderAndGroupsLinesByCategory() {
+        Category phones = Category.builder().id(3L).build();
+        Order order = order(OrderStatus.PENDING, PaymentStatus.PENDING);
+        List<OrderItem> items = List.of(
+                item(phones, "100.00", 2),
+                item(phones, "25.50", 1),
+                item(Category.builder().id(5L).build(), "10.00", 3));
+
+        salesRollupService.orderPlaced(order, items);
+
+        DailySales sales = single(captureDailySales());
+        assertEquals(LocalDate.of(2024, 3, 10), sales.getSalesDate());
+        assertEquals(OrderPaymentMethod.CASH_ON_DELIVERY, sales.getPaymentMethod());
+        assertEquals(2, sales.getSlot());
+        assertEquals(1L, sales.getOrderCount());
+        assertEquals(new BigDecimal("255.50"), sales.getRevenue());
+        assertEquals(0L, sales.getPaidOrderCount());
+        assertEquals(0L, sales.getCancelledOrderCount());
+
+        List<DailyCategorySales> categories = captureCategorySales();
+        assertEquals(2, categories.size());
+        assertEquals(3L, categories.get(0).getCategoryId());
+        assertEquals(3L, categories.get(0).getUnits());
+        assertEquals(new BigDecimal("225.50"), categories.get(0).getRevenue());
+        assertEquals(5L, categories.get(1).getCategoryId());
+        assertEquals(new BigDecimal("30.00"), categories.get(1).getRevenue());
+    }
+
+    @Test
+    void orderStatusChanged_PaymentOnly_MovesPaidMeasuresWithoutReadingLines() {
+        Order order = order(OrderStatus.PAID, PaymentStatus.SUCCESS);
+
+        salesRollupService.orderStatusChanged(order, OrderStatus.PENDING, PaymentStatus.PENDING);
+
+        DailySales sales = single(captureDailySales());
+        assertEquals(0L, sales.getOrderCount());
+        assertEquals(new BigDecimal("0.00"), sales.getRevenue());
+        assertEquals(1L, sales.getPaidOrderCount());
+        assertEquals(new BigDecimal("255.50"), sales.getPaidRevenue());
+        assertTrue(captureCategorySales().isEmpty());
+        verify(dailySalesRepository, never()).findCategoryLines(any());
+    }
+
+    @Test
+    void orderStatusChanged_NoFlagChange_WritesNothing() {
+        salesRollupService.orderStatusChanged(order(OrderStatus.DELIVERED, PaymentStatus.PENDING),
+                OrderStatus.PROCESSING, PaymentStatus.PENDING);
+
+        verifyNoInteractions(dailySalesRepository);
+    }
+
+    @Test
+    void orderStatusesChanged_BooksCancellationFromPreviousState() {
+        OrderStatusView previous = mock(OrderStatusView.class);
+        when(previous.getId()).thenReturn(6L);
+        when(previous.getOrderStatus()).thenReturn(OrderStatus.PAID);
+        when(previous.getPaymentStatus()).thenReturn(PaymentStatus.SUCCESS);
+        when(dailySalesRepository.findRollupRows(List.of(6L))).thenReturn(List.of(OrderRollupRow.builder()
+                .orderId(6L)
+                .createdAt(CREATED_AT)
+                .paymentMethod(OrderPaymentMethod.ONLINE_PAYMENT)
+                .totalMinorUnits(5000)
+                .orderStatus(OrderStatus.CANCELLED)
+                .paymentStatus(PaymentStatus.SUCCESS)
+                .lines(List.of(new OrderRollupRow.CategoryLine(3L, 2, 5000)))
+                .build()));
+
+        salesRollupService.orderStatusesChanged(List.of(previous), OrderStatus.CANCELLED, null);
+
+        DailySales sales = single(captureDailySales());
+        assertEquals(0L, sales.getOrderCount());
+        assertEquals(0L, sales.getPaidOrderCount());
+        assertEquals(1L, sales.getCancelledOrderCount());
+        assertEquals(new BigDecimal("50.00"), sales.getCancelledRevenue());
+        DailyCategorySales category = single(captureCategorySales());
+        assertEquals(2L, category.getCancelledUnits());
+        assertEquals(0L, category.getUnits());
+    }
+
+    @Test
+    void report_RejectsInvertedRange() {
+        assertThrows(ResponseStatusException.class,
+                () -> salesRollupService.report(LocalDate.of(2024, 3, 2), LocalDate.of(2024, 3, 1), null));
+        verifyNoInteractions(dailySalesRepository);
+    }
+
+    @Test
+    void rebuild_RunsOneTransactionPerDay() {
+        when(transactionTemplate.execute(any())).thenReturn(2);
+
+        assertEquals(3, salesRollupService.rebuild(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 3)).getDays());
+        verify(transactionTemplate, times(3)).execute(any());
+    }
+
+    @Test
+    void rebuild_RejectsRangeOverAYear() {
+        assertThrows(ResponseStatusException.class,
+                () -> salesRollupService.rebuild(LocalDate.of(2024, 1, 1), LocalDate.of(2025, 1, 1)));
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    private Order order(OrderStatus orderStatus, PaymentStatus paymentStatus) {
+        return Order.builder()
+                .id(10L)
+                .totalAmount(Money.of("255.50"))
+                .orderStatus(orderStatus)
+                .paymentStatus(paymentStatus)
+                .paymentMethod(OrderPaymentMethod.CASH_ON_DELIVERY)
+                .createdAt(CREATED_AT)
+                .build();
+    }
+
+    private OrderItem item(Category category, String unitPrice, int quantity) {
+        return OrderItem.builder()
+                .product(Product.builder().category(category).build())
+                .categoryId(category.getId())
+                .unitPrice(Money.of(unitPrice))
+                .quantity(quantity)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<DailySales> captureDailySales() {
+        ArgumentCaptor<Collection<DailySales>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(dailySalesRepository).addDailySales(captor.capture());
+        return new ArrayList<>(captor.getValue());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<DailyCategorySales> captureCategorySales() {
+        ArgumentCaptor<Collection<DailyCategorySales>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(dailySalesRepository).addCategorySales(captor.capture());
+        return new ArrayList<>(captor.getValue());
+    }
+
+    private static <T> T single(List<T> rows) {
+        assertEquals(1, rows.size());
+        return rows.get(0);
+    }
+}
@@ -0,0 +1,67 @@
+package com.myshop.service;
+
+import com.myshop.service.impl.SlidingWindowCounters;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowCountersTest {
+
+    @Test
+    void testSum_OnlyCountsSecondsInsideTheWindow() {
+        SlidingWindowCounters counters = new SlidingWindowCounters(2, 60, 2);
+        counters.add(1_000, 0, 1);
+        counters.add(1_030, 0, 2);
+        counters.add(1_059, 1, 500);
+
+        assertArrayEquals(new long[]{3, 500}, counters.sum(1_059, 60));
+        assertArrayEquals(new long[]{2, 500}, counters.sum(1_059, 30));
+        assertArrayEquals(new long[]{2, 500}, counters.sum(1_060, 60));
+    }
+
+    @Test
+    void testAdd_ReplacesCellLeftFromAnEarlierLap() {
+        SlidingWindowCounters counters = new SlidingWindowCounters(1, 10, 1);
+        counters.add(100, 0, 7);
+        counters.add(110, 0, 1);
+
+        assertArrayEquals(new long[]{1}, counters.sum(110, 10));
+        assertArrayEquals(new long[]{0}, counters.sum(100, 1));
+    }
+
+    @Test
+    void testAdd_ConcurrentWritersLoseNothing() throws Exception {
+        SlidingWindowCounters counters = new SlidingWindowCounters(1, 60, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        counters.add(5_000 + i % 3, 0, 1);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(80_000, counters.sum(5_002, 60)[0]);
+    }
+
+    @Test
+    void testRejectsWindowLongerThanHistory() {
+        SlidingWindowCounters counters = new SlidingWindowCounters(1, 60, 1);
+        assertThrows(IllegalArgumentException.class, () -> counters.sum(0, 61));
+        assertThrows(IllegalArgumentException.class, () -> counters.add(0, 1, 1));
+    }
+}
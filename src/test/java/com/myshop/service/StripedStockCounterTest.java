@@ -0,0 +1,82 @@
+package com.myshop.service;
+
+import com.myshop.service.impl.StripedStockCounter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedStockCounterTest {
+
+    @Test
+    void testTryAcquire_SpansStripesAndFloorsAtZero() {
+        StripedStockCounter counter = new StripedStockCounter(4, 10);
+
+        assertTrue(counter.tryAcquire(7));
+        assertFalse(counter.tryAcquire(4));
+        assertEquals(3, counter.available());
+        assertTrue(counter.tryAcquire(3));
+        assertEquals(0, counter.available());
+    }
+
+    @Test
+    void testReleaseAndReset() {
+        StripedStockCounter counter = new StripedStockCounter(8, 5);
+
+        counter.release(2);
+        assertEquals(7, counter.available());
+        counter.reset(-3);
+        assertEquals(0, counter.available());
+        counter.reset(13);
+        assertEquals(13, counter.available());
+    }
+
+    @Test
+    void testAdjust_DecreaseBeyondStockIsRepaidFirst() {
+        StripedStockCounter counter = new StripedStockCounter(4, 5);
+
+        counter.adjust(3);
+        assertEquals(8, counter.available());
+        counter.adjust(-11);
+        assertEquals(0, counter.available());
+
+        counter.release(2);
+        assertEquals(0, counter.available());
+        counter.release(4);
+        assertEquals(3, counter.available());
+    }
+
+    @Test
+    void testConcurrentAcquireNeverOversells() throws Exception {
+        StripedStockCounter counter = new StripedStockCounter(8, 10_000);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                tasks.add(() -> {
+                    int acquired = 0;
+                    for (int i = 0; i < 5_000; i++) {
+                        if (counter.tryAcquire(1)) {
+                            acquired++;
+                        }
+                    }
+                    return acquired;
+                });
+            }
+            int total = 0;
+            for (Future<Integer> result : pool.invokeAll(tasks)) {
+                total += result.get();
+            }
+            assertEquals(10_000, total);
+            assertEquals(0, counter.available());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.myshop.service;
+
+import com.myshop.dto.response.OrderResponse;
+import com.myshop.service.impl.TerminalOrderCache;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TerminalOrderCacheTest {
+
+    @Test
+    void testPut_EvictsLeastRecentlyUsed() {
+        TerminalOrderCache cache = new TerminalOrderCache(2, 1);
+        OrderResponse first = OrderResponse.builder().id(1L).build();
+        cache.put(1L, first);
+        cache.put(2L, OrderResponse.builder().id(2L).build());
+
+        assertSame(first, cache.get(1L));
+        cache.put(3L, OrderResponse.builder().id(3L).build());
+
+        assertSame(first, cache.get(1L));
+        assertNull(cache.get(2L));
+        assertNotNull(cache.get(3L));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testPut_BoundsEverySegment() {
+        TerminalOrderCache cache = new TerminalOrderCache(8, 4);
+        for (long id = 1; id <= 100; id++) {
+            cache.put(id, OrderResponse.builder().id(id).build());
+        }
+
+        assertEquals(8, cache.size());
+        assertNotNull(cache.get(100L));
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void testConstructor_RejectsNonPositiveSizes() {
+        assertThrows(IllegalArgumentException.class, () -> new TerminalOrderCache(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TerminalOrderCache(1, 0));
+    }
+}